@@ -0,0 +1,133 @@
+package com.shopifake.microservice.lookup;
+
+import com.shopifake.microservice.entities.SiteConfigCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency distribution of site lookups over HTTP against the gateway on an
+ * in-memory H2 database, under concurrent clients.
+ *
+ * <p>Same load as {@code SiteLookupHttpBenchmark} of the sites service against its MVC endpoints;
+ * compare the two JSON results, using its {@code cached=false} run for a like-for-like comparison.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class ReactiveSiteLookupHttpBenchmark {
+
+    private static final int SITES = 1_000;
+
+    /**
+     * A typical published config of about 1.3 KB, stored compressed. Keep in sync with the MVC benchmark.
+     */
+    private static final String CONFIG = "{\"name\":\"Atelier Lumen\",\"title\":\"Handmade lighting\",\"history\":\""
+            + "We started in a small workshop and still hand-finish every piece we ship. ".repeat(12).trim()
+            + "\",\"values\":[" + "\"Craftsmanship, honesty and care in everything we make\",".repeat(4)
+            + "\"Since 1998\"],\"primaryColor\":\"#1f2933\",\"secondaryColor\":\"#f5a623\"}";
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private UUID[] ids;
+
+    /**
+     * Start the gateway on a random port and insert the sites looked up.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LookupGatewayApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.r2dbc.url=r2dbc:h2:mem:///site-lookup-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN",
+                        "logging.level.com.shopifake.microservice=WARN")
+                .run();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        DatabaseClient databaseClient = context.getBean(DatabaseClient.class);
+        byte[] config = SiteConfigCodec.encode(CONFIG);
+        LocalDateTime now = LocalDateTime.now();
+        ids = new UUID[SITES];
+        for (int i = 0; i < SITES; i++) {
+            ids[i] = UUID.randomUUID();
+            databaseClient.sql("INSERT INTO sites (id, name, slug, description, currency, language, status, "
+                            + "owner_id, config_data, created_at, updated_at, version) "
+                            + "VALUES (:id, :name, :slug, :description, 'EUR', 'FR', 'ACTIVE', :ownerId, :configData, "
+                            + ":createdAt, :updatedAt, 0)")
+                    .bind("id", ids[i])
+                    .bind("name", "Site " + i)
+                    .bind("slug", "site-" + i)
+                    .bind("description", "Description of site " + i)
+                    .bind("ownerId", UUID.randomUUID())
+                    .bind("configData", config)
+                    .bind("createdAt", now)
+                    .bind("updatedAt", now)
+                    .then().block();
+        }
+    }
+
+    /**
+     * Stop the gateway.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Look a random site up by slug.
+     *
+     * @return the response body
+     * @throws Exception if the request fails
+     */
+    @Benchmark
+    public byte[] bySlug() throws Exception {
+        return get("/slug/site-" + ThreadLocalRandom.current().nextInt(SITES));
+    }
+
+    /**
+     * Look a random site up by ID.
+     *
+     * @return the response body
+     * @throws Exception if the request fails
+     */
+    @Benchmark
+    public byte[] byId() throws Exception {
+        return get("/" + ids[ThreadLocalRandom.current().nextInt(SITES)]);
+    }
+
+    private byte[] get(final String path) throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Lookup of " + path + " failed with " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,35 @@
+package com.shopifake.microservice.lookup;
+
+import com.shopifake.microservice.services.SlugService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Read-only gateway serving site lookups by ID and slug with WebFlux and R2DBC.
+ *
+ * <p>Responses are written from the same {@code SiteResponse} model as the sites service,
+ * whose sources are compiled into this module, so both return identical JSON.</p>
+ */
+@SpringBootApplication
+public class LookupGatewayApplication {
+
+    /**
+     * Main method to start the lookup gateway.
+     *
+     * @param args command line arguments
+     */
+    public static void main(final String[] args) {
+        SpringApplication.run(LookupGatewayApplication.class, args);
+    }
+
+    /**
+     * Slug normalization shared with the sites service, so a slug resolves to the same site on both.
+     *
+     * @return the slug service
+     */
+    @Bean
+    public SlugService slugService() {
+        return new SlugService();
+    }
+}
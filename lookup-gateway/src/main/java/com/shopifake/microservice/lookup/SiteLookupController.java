@@ -0,0 +1,124 @@
+package com.shopifake.microservice.lookup;
+
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.exceptions.SiteNotFoundException;
+import com.shopifake.microservice.services.SiteETag;
+import com.shopifake.microservice.services.SlugService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of the site lookup endpoints of the sites service, with the same paths,
+ * bodies, entity tags and errors. Bodies are not gzipped per site here; leave that to
+ * {@code server.compression} if needed.
+ */
+@RestController
+@RequestMapping("/")
+@RequiredArgsConstructor
+@Slf4j
+public class SiteLookupController {
+
+    /** Reads sites without blocking. */
+    private final SiteLookupRepository siteRepository;
+
+    /** Normalizes slugs like the sites service. */
+    private final SlugService slugService;
+
+    /** Serializes site responses in either config mode. */
+    private final SiteLookupWriter responseWriter;
+
+    /**
+     * Get a site by ID.
+     *
+     * @param siteId the site ID
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @param ifNoneMatch the entity tags the client already holds
+     * @return the site response, or 304 if the client's copy is current
+     */
+    @GetMapping("/{siteId}")
+    public Mono<ResponseEntity<byte[]>> getSiteById(
+            @PathVariable final UUID siteId,
+            @RequestParam(defaultValue = "false") final boolean rawConfig,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+
+        log.debug("Fetching site with ID: {}", siteId);
+        Mono<SiteResponse> site = siteRepository.findById(siteId)
+                .switchIfEmpty(Mono.error(() -> new SiteNotFoundException("Site not found with ID: " + siteId)));
+        return lookup(siteRepository.findETagById(siteId), site, rawConfig, ifNoneMatch);
+    }
+
+    /**
+     * Get a site by slug.
+     *
+     * @param slug the site slug
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @param ifNoneMatch the entity tags the client already holds
+     * @return the site response, or 304 if the client's copy is current
+     */
+    @GetMapping("/slug/{slug}")
+    public Mono<ResponseEntity<byte[]>> getSiteBySlug(
+            @PathVariable final String slug,
+            @RequestParam(defaultValue = "false") final boolean rawConfig,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+
+        log.debug("Fetching site with slug: {}", slug);
+        String normalizedSlug = slugService.normalizeSlug(slug);
+        Mono<SiteResponse> site = siteRepository.findBySlug(normalizedSlug)
+                .switchIfEmpty(Mono.error(
+                        () -> new SiteNotFoundException("Site not found with slug: " + normalizedSlug)));
+        return lookup(siteRepository.findETagBySlug(normalizedSlug), site, rawConfig, ifNoneMatch);
+    }
+
+    /**
+     * Answer 304 from a version-only query if the client holds the current version, otherwise
+     * read and render the site.
+     *
+     * @param eTag the current entity tag of the site, empty if it does not exist
+     * @param site the site
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @param ifNoneMatch the entity tags the client already holds, may be null
+     * @return the response
+     */
+    private Mono<ResponseEntity<byte[]>> lookup(final Mono<String> eTag, final Mono<SiteResponse> site,
+                                                final boolean rawConfig, final String ifNoneMatch) {
+        Mono<ResponseEntity<byte[]>> rendered = site.map(response -> render(response, rawConfig));
+        if (ifNoneMatch == null) {
+            return rendered;
+        }
+        return eTag.map(tag -> rawConfig ? SiteETag.forRawConfig(tag) : tag)
+                .filter(tag -> SiteETag.matches(ifNoneMatch, tag))
+                .map(tag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).<byte[]>build())
+                .switchIfEmpty(rendered);
+    }
+
+    /**
+     * Render a site response with its entity tag.
+     *
+     * @param response the site response
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @return the serialized site response
+     */
+    private ResponseEntity<byte[]> render(final SiteResponse response, final boolean rawConfig) {
+        String eTag = SiteETag.of(response);
+        if (rawConfig) {
+            eTag = SiteETag.forRawConfig(eTag);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .body(responseWriter.write(response, rawConfig));
+    }
+}
@@ -0,0 +1,117 @@
+package com.shopifake.microservice.lookup;
+
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.SiteConfigCodec;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.services.SiteETag;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of the {@code sites} table owned by the sites service.
+ */
+@Repository
+public class SiteLookupRepository {
+
+    private static final String SITE_COLUMNS = "id, name, slug, description, currency, language, status, owner_id, "
+            + "config, config_data, created_at, updated_at, version";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructor.
+     *
+     * @param databaseClient the R2DBC client
+     */
+    public SiteLookupRepository(final DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Find a site by ID.
+     *
+     * @param siteId the site ID
+     * @return the site response, or empty if no site has this ID
+     */
+    public Mono<SiteResponse> findById(final UUID siteId) {
+        return databaseClient.sql("SELECT " + SITE_COLUMNS + " FROM sites WHERE id = :id")
+                .bind("id", siteId)
+                .map(SiteLookupRepository::mapToResponse)
+                .one();
+    }
+
+    /**
+     * Find a site by its normalized slug.
+     *
+     * @param slug the normalized slug
+     * @return the site response, or empty if no site has this slug
+     */
+    public Mono<SiteResponse> findBySlug(final String slug) {
+        return databaseClient.sql("SELECT " + SITE_COLUMNS + " FROM sites WHERE slug = :slug")
+                .bind("slug", slug)
+                .map(SiteLookupRepository::mapToResponse)
+                .one();
+    }
+
+    /**
+     * Find the entity tag of a site by ID with a version-only query.
+     *
+     * @param siteId the site ID
+     * @return the entity tag, or empty if no site has this ID
+     */
+    public Mono<String> findETagById(final UUID siteId) {
+        return databaseClient.sql("SELECT id, version FROM sites WHERE id = :id")
+                .bind("id", siteId)
+                .map(SiteLookupRepository::mapToETag)
+                .one();
+    }
+
+    /**
+     * Find the entity tag of a site by its normalized slug with a version-only query.
+     *
+     * @param slug the normalized slug
+     * @return the entity tag, or empty if no site has this slug
+     */
+    public Mono<String> findETagBySlug(final String slug) {
+        return databaseClient.sql("SELECT id, version FROM sites WHERE slug = :slug")
+                .bind("slug", slug)
+                .map(SiteLookupRepository::mapToETag)
+                .one();
+    }
+
+    /**
+     * Map a site row to a response, as the sites service maps its entity. Configs written before
+     * they were stored encoded are still read from the legacy column.
+     *
+     * @param row the site row
+     * @return the site response
+     */
+    static SiteResponse mapToResponse(final Readable row) {
+        byte[] configData = row.get("config_data", byte[].class);
+        return SiteResponse.builder()
+                .id(row.get("id", UUID.class))
+                .name(row.get("name", String.class))
+                .slug(row.get("slug", String.class))
+                .description(row.get("description", String.class))
+                .currency(Currency.valueOf(row.get("currency", String.class)))
+                .language(Language.valueOf(row.get("language", String.class)))
+                .status(SiteStatus.valueOf(row.get("status", String.class)))
+                .ownerId(row.get("owner_id", UUID.class))
+                .config(configData != null ? SiteConfigCodec.decode(configData) : row.get("config", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private static String mapToETag(final Readable row) {
+        return SiteETag.of(row.get("id", UUID.class), row.get("version", Long.class));
+    }
+}
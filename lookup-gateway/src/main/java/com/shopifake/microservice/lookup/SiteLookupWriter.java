@@ -0,0 +1,60 @@
+package com.shopifake.microservice.lookup;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.shopifake.microservice.dtos.SiteResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes site responses in the two config modes of the sites service: the config as a JSON string,
+ * or embedded as a raw JSON object.
+ */
+@Component
+@Slf4j
+public class SiteLookupWriter {
+
+    private final ObjectWriter plainWriter;
+    private final ObjectWriter rawConfigWriter;
+
+    /**
+     * Create the writer from the application object mapper.
+     *
+     * @param objectMapper the application object mapper
+     */
+    public SiteLookupWriter(final ObjectMapper objectMapper) {
+        this.plainWriter = objectMapper.writerFor(SiteResponse.class);
+        this.rawConfigWriter = objectMapper.copy()
+                .addMixIn(SiteResponse.class, RawConfigMixin.class)
+                .writerFor(SiteResponse.class);
+    }
+
+    /**
+     * Serialize a site response. Raw config mode relies on the sites service validating every
+     * config before storing it.
+     *
+     * @param response the site response
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @return the UTF-8 encoded JSON
+     * @throws IllegalStateException if serialization fails
+     */
+    public byte[] write(final SiteResponse response, final boolean rawConfig) {
+        try {
+            return (rawConfig ? rawConfigWriter : plainWriter).writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize site response: {}", response.getId(), e);
+            throw new IllegalStateException("Failed to serialize site response", e);
+        }
+    }
+
+    /**
+     * Mixin writing the stored config verbatim.
+     */
+    private abstract static class RawConfigMixin {
+
+        @JsonRawValue
+        private String config;
+    }
+}
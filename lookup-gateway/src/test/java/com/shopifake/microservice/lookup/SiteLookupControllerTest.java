@@ -0,0 +1,173 @@
+package com.shopifake.microservice.lookup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.SiteConfigCodec;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.services.SiteETag;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Looks sites up through the reactive gateway against an embedded database, checking the bodies
+ * match what the sites service writes for the same {@code SiteResponse}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///site-lookup-controller;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@DisplayName("SiteLookupController Tests")
+class SiteLookupControllerTest {
+
+    private static final String CONFIG = "{\"name\":\"Test \\\"Site\\\"\",\"values\":[\"Value 1\",\"Value 2\"]}";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 14, 9, 26, 53);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DELETE FROM sites").then().block();
+    }
+
+    @Test
+    @DisplayName("Should return the same JSON as the sites service by slug and by ID")
+    void shouldReturnSiteResponseJson() throws Exception {
+        // Given
+        SiteResponse site = insert("lookup-json", CONFIG, 3);
+        byte[] expected = objectMapper.writeValueAsBytes(site);
+
+        // When
+        byte[] bySlug = webTestClient.get().uri("/slug/{slug}", "Lookup-JSON").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, SiteETag.of(site))
+                .expectBody().returnResult().getResponseBody();
+        byte[] byId = webTestClient.get().uri("/{siteId}", site.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+
+        // Then
+        assertArrayEquals(expected, bySlug);
+        assertArrayEquals(expected, byId);
+    }
+
+    @Test
+    @DisplayName("Should decode compressed configs and embed them raw on request")
+    void shouldEmbedCompressedConfigRaw() throws Exception {
+        // Given
+        String config = "{\"values\":[" + "\"Value\",".repeat(SiteConfigCodec.COMPRESSION_THRESHOLD) + "\"Last\"]}";
+        SiteResponse site = insert("lookup-raw", config, 0);
+
+        // When
+        byte[] body = webTestClient.get().uri("/{siteId}?rawConfig=true", site.getId()).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, SiteETag.forRawConfig(SiteETag.of(site)))
+                .expectBody().returnResult().getResponseBody();
+
+        // Then
+        JsonNode json = objectMapper.readTree(body);
+        assertTrue(json.get("config").isObject());
+        assertEquals(objectMapper.readTree(config), json.get("config"));
+    }
+
+    @Test
+    @DisplayName("Should read configs still stored in the legacy column")
+    void shouldReadLegacyConfig() {
+        // Given
+        SiteResponse site = insert("lookup-legacy", CONFIG, 0);
+        databaseClient.sql("UPDATE sites SET config = :config, config_data = NULL WHERE id = :id")
+                .bind("config", CONFIG)
+                .bind("id", site.getId())
+                .then().block();
+
+        // When / Then
+        webTestClient.get().uri("/{siteId}", site.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.config").isEqualTo(CONFIG);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the client holds the current version")
+    void shouldAnswerNotModified() {
+        // Given
+        SiteResponse site = insert("lookup-etag", CONFIG, 2);
+
+        // When / Then
+        webTestClient.get().uri("/slug/{slug}", site.getSlug())
+                .header(HttpHeaders.IF_NONE_MATCH, SiteETag.of(site)).exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, SiteETag.of(site));
+        webTestClient.get().uri("/{siteId}", site.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, SiteETag.of(site.getId(), 1)).exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should report unknown sites like the sites service")
+    void shouldReportUnknownSite() {
+        // When / Then
+        webTestClient.get().uri("/slug/{slug}", "missing-site").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.error").isEqualTo("Bad Request")
+                .jsonPath("$.message").isEqualTo("Site not found with slug: missing-site")
+                .jsonPath("$.path").isEqualTo("/slug/missing-site");
+    }
+
+    private SiteResponse insert(final String slug, final String config, final long version) {
+        SiteResponse site = SiteResponse.builder()
+                .id(UUID.randomUUID())
+                .name("Site " + slug)
+                .slug(slug)
+                .description("Description of " + slug)
+                .currency(Currency.EUR)
+                .language(Language.FR)
+                .status(SiteStatus.ACTIVE)
+                .ownerId(UUID.randomUUID())
+                .config(config)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT.plusDays(1))
+                .version(version)
+                .build();
+        databaseClient.sql("INSERT INTO sites (id, name, slug, description, currency, language, status, owner_id, "
+                        + "config_data, created_at, updated_at, version) VALUES (:id, :name, :slug, :description, "
+                        + ":currency, :language, :status, :ownerId, :configData, :createdAt, :updatedAt, :version)")
+                .bind("id", site.getId())
+                .bind("name", site.getName())
+                .bind("slug", site.getSlug())
+                .bind("description", site.getDescription())
+                .bind("currency", site.getCurrency().name())
+                .bind("language", site.getLanguage().name())
+                .bind("status", site.getStatus().name())
+                .bind("ownerId", site.getOwnerId())
+                .bind("configData", SiteConfigCodec.encode(config))
+                .bind("createdAt", site.getCreatedAt())
+                .bind("updatedAt", site.getUpdatedAt())
+                .bind("version", site.getVersion())
+                .then().block();
+        return site;
+    }
+}
@@ -0,0 +1,140 @@
+package com.shopifake.microservice.controllers;
+
+import com.shopifake.microservice.Application;
+import com.shopifake.microservice.entities.SiteConfigCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency distribution of site lookups over HTTP against the MVC service on an
+ * in-memory H2 database, under concurrent clients.
+ *
+ * <p>{@code ReactiveSiteLookupHttpBenchmark} in the lookup gateway module runs the same load against
+ * the WebFlux and R2DBC endpoints; compare the two JSON results. Run with {@code cached=false} for
+ * a like-for-like comparison, as the gateway has no site or rendered body cache.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class SiteLookupHttpBenchmark {
+
+    private static final int SITES = 1_000;
+
+    /**
+     * A typical published config of about 1.3 KB, stored compressed. Keep in sync with the gateway benchmark.
+     */
+    private static final String CONFIG = "{\"name\":\"Atelier Lumen\",\"title\":\"Handmade lighting\",\"history\":\""
+            + "We started in a small workshop and still hand-finish every piece we ship. ".repeat(12).trim()
+            + "\",\"values\":[" + "\"Craftsmanship, honesty and care in everything we make\",".repeat(4)
+            + "\"Since 1998\"],\"primaryColor\":\"#1f2933\",\"secondaryColor\":\"#f5a623\"}";
+
+    /**
+     * Whether the site cache and rendered body cache of the service are enabled.
+     */
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private UUID[] ids;
+
+    /**
+     * Start the service on a random port and insert the sites looked up.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:site-lookup-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.com.shopifake.microservice=WARN",
+                        "sites.cache.enabled=" + cached,
+                        "sites.rendered-cache.enabled=" + cached,
+                        "sites.pinning-monitor.enabled=false")
+                .run();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        byte[] config = SiteConfigCodec.encode(CONFIG);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        ids = new UUID[SITES];
+        for (int i = 0; i < SITES; i++) {
+            ids[i] = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO sites (id, name, slug, description, currency, language, status, "
+                            + "owner_id, config_data, created_at, updated_at, version) "
+                            + "VALUES (?, ?, ?, ?, 'EUR', 'FR', 'ACTIVE', ?, ?, ?, ?, 0)",
+                    ids[i], "Site " + i, "site-" + i, "Description of site " + i, UUID.randomUUID(),
+                    config, now, now);
+        }
+    }
+
+    /**
+     * Stop the service.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Look a random site up by slug.
+     *
+     * @return the response body
+     * @throws Exception if the request fails
+     */
+    @Benchmark
+    public byte[] bySlug() throws Exception {
+        return get("/slug/site-" + ThreadLocalRandom.current().nextInt(SITES));
+    }
+
+    /**
+     * Look a random site up by ID.
+     *
+     * @return the response body
+     * @throws Exception if the request fails
+     */
+    @Benchmark
+    public byte[] byId() throws Exception {
+        return get("/" + ids[ThreadLocalRandom.current().nextInt(SITES)]);
+    }
+
+    private byte[] get(final String path) throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Lookup of " + path + " failed with " + response.statusCode());
+        }
+        return response.body();
+    }
+}
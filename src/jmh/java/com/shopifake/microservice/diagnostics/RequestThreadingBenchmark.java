@@ -0,0 +1,154 @@
+package com.shopifake.microservice.diagnostics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of storefront requests on request threads from a fixed platform pool, as
+ * with the default Tomcat executor, against one virtual thread per request.
+ *
+ * <p>Most requests are answered from the site cache and only need CPU. The others hold one of a
+ * fixed number of database connections for a simulated query latency. With platform threads, requests
+ * queued on the connection pool also hold request threads, and cached requests queue behind them.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RequestThreadingBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final long QUERY_MILLIS = 5;
+    private static final int RENDER_TOKENS = 2_000;
+
+    /**
+     * Request threads: platform pools of 50 and 200 (Tomcat's default maximum), or virtual threads.
+     */
+    @Param({"platform-50", "platform-200", "virtual"})
+    private String threads;
+
+    /**
+     * Database connections, i.e. the Hikari maximum pool size.
+     */
+    @Param({"10", "20", "50"})
+    private int connections;
+
+    /**
+     * Share of requests missing the site cache and querying the database.
+     */
+    @Param({"0.1", "0.5"})
+    private double missRatio;
+
+    private ExecutorService executor;
+    private Semaphore connectionPool;
+    private List<Future<?>> pendingQueries = List.of();
+
+    /**
+     * Create the request executor and the connection pool.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(Integer.parseInt(threads.substring("platform-".length())));
+        connectionPool = new Semaphore(connections, true);
+    }
+
+    /**
+     * Shut the request executor down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Serve a burst of requests arriving at once and wait for all of them.
+     *
+     * @param blackhole sink for the rendered responses
+     * @throws Exception if a request fails
+     */
+    @Benchmark
+    public void burst(final Blackhole blackhole) throws Exception {
+        for (Future<?> response : submitBurst(blackhole, null)) {
+            response.get();
+        }
+    }
+
+    /**
+     * Serve a burst of requests arriving at once and wait only for those answered from the cache,
+     * i.e. the latency cached storefront traffic sees while queries queue on the connection pool.
+     *
+     * @param blackhole sink for the rendered responses
+     * @throws Exception if a request fails
+     */
+    @Benchmark
+    public void cachedRequestsInBurst(final Blackhole blackhole) throws Exception {
+        List<Future<?>> cached = new ArrayList<>(REQUESTS);
+        pendingQueries = submitBurst(blackhole, cached);
+        for (Future<?> response : cached) {
+            response.get();
+        }
+    }
+
+    /**
+     * Let the queries of the last burst finish outside the measured time.
+     *
+     * @throws Exception if a request fails
+     */
+    @TearDown(Level.Invocation)
+    public void drainQueries() throws Exception {
+        for (Future<?> response : pendingQueries) {
+            response.get();
+        }
+        pendingQueries = List.of();
+    }
+
+    /**
+     * Submit a burst of requests.
+     *
+     * @param blackhole sink for the rendered responses
+     * @param cached collects the requests answered from the cache, or null to keep all requests together
+     * @return the requests not collected in {@code cached}
+     */
+    private List<Future<?>> submitBurst(final Blackhole blackhole, final List<Future<?>> cached) {
+        List<Future<?>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            boolean miss = ThreadLocalRandom.current().nextDouble() < missRatio;
+            Future<?> response = executor.submit(() -> serve(miss, blackhole));
+            (miss || cached == null ? responses : cached).add(response);
+        }
+        return responses;
+    }
+
+    private Void serve(final boolean miss, final Blackhole blackhole) throws InterruptedException {
+        if (miss) {
+            connectionPool.acquire();
+            try {
+                Thread.sleep(QUERY_MILLIS);
+            } finally {
+                connectionPool.release();
+            }
+        }
+        Blackhole.consumeCPU(RENDER_TOKENS);
+        blackhole.consume(miss);
+        return null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.shopifake.microservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopifake.microservice.dtos.SiteConfig;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Site configuration payloads shared by the benchmarks.
+ */
+public final class ConfigPayloads {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    private static final String SENTENCE = "We started in a small workshop and still hand-finish every piece we ship. ";
+
+    private ConfigPayloads() {
+    }
+
+    /**
+     * Payload sizes, named after the length of the free-text {@code history} and {@code values} fields.
+     */
+    public enum Size {
+        /** A freshly created draft: one-line history, a single value. */
+        SMALL(1, 1),
+        /** What most published sites look like: a few paragraphs and a handful of values. */
+        TYPICAL(12, 5),
+        /** The upper end seen in production: a long history and many values. */
+        LARGE(400, 60),
+        /** Far beyond anything legitimate: about 1.5 MB of history and 10,000 values. */
+        ADVERSARIAL(20_000, 10_000);
+
+        private final int historySentences;
+        private final int valueCount;
+
+        Size(final int historySentences, final int valueCount) {
+            this.historySentences = historySentences;
+            this.valueCount = valueCount;
+        }
+    }
+
+    /**
+     * Object mapper configured like the one Spring Boot provides to the application.
+     *
+     * @return the shared object mapper
+     */
+    static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * Build a valid site configuration of the given size.
+     *
+     * @param size the payload size
+     * @return the site configuration
+     */
+    static SiteConfig config(final Size size) {
+        List<String> values = new ArrayList<>(size.valueCount);
+        for (int i = 0; i < size.valueCount; i++) {
+            values.add("Value " + i + ": craftsmanship, honesty and care in everything we make");
+        }
+        return SiteConfig.builder()
+                .bannerUrl("https://cdn.shopifake.com/sites/banner.jpg")
+                .name("Atelier Lumen")
+                .title("Handmade lighting")
+                .subtitle("Since 1998")
+                .heroDescription("Lamps and fixtures designed and assembled in our workshop.")
+                .logoUrl("https://cdn.shopifake.com/sites/logo.png")
+                .aboutPortraitOneUrl("https://cdn.shopifake.com/sites/portrait-1.jpg")
+                .aboutLandscapeUrl("https://cdn.shopifake.com/sites/landscape.jpg")
+                .aboutPortraitTwoUrl("https://cdn.shopifake.com/sites/portrait-2.jpg")
+                .history(SENTENCE.repeat(size.historySentences).trim())
+                .values(values)
+                .contactHeading("Get in touch")
+                .contactDescription("We answer every message within two business days.")
+                .contactDetails("hello@atelier-lumen.example, +33 1 23 45 67 89")
+                .contactExtraNote("Workshop visits by appointment only.")
+                .primaryColor("#1f2933")
+                .secondaryColor("#f5a623")
+                .build();
+    }
+
+    /**
+     * Build the JSON form of a valid site configuration of the given size.
+     *
+     * @param size the payload size
+     * @return the configuration JSON
+     */
+    static String json(final Size size) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(config(size));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build benchmark payload", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.cache.ValidatedConfigCache;
+import com.shopifake.microservice.config.ConfigValidationCacheProperties;
+import com.shopifake.microservice.dtos.SiteConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of parsing, validating and serializing site configurations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SiteConfigValidationBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "LARGE", "ADVERSARIAL"})
+    private ConfigPayloads.Size size;
+
+    private ValidatorFactory validatorFactory;
+    private SiteConfigValidationService validationService;
+    private SiteConfigValidationService cachingValidationService;
+    private String json;
+    private SiteConfig config;
+
+    /**
+     * Build the service with the same mapper and validator setup as the application.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        ConfigValidationCacheProperties uncached = new ConfigValidationCacheProperties();
+        uncached.setEnabled(false);
+        validationService = new SiteConfigValidationService(ConfigPayloads.objectMapper(),
+                validatorFactory.getValidator(), new ValidatedConfigCache(uncached, new SimpleMeterRegistry()));
+        cachingValidationService = new SiteConfigValidationService(ConfigPayloads.objectMapper(),
+                validatorFactory.getValidator(),
+                new ValidatedConfigCache(new ConfigValidationCacheProperties(), new SimpleMeterRegistry()));
+        json = ConfigPayloads.json(size);
+        config = ConfigPayloads.config(size);
+    }
+
+    /**
+     * Release the validator factory.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Jackson bind plus Bean Validation.
+     *
+     * @return the parsed configuration
+     */
+    @Benchmark
+    public SiteConfig validateAndParse() {
+        return validationService.validateAndParse(json);
+    }
+
+    /**
+     * Streaming validation without binding, as done on create and update.
+     */
+    @Benchmark
+    public void validate() {
+        validationService.validate(json);
+    }
+
+    /**
+     * Validation of a config saved before, answered by the result cache. The payload is copied
+     * so the verifying comparison cannot short-circuit on identity.
+     */
+    @Benchmark
+    public void validateRepeated() {
+        cachingValidationService.validate(new String(json));
+    }
+
+    /**
+     * Serialization of a parsed configuration back to JSON.
+     *
+     * @return the configuration JSON
+     */
+    @Benchmark
+    public String toJson() {
+        return validationService.toJson(config);
+    }
+}
@@ -0,0 +1,93 @@
+package com.shopifake.microservice.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of turning a site entity into the response body of a read request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SiteResponseMappingBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "LARGE"})
+    private ConfigPayloads.Size size;
+
+    private ObjectMapper objectMapper;
+    private Site site;
+    private SiteResponse response;
+
+    /**
+     * Build a published site carrying a configuration of the benchmarked size.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = ConfigPayloads.objectMapper();
+        LocalDateTime now = LocalDateTime.now();
+        site = Site.builder()
+                .id(UUID.randomUUID())
+                .name("Atelier Lumen")
+                .slug("atelier-lumen")
+                .description("Handmade lighting since 1998")
+                .currency(Currency.EUR)
+                .language(Language.FR)
+                .status(SiteStatus.ACTIVE)
+                .ownerId(UUID.randomUUID())
+                .config(ConfigPayloads.json(size))
+                .createdAt(now.minusDays(30))
+                .updatedAt(now)
+                .build();
+        response = SiteService.mapToResponse(site);
+    }
+
+    /**
+     * Entity to DTO mapping alone.
+     *
+     * @return the response DTO
+     */
+    @Benchmark
+    public SiteResponse mapToResponse() {
+        return SiteService.mapToResponse(site);
+    }
+
+    /**
+     * Jackson serialization of an already mapped response.
+     *
+     * @return the response body
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * Mapping and serialization together, as on a {@code GET /api/sites/{id}} that misses the site cache.
+     *
+     * @return the response body
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(SiteService.mapToResponse(site));
+    }
+}
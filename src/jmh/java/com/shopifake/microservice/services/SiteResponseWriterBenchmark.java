@@ -0,0 +1,75 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.cache.RenderedSiteCache;
+import com.shopifake.microservice.config.RenderedSiteCacheProperties;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.SiteStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and payload size of the two site response modes: config as a JSON string, or embedded raw.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SiteResponseWriterBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "LARGE"})
+    private ConfigPayloads.Size size;
+
+    @Param({"false", "true"})
+    private boolean rawConfig;
+
+    private SiteResponseWriter responseWriter;
+    private SiteResponse response;
+
+    /**
+     * Build the writer and a published site response, and report the payload size of the mode.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        responseWriter = new SiteResponseWriter(ConfigPayloads.objectMapper(),
+                new RenderedSiteCache(new RenderedSiteCacheProperties(), new SimpleMeterRegistry()));
+        LocalDateTime now = LocalDateTime.now();
+        response = SiteResponse.builder()
+                .id(UUID.randomUUID())
+                .name("Atelier Lumen")
+                .slug("atelier-lumen")
+                .description("Handmade lighting since 1998")
+                .currency(Currency.EUR)
+                .language(Language.FR)
+                .status(SiteStatus.ACTIVE)
+                .ownerId(UUID.randomUUID())
+                .config(ConfigPayloads.json(size))
+                .createdAt(now.minusDays(30))
+                .updatedAt(now)
+                .build();
+        System.out.printf("%nPayload size (size = %s, rawConfig = %s): %d bytes%n",
+                size, rawConfig, responseWriter.write(response, rawConfig).length);
+    }
+
+    /**
+     * Serialization of a site response in the benchmarked mode.
+     *
+     * @return the response body
+     */
+    @Benchmark
+    public byte[] write() {
+        return responseWriter.write(response, rawConfig);
+    }
+}
@@ -0,0 +1,60 @@
+package com.shopifake.microservice.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Throughput of slug normalization, against the regex chain it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SlugNormalizationBenchmark {
+
+    private static final Pattern NON_LATIN = Pattern.compile("[^\\w-]");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
+    private static final Pattern EDGES_DASHES = Pattern.compile("(?:^-)|(?:-$)");
+
+    /**
+     * Already normalized, a typical shop name, and accented input that needs decomposing.
+     */
+    @Param({"atelier-lumen", "Atelier Lumen -- Paris Store", "Caf\u00e9 Cr\u00e8me & P\u00e2tisserie"})
+    private String input;
+
+    private final SlugService slugService = new SlugService();
+
+    /**
+     * Current single-pass normalizer.
+     *
+     * @return the normalized slug
+     */
+    @Benchmark
+    public String singlePass() {
+        return slugService.normalizeSlug(input);
+    }
+
+    /**
+     * The normalizer as it was before the single-pass rewrite.
+     *
+     * @return the normalized slug
+     */
+    @Benchmark
+    public String regexChain() {
+        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
+        normalized = NON_LATIN.matcher(normalized).replaceAll("");
+        normalized = WHITESPACE.matcher(normalized).replaceAll("-");
+        normalized = EDGES_DASHES.matcher(normalized).replaceAll("");
+        normalized = normalized.toLowerCase(Locale.ENGLISH);
+        return normalized.replaceAll("-+", "-");
+    }
+}
@@ -2,6 +2,8 @@ package com.shopifake.microservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import com.shopifake.microservice.annotation.Generated;
 import com.shopifake.microservice.dtos.SiteConfig;
@@ -10,6 +12,8 @@ import com.shopifake.microservice.dtos.SiteConfig;
  * Main application class for the Spring Boot template.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 @RegisterReflectionForBinding(SiteConfig.class)
 public class Application {
 
@@ -0,0 +1,124 @@
+package com.shopifake.microservice.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ *
+ * <p>{@link #mightContain(String)} never returns false for a value that was put,
+ * and returns true for an absent value with roughly the configured false positive rate.</p>
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long MIX_MULTIPLIER_1 = 0xff51afd7ed558ccdL;
+    private static final long MIX_MULTIPLIER_2 = 0xc4ceb9fe1a85ec53L;
+    private static final int MIX_SHIFT = 33;
+    private static final int WORD_SHIFT = 6;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    private BloomFilter(final long bitCount, final int hashFunctions) {
+        int wordCount = (int) ((bitCount + Long.SIZE - 1) >>> WORD_SHIFT);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Create a filter sized for the given number of values and false positive rate.
+     *
+     * @param expectedInsertions the number of values expected to be put
+     * @param falsePositiveRate the target false positive rate, between 0 and 1 exclusive
+     * @return an empty filter
+     */
+    public static BloomFilter create(final long expectedInsertions, final double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        long insertions = Math.max(1, expectedInsertions);
+        long bits = Math.max(Long.SIZE, (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / insertions * LN2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value the value
+     */
+    public void put(final String value) {
+        long hash = hash(value);
+        long hash1 = mix(hash);
+        long hash2 = mix(hash1 ^ hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int index = (int) (bit >>> WORD_SHIFT);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    /**
+     * Check whether a value may have been added.
+     *
+     * @param value the value
+     * @return false if the value was definitely never added
+     */
+    public boolean mightContain(final String value) {
+        long hash = hash(value);
+        long hash1 = mix(hash);
+        long hash2 = mix(hash1 ^ hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> WORD_SHIFT)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the memory used by the bit array.
+     *
+     * @return the size in bytes
+     */
+    public long sizeInBytes() {
+        return bitCount / Byte.SIZE;
+    }
+
+    /**
+     * Get the number of hash functions applied per value.
+     *
+     * @return the number of hash functions
+     */
+    public int hashFunctionCount() {
+        return hashFunctions;
+    }
+
+    private static long hash(final String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(final long value) {
+        long mixed = value;
+        mixed ^= mixed >>> MIX_SHIFT;
+        mixed *= MIX_MULTIPLIER_1;
+        mixed ^= mixed >>> MIX_SHIFT;
+        mixed *= MIX_MULTIPLIER_2;
+        mixed ^= mixed >>> MIX_SHIFT;
+        return mixed;
+    }
+}
@@ -0,0 +1,37 @@
+package com.shopifake.microservice.cache;
+
+import lombok.Value;
+
+/**
+ * A fully rendered site response body, with its gzip-encoded form when one was prepared.
+ */
+@Value
+public class RenderedSite {
+
+    /** Overhead of the entry and key objects, counted towards the cache weight. */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /** The JSON body. */
+    byte[] body;
+
+    /** The gzip-encoded JSON body, or null if it was not prepared. */
+    byte[] gzipBody;
+
+    /**
+     * Check whether a gzip-encoded body is available.
+     *
+     * @return true if the body was also prepared gzip-encoded
+     */
+    public boolean hasGzipBody() {
+        return gzipBody != null;
+    }
+
+    /**
+     * Approximate memory held by this entry.
+     *
+     * @return the size in bytes
+     */
+    public int sizeInBytes() {
+        return ENTRY_OVERHEAD + body.length + (gzipBody == null ? 0 : gzipBody.length);
+    }
+}
@@ -0,0 +1,159 @@
+package com.shopifake.microservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.shopifake.microservice.config.RenderedSiteCacheProperties;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Byte-bounded cache of rendered response bodies, keyed by site, version and response mode.
+ *
+ * <p>The version is the site's {@code @Version}, so a body rendered from an older copy of the site
+ * can never be served for a newer one. Changed sites are also evicted on commit to free their memory
+ * right away, through an index of the keys cached per site rather than a scan of the cache.</p>
+ */
+@Component
+@Slf4j
+public class RenderedSiteCache {
+
+    private final boolean enabled;
+    private final Cache<RenderKey, RenderedSite> bodies;
+    private final ConcurrentMap<UUID, Set<RenderKey>> keysBySite = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param properties the cache configuration
+     * @param meterRegistry the registry hit/miss/eviction and memory metrics are bound to
+     */
+    public RenderedSiteCache(final RenderedSiteCacheProperties properties, final MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((RenderKey key, RenderedSite rendered) -> rendered.sizeInBytes())
+                .expireAfterWrite(properties.getTimeToLive())
+                // Called atomically with size and expiry evictions; explicit ones update the index themselves
+                .evictionListener((RenderKey key, RenderedSite rendered, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "sites.rendered");
+        Gauge.builder("sites.rendered.memory", this, RenderedSiteCache::sizeInBytes)
+                .baseUnit("bytes")
+                .description("Memory used by rendered site response bodies")
+                .register(meterRegistry);
+        log.info("Rendered site cache {} (maximumSize={}, timeToLive={})",
+                enabled ? "enabled" : "disabled", properties.getMaximumSize(), properties.getTimeToLive());
+    }
+
+    /**
+     * Check whether the cache is enabled.
+     *
+     * @return true if rendered bodies are cached
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the rendered body of a site version, rendering it at most once if absent.
+     *
+     * @param siteId the site ID
+     * @param version the site's version
+     * @param rawConfig whether the body embeds the config as raw JSON
+     * @param renderer renders the body on a miss
+     * @return the rendered body
+     */
+    public RenderedSite get(final UUID siteId, final long version, final boolean rawConfig,
+                            final Supplier<RenderedSite> renderer) {
+        if (!enabled) {
+            return renderer.get();
+        }
+        return bodies.get(new RenderKey(siteId, version, rawConfig), key -> {
+            RenderedSite rendered = renderer.get();
+            index(key);
+            return rendered;
+        });
+    }
+
+    /**
+     * Evict every rendered body of a site.
+     *
+     * @param siteId the site ID
+     */
+    public void evict(final UUID siteId) {
+        Set<RenderKey> keys = keysBySite.remove(siteId);
+        if (keys != null) {
+            bodies.invalidateAll(keys);
+        }
+    }
+
+    /**
+     * Evict every rendered body.
+     */
+    public void clear() {
+        bodies.invalidateAll();
+        keysBySite.clear();
+    }
+
+    /**
+     * Approximate memory held by the cached bodies.
+     *
+     * @return the size in bytes
+     */
+    public long sizeInBytes() {
+        // Weights are accounted by Caffeine's asynchronous maintenance; catch up first
+        bodies.cleanUp();
+        return bodies.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    /**
+     * Evict a site's bodies once the transaction that changed it has committed.
+     *
+     * @param event the site change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSiteChanged(final SiteChangedEvent event) {
+        evict(event.getSiteId());
+    }
+
+    private void index(final RenderKey key) {
+        keysBySite.compute(key.getSiteId(), (siteId, keys) -> {
+            Set<RenderKey> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            return indexed;
+        });
+    }
+
+    private void unindex(final RenderKey key) {
+        keysBySite.computeIfPresent(key.getSiteId(), (siteId, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Cache key: one entry per site version and response mode.
+     */
+    @Value
+    private static class RenderKey {
+        UUID siteId;
+        long version;
+        boolean rawConfig;
+    }
+}
@@ -0,0 +1,83 @@
+package com.shopifake.microservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into a single call.
+ *
+ * <p>The first caller for a key runs the loader; callers arriving while it is in
+ * flight wait for it and receive the same value, or the same exception.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    /**
+     * Constructor.
+     *
+     * @param coalesced counter incremented for every caller that joined an in-flight load
+     */
+    public SingleFlight(final Counter coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    /**
+     * Load a value, sharing the call with any concurrent caller for the same key.
+     *
+     * @param key the key
+     * @param loader the loader run by the first caller
+     * @return the loaded value
+     */
+    public V execute(final K key, final Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Get the number of keys currently being loaded.
+     *
+     * @return the number of in-flight loads
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(final CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
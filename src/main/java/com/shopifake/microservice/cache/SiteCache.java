@@ -0,0 +1,192 @@
+package com.shopifake.microservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopifake.microservice.config.SiteCacheProperties;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded in-process cache of site responses, keyed by site ID and by normalized slug.
+ *
+ * <p>Sites are stored once by ID; the slug index only points at site IDs, so a
+ * renamed or evicted site can never be served under a stale slug.</p>
+ */
+@Component
+@Slf4j
+public class SiteCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, SiteResponse> sitesById;
+    private final Cache<String, UUID> siteIdsBySlug;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Makes a put's generation check and write atomic with respect to invalidations. Puts share the
+     * lock, invalidations take it exclusively. A lock rather than a monitor, since lookups run on
+     * virtual threads.
+     */
+    private final ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor.
+     *
+     * @param properties the cache configuration
+     * @param meterRegistry the registry hit/miss/eviction metrics are bound to
+     */
+    public SiteCache(final SiteCacheProperties properties, final MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.sitesById = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        this.siteIdsBySlug = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sitesById, "sites.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, siteIdsBySlug, "sites.by-slug");
+        log.info("Site cache {} (maximumSize={}, timeToLive={})",
+                enabled ? "enabled" : "disabled", properties.getMaximumSize(), properties.getTimeToLive());
+    }
+
+    /**
+     * Check whether the cache is enabled.
+     *
+     * @return true if lookups are served from the cache
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the current invalidation generation. Callers capture it before reading
+     * from the database and hand it back to {@link #put(SiteResponse, long)}, so a
+     * value loaded concurrently with a write is never cached after its invalidation.
+     *
+     * @return the current generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Get a cached site by ID.
+     *
+     * @param siteId the site ID
+     * @return the cached site response, if present
+     */
+    public Optional<SiteResponse> getById(final UUID siteId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(sitesById.getIfPresent(siteId));
+    }
+
+    /**
+     * Get a cached site by normalized slug.
+     *
+     * @param slug the normalized slug
+     * @return the cached site response, if present
+     */
+    public Optional<SiteResponse> getBySlug(final String slug) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        UUID siteId = siteIdsBySlug.getIfPresent(slug);
+        if (siteId == null) {
+            return Optional.empty();
+        }
+        SiteResponse site = sitesById.getIfPresent(siteId);
+        if (site == null || !slug.equals(site.getSlug())) {
+            siteIdsBySlug.invalidate(slug);
+            return Optional.empty();
+        }
+        return Optional.of(site);
+    }
+
+    /**
+     * Cache a site loaded from the database.
+     *
+     * @param site the site response
+     * @param loadGeneration the generation captured before the site was loaded
+     */
+    public void put(final SiteResponse site, final long loadGeneration) {
+        if (!enabled) {
+            return;
+        }
+        invalidationLock.readLock().lock();
+        try {
+            if (loadGeneration != generation.get()) {
+                return;
+            }
+            sitesById.put(site.getId(), site);
+            siteIdsBySlug.put(site.getSlug(), site.getId());
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evict a site and any of the given slugs.
+     *
+     * @param siteId the site ID
+     * @param slugs slugs the site was known under
+     */
+    public void evict(final UUID siteId, final String... slugs) {
+        invalidationLock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            SiteResponse cached = sitesById.getIfPresent(siteId);
+            sitesById.invalidate(siteId);
+            if (cached != null) {
+                siteIdsBySlug.invalidate(cached.getSlug());
+            }
+            for (String slug : slugs) {
+                if (slug != null) {
+                    siteIdsBySlug.invalidate(slug);
+                }
+            }
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evict everything.
+     */
+    public void clear() {
+        invalidationLock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            sitesById.invalidateAll();
+            siteIdsBySlug.invalidateAll();
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Invalidate a site once the transaction that changed it has committed.
+     *
+     * @param event the site change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSiteChanged(final SiteChangedEvent event) {
+        log.debug("Evicting site {} from cache after {}", event.getSiteId(), event.getType());
+        evict(event.getSiteId(), event.getPreviousSlug(), event.getSlug());
+    }
+}
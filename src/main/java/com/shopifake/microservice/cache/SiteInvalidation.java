@@ -0,0 +1,92 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.events.SiteChangedEvent;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+
+import java.util.UUID;
+
+/**
+ * Payload of a site invalidation notified to other replicas:
+ * {@code sender|siteId|previousSlug|slug|sentAtMillis}, with absent slugs left empty.
+ * Normalized slugs never contain {@code |}.
+ *
+ * @param sender the replica that changed the site
+ * @param siteId the site ID
+ * @param previousSlug slug the site had before the change, or null
+ * @param slug slug the site has after the change, or null
+ * @param sentAtMillis when the change was notified, in epoch milliseconds of the sender
+ */
+record SiteInvalidation(String sender, UUID siteId, String previousSlug, String slug, long sentAtMillis) {
+
+    /**
+     * Identifies this replica, so it skips the invalidations it sent itself.
+     */
+    static final String LOCAL_SENDER = UUID.randomUUID().toString();
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Create the invalidation of a change made by this replica.
+     *
+     * @param event the site change event
+     * @return the invalidation
+     */
+    static SiteInvalidation of(final SiteChangedEvent event) {
+        return new SiteInvalidation(LOCAL_SENDER, event.getSiteId(), event.getPreviousSlug(), event.getSlug(),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Parse a notification payload.
+     *
+     * @param payload the payload
+     * @return the invalidation
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    static SiteInvalidation parse(final String payload) {
+        String[] fields = payload.split("\\" + SEPARATOR, -1);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Malformed site invalidation: " + payload);
+        }
+        return new SiteInvalidation(fields[0], UUID.fromString(fields[1]), emptyToNull(fields[2]),
+                emptyToNull(fields[3]), Long.parseLong(fields[4]));
+    }
+
+    /**
+     * Check whether notifications can be sent on a datasource.
+     *
+     * @param dataSourceProperties the datasource configuration
+     * @return true for PostgreSQL, the only database with LISTEN/NOTIFY
+     */
+    static boolean isSupported(final DataSourceProperties dataSourceProperties) {
+        return DatabaseDriver.fromJdbcUrl(dataSourceProperties.determineUrl()) == DatabaseDriver.POSTGRESQL;
+    }
+
+    /**
+     * Format the notification payload.
+     *
+     * @return the payload
+     */
+    String format() {
+        return String.join(SEPARATOR, sender, siteId.toString(), nullToEmpty(previousSlug), nullToEmpty(slug),
+                Long.toString(sentAtMillis));
+    }
+
+    /**
+     * Check whether this replica sent the invalidation.
+     *
+     * @return true if the change was made by this replica
+     */
+    boolean isLocal() {
+        return LOCAL_SENDER.equals(sender);
+    }
+
+    private static String nullToEmpty(final String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(final String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
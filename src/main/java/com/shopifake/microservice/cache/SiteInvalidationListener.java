@@ -0,0 +1,344 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.config.SiteInvalidationProperties;
+import com.shopifake.microservice.entities.SiteChangeFeedState;
+import com.shopifake.microservice.entities.SiteOutboxEntry;
+import com.shopifake.microservice.repositories.SiteChangeFeedStateRepository;
+import com.shopifake.microservice.repositories.SiteOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Evicts sites changed by other replicas from the in-process caches of this one.
+ *
+ * <p>A dedicated connection, outside the pool, {@code LISTEN}s for the invalidations sent by
+ * {@link SiteInvalidationPublisher}. While it is not listening, because the connection dropped or the
+ * database has no LISTEN/NOTIFY, a periodic version check compares the change feed position with the
+ * last one checked and evicts the sites changed in between. When the connection drops, the caches are
+ * cleared, since notifications sent just before may have been lost with it.</p>
+ *
+ * <p>The time from a change to its eviction is timed under {@code sites.cache.invalidation.lag},
+ * tagged with the {@code source} that evicted it. Notification lag is measured against the clock of
+ * the sending replica.</p>
+ */
+@Component
+@Slf4j
+public class SiteInvalidationListener implements SmartLifecycle {
+
+    private final SiteInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final SiteCache siteCache;
+    private final RenderedSiteCache renderedSiteCache;
+    private final SlugMembershipFilter slugMembershipFilter;
+    private final SiteOutboxRepository outboxRepository;
+    private final SiteChangeFeedStateRepository feedStateRepository;
+    private final Timer notificationLag;
+    private final Timer versionCheckLag;
+
+    /**
+     * Guards {@code checkedPosition}. A lock rather than a monitor, since version checks run on
+     * virtual threads.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private Long checkedPosition;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Thread listenerThread;
+    private volatile Connection connection;
+
+    /**
+     * Constructor.
+     *
+     * @param properties the invalidation configuration
+     * @param dataSourceProperties the datasource the listener connects to
+     * @param siteCache the site cache
+     * @param renderedSiteCache the rendered site cache
+     * @param slugMembershipFilter the slug filter new slugs are added to
+     * @param outboxRepository the outbox repository version checks read changes from
+     * @param feedStateRepository the change feed state repository version checks read the position from
+     * @param meterRegistry the registry invalidation metrics are bound to
+     */
+    public SiteInvalidationListener(final SiteInvalidationProperties properties,
+                                    final DataSourceProperties dataSourceProperties,
+                                    final SiteCache siteCache,
+                                    final RenderedSiteCache renderedSiteCache,
+                                    final SlugMembershipFilter slugMembershipFilter,
+                                    final SiteOutboxRepository outboxRepository,
+                                    final SiteChangeFeedStateRepository feedStateRepository,
+                                    final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.siteCache = siteCache;
+        this.renderedSiteCache = renderedSiteCache;
+        this.slugMembershipFilter = slugMembershipFilter;
+        this.outboxRepository = outboxRepository;
+        this.feedStateRepository = feedStateRepository;
+        this.notificationLag = lagTimer(meterRegistry, "notification");
+        this.versionCheckLag = lagTimer(meterRegistry, "version-check");
+        Gauge.builder("sites.cache.invalidation.listening", this, listener -> listener.isListening() ? 1 : 0)
+                .description("Whether invalidations from other replicas are received as notifications")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start listening for invalidations, if the database supports it.
+     */
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Site invalidation across replicas disabled");
+            return;
+        }
+        running = true;
+        if (!SiteInvalidation.isSupported(dataSourceProperties)) {
+            log.info("Database has no LISTEN/NOTIFY, site invalidations rely on version checks every {}",
+                    properties.getVersionCheckInterval());
+            return;
+        }
+        listenerThread = Thread.ofPlatform()
+                .name("site-invalidation-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    /**
+     * Stop listening for invalidations.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listenerThread;
+        listenerThread = null;
+        closeQuietly(connection);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Check whether invalidations are being processed.
+     *
+     * @return true if the listener is running
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Check whether invalidations are currently received as notifications.
+     *
+     * @return true if the listener connection is up
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Periodically check the change feed version.
+     */
+    @Scheduled(initialDelayString = "${sites.invalidation.version-check-interval:5s}",
+            fixedDelayString = "${sites.invalidation.version-check-interval:5s}")
+    public void scheduledVersionCheck() {
+        if (!running) {
+            return;
+        }
+        try {
+            checkVersion();
+        } catch (RuntimeException e) {
+            log.warn("Failed to check the site change feed version, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Evict the sites changed since the last check, unless notifications are being received, in
+     * which case only the position is recorded. The first check only records the position.
+     *
+     * @return the number of changes evicted
+     */
+    public int checkVersion() {
+        lock.lock();
+        try {
+            SiteChangeFeedState state = feedStateRepository.findById(SiteChangeFeedState.ID)
+                    .orElseGet(() -> new SiteChangeFeedState(SiteChangeFeedState.ID, 0, 0));
+            if (checkedPosition == null || listening || state.getLastPosition() <= checkedPosition) {
+                checkedPosition = state.getLastPosition();
+                return 0;
+            }
+            if (checkedPosition < state.getPurgedThrough()) {
+                log.warn("Site changes after position {} were purged, clearing site caches", checkedPosition);
+                evictAll();
+                checkedPosition = state.getLastPosition();
+                return 0;
+            }
+
+            int evicted = 0;
+            List<SiteOutboxEntry> entries;
+            do {
+                entries = outboxRepository.findByFeedPositionGreaterThanOrderByFeedPosition(checkedPosition,
+                        Limit.of(properties.getVersionCheckBatchSize()));
+                LocalDateTime now = LocalDateTime.now();
+                for (SiteOutboxEntry entry : entries) {
+                    evict(entry.getSiteId(), entry.getPreviousSlug(), entry.getSlug());
+                    versionCheckLag.record(Duration.between(entry.getOccurredAt(), now));
+                    checkedPosition = entry.getFeedPosition();
+                }
+                evicted += entries.size();
+            } while (entries.size() == properties.getVersionCheckBatchSize());
+            log.debug("Version check evicted {} site changes, checked through position {}", evicted, checkedPosition);
+            return evicted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evict the site of an invalidation sent by another replica.
+     *
+     * @param payload the notification payload
+     */
+    void receive(final String payload) {
+        SiteInvalidation invalidation;
+        try {
+            invalidation = SiteInvalidation.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed site invalidation: {}", payload);
+            return;
+        }
+        if (invalidation.isLocal()) {
+            // Already evicted when the transaction committed
+            return;
+        }
+        evict(invalidation.siteId(), invalidation.previousSlug(), invalidation.slug());
+        long lagMillis = System.currentTimeMillis() - invalidation.sentAtMillis();
+        notificationLag.record(Duration.ofMillis(Math.max(0, lagMillis)));
+    }
+
+    /**
+     * Listen for notifications until stopped, reconnecting whenever the connection drops.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection listenerConnection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection = listenerConnection;
+                try (Statement statement = listenerConnection.createStatement()) {
+                    statement.execute("LISTEN \"" + properties.getChannel() + "\"");
+                }
+                // Catch up on changes made while not listening, then rely on notifications
+                checkVersion();
+                listening = true;
+                log.info("Listening for site invalidations on {}", properties.getChannel());
+                receiveAll(listenerConnection);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (listening) {
+                    log.warn("Lost site invalidation listener connection, clearing site caches", e);
+                } else {
+                    log.warn("Failed to listen for site invalidations: {}", e.getMessage());
+                }
+            } finally {
+                connection = null;
+            }
+            boolean wasListening = listening;
+            listening = false;
+            if (!running) {
+                return;
+            }
+            if (wasListening) {
+                evictAll();
+            }
+            sleep(properties.getReconnectDelay());
+        }
+    }
+
+    /**
+     * Receive notifications until stopped or the connection drops.
+     *
+     * @param listenerConnection the listening connection
+     * @throws SQLException if the connection fails
+     */
+    private void receiveAll(final Connection listenerConnection) throws SQLException {
+        PGConnection pgConnection = listenerConnection.unwrap(PGConnection.class);
+        int timeoutMillis = (int) properties.getReceiveTimeout().toMillis();
+        int validationSeconds = (int) Math.max(1, properties.getReceiveTimeout().toSeconds());
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+            if (notifications == null || notifications.length == 0) {
+                // A half-open connection reports no notifications rather than failing
+                if (!listenerConnection.isValid(validationSeconds)) {
+                    throw new SQLException("Site invalidation listener connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                receive(notification.getParameter());
+            }
+        }
+    }
+
+    private void evict(final UUID siteId, final String previousSlug, final String slug) {
+        siteCache.evict(siteId, previousSlug, slug);
+        renderedSiteCache.evict(siteId);
+        if (slug != null && !slug.equals(previousSlug)) {
+            slugMembershipFilter.add(slug);
+        }
+    }
+
+    /**
+     * Evict everything, when changes may have been missed.
+     */
+    private void evictAll() {
+        siteCache.clear();
+        renderedSiteCache.clear();
+        slugMembershipFilter.rebuild();
+    }
+
+    private static Timer lagTimer(final MeterRegistry meterRegistry, final String source) {
+        return Timer.builder("sites.cache.invalidation.lag")
+                .description("Time from a site change on another replica to its eviction from this one")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private static void closeQuietly(final Connection listenerConnection) {
+        if (listenerConnection == null) {
+            return;
+        }
+        try {
+            listenerConnection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close site invalidation listener connection", e);
+        }
+    }
+
+    private static void sleep(final Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.config.SiteInvalidationProperties;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Notifies other replicas of site changes with PostgreSQL {@code NOTIFY}, so they evict the site
+ * from their caches. See {@link SiteInvalidationListener}.
+ *
+ * <p>The notification is sent in the transaction of the change: PostgreSQL delivers it only
+ * if the transaction commits, and only once it has.</p>
+ */
+@Component
+@Slf4j
+public class SiteInvalidationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final boolean active;
+
+    /**
+     * Constructor.
+     *
+     * @param properties the invalidation configuration
+     * @param dataSourceProperties the datasource configuration
+     * @param jdbcTemplate the JDBC template, which joins the transaction of the change
+     */
+    public SiteInvalidationPublisher(final SiteInvalidationProperties properties,
+                                     final DataSourceProperties dataSourceProperties,
+                                     final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = properties.getChannel();
+        this.active = properties.isEnabled() && SiteInvalidation.isSupported(dataSourceProperties);
+    }
+
+    /**
+     * Notify a site change before its transaction commits.
+     *
+     * @param event the site change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSiteChanged(final SiteChangedEvent event) {
+        if (!active) {
+            return;
+        }
+        log.debug("Notifying {} of site {} after {}", channel, event.getSiteId(), event.getType());
+        // pg_notify returns void, so there is nothing to read
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) resultSet -> null,
+                channel, SiteInvalidation.of(event).format());
+    }
+}
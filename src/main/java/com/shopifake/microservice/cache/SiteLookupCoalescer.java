@@ -0,0 +1,77 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.dtos.SiteResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent site lookups for the same ID or slug into one database query.
+ *
+ * <p>Lookups only join a query started in the same {@link SiteCache#generation() cache generation}.
+ * A lookup arriving after a site was evicted queries again rather than sharing a result read before
+ * the change.</p>
+ */
+@Component
+public class SiteLookupCoalescer {
+
+    private static final String COALESCED_METRIC = "sites.lookup.coalesced";
+    private static final String IN_FLIGHT_METRIC = "sites.lookup.in-flight";
+
+    private final SingleFlight<Flight<UUID>, SiteResponse> byId;
+    private final SingleFlight<Flight<String>, SiteResponse> bySlug;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry the registry coalescing metrics are bound to
+     */
+    public SiteLookupCoalescer(final MeterRegistry meterRegistry) {
+        this.byId = new SingleFlight<>(meterRegistry.counter(COALESCED_METRIC, "key", "id"));
+        this.bySlug = new SingleFlight<>(meterRegistry.counter(COALESCED_METRIC, "key", "slug"));
+        Gauge.builder(IN_FLIGHT_METRIC, byId, SingleFlight::inFlightCount)
+                .tag("key", "id")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, bySlug, SingleFlight::inFlightCount)
+                .tag("key", "slug")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load a site by ID, sharing the query with concurrent lookups of the same ID and generation.
+     *
+     * @param siteId the site ID
+     * @param generation the cache generation captured before the lookup
+     * @param loader the database lookup
+     * @return the site response
+     */
+    public SiteResponse byId(final UUID siteId, final long generation, final Supplier<SiteResponse> loader) {
+        return byId.execute(new Flight<>(siteId, generation), loader);
+    }
+
+    /**
+     * Load a site by normalized slug, sharing the query with concurrent lookups of the same slug and
+     * generation.
+     *
+     * @param slug the normalized slug
+     * @param generation the cache generation captured before the lookup
+     * @param loader the database lookup
+     * @return the site response
+     */
+    public SiteResponse bySlug(final String slug, final long generation, final Supplier<SiteResponse> loader) {
+        return bySlug.execute(new Flight<>(slug, generation), loader);
+    }
+
+    /**
+     * Key of an in-flight lookup.
+     *
+     * @param key the site ID or slug
+     * @param generation the cache generation the lookup started in
+     * @param <K> the key type
+     */
+    private record Flight<K>(K key, long generation) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.config.SlugFilterProperties;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import com.shopifake.microservice.repositories.SiteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Probabilistic membership filter over all existing slugs, used to answer
+ * "definitely not present" for unknown slugs without querying the database.
+ *
+ * <p>The filter is built from the sites table once the application is ready and
+ * rebuilt periodically to shed deleted and renamed slugs. New slugs are added
+ * before the transaction creating them commits, so a committed slug is never
+ * reported as absent by this replica.</p>
+ *
+ * <p>Slugs committed by other replicas only reach this filter on its next rebuild, so a
+ * negative answer from the filter is confirmed with an existence query before it is
+ * reported. Slugs found that way are added to the filter.</p>
+ */
+@Component
+@Slf4j
+public class SlugMembershipFilter {
+
+    private final SlugFilterProperties properties;
+    private final SiteRepository siteRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter rejections;
+    private final Counter staleRejections;
+    /**
+     * Guards swapping {@code recentlyAdded} and {@code filter}. A lock rather than a monitor, since
+     * virtual threads blocked entering a contended monitor stay pinned to their carrier.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+    private Set<String> recentlyAdded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param properties the filter configuration
+     * @param siteRepository the site repository the filter is built from
+     * @param transactionManager the transaction manager used to stream slugs
+     * @param meterRegistry the registry filter metrics are bound to
+     */
+    public SlugMembershipFilter(final SlugFilterProperties properties,
+                                final SiteRepository siteRepository,
+                                final PlatformTransactionManager transactionManager,
+                                final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.siteRepository = siteRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rejections = meterRegistry.counter("sites.slug-filter.rejections");
+        this.staleRejections = meterRegistry.counter("sites.slug-filter.stale-rejections");
+        Gauge.builder("sites.slug-filter.memory", this, SlugMembershipFilter::sizeInBytes)
+                .baseUnit("bytes")
+                .description("Memory used by the slug Bloom filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check whether a normalized slug is definitely not used by any site. A slug the filter
+     * rejects is looked up once more, since another replica may have committed it since the
+     * last rebuild.
+     *
+     * @param slug the normalized slug
+     * @return true if no site has this slug; false if it may exist or the filter is not built yet
+     */
+    public boolean isDefinitelyAbsent(final String slug) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(slug)) {
+            return false;
+        }
+        if (siteRepository.existsBySlug(slug)) {
+            log.debug("Slug {} was committed by another replica since the last filter rebuild", slug);
+            staleRejections.increment();
+            add(slug);
+            return false;
+        }
+        rejections.increment();
+        return true;
+    }
+
+    /**
+     * Record a slug that is about to be committed.
+     *
+     * @param slug the normalized slug
+     */
+    public void add(final String slug) {
+        lock.lock();
+        try {
+            recentlyAdded.add(slug);
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(slug);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add the new slug of a created or renamed site before its transaction commits, and stop carrying
+     * the slug a renamed or deleted site frees into the next rebuild.
+     *
+     * @param event the site change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSiteChanged(final SiteChangedEvent event) {
+        if (event.getSlug() != null && !event.getSlug().equals(event.getPreviousSlug())) {
+            add(event.getSlug());
+        }
+        if (event.getPreviousSlug() != null && !event.getPreviousSlug().equals(event.getSlug())) {
+            // The rebuild still finds the slug in the table if the change rolls back
+            recentlyAdded.remove(event.getPreviousSlug());
+        }
+    }
+
+    /**
+     * Build the filter once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Periodically rebuild the filter from the sites table.
+     */
+    @Scheduled(initialDelayString = "${sites.slug-filter.rebuild-interval:10m}",
+            fixedDelayString = "${sites.slug-filter.rebuild-interval:10m}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the filter from the sites table. Slugs added while the rebuild runs,
+     * or shortly before it started, are carried over into the new filter.
+     */
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Set<String> carriedOver;
+        lock.lock();
+        try {
+            carriedOver = recentlyAdded;
+            recentlyAdded = ConcurrentHashMap.newKeySet();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            long expected = Math.max(properties.getExpectedInsertions(), siteRepository.count() * 2);
+            BloomFilter next = BloomFilter.create(expected, properties.getFalsePositiveRate());
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> slugs = siteRepository.streamAllSlugs()) {
+                    slugs.forEach(next::put);
+                }
+            });
+
+            lock.lock();
+            try {
+                carriedOver.forEach(next::put);
+                recentlyAdded.forEach(next::put);
+                filter = next;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Slug filter rebuilt for {} expected slugs ({} bytes, {} hash functions)",
+                    expected, next.sizeInBytes(), next.hashFunctionCount());
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                recentlyAdded.addAll(carriedOver);
+            } finally {
+                lock.unlock();
+            }
+            log.warn("Failed to rebuild slug filter, keeping the previous one", e);
+        }
+    }
+
+    private double sizeInBytes() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.sizeInBytes();
+    }
+}
@@ -0,0 +1,102 @@
+package com.shopifake.microservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopifake.microservice.config.ConfigValidationCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded set of site configs already found valid, keyed by a 64-bit hash of the JSON text.
+ *
+ * <p>Only valid outcomes are remembered, and a hit is confirmed by comparing the full text, so a
+ * config is never reported valid unless that exact text was validated before. Hash collisions
+ * simply miss.</p>
+ */
+@Component
+@Slf4j
+public class ValidatedConfigCache {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final boolean enabled;
+    private final Cache<Long, String> configs;
+    private final ToLongFunction<String> hasher;
+
+    /**
+     * Constructor.
+     *
+     * @param properties the cache configuration
+     * @param meterRegistry the registry hit/miss/eviction metrics are bound to
+     */
+    @Autowired
+    public ValidatedConfigCache(final ConfigValidationCacheProperties properties, final MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, ValidatedConfigCache::hash);
+    }
+
+    /**
+     * Constructor with a custom hash function, to exercise collisions in tests.
+     *
+     * @param properties the cache configuration
+     * @param meterRegistry the registry hit/miss/eviction metrics are bound to
+     * @param hasher the hash function
+     */
+    public ValidatedConfigCache(final ConfigValidationCacheProperties properties, final MeterRegistry meterRegistry,
+                                final ToLongFunction<String> hasher) {
+        this.enabled = properties.isEnabled();
+        this.hasher = hasher;
+        this.configs = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((Long hash, String config) -> ENTRY_OVERHEAD + config.length() * Character.BYTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, configs, "sites.config-validation");
+        log.info("Config validation cache {} (maximumSize={})",
+                enabled ? "enabled" : "disabled", properties.getMaximumSize());
+    }
+
+    /**
+     * Check whether this exact config was found valid before.
+     *
+     * @param config the config JSON
+     * @return true if the same text was validated successfully
+     */
+    public boolean isKnownValid(final String config) {
+        if (!enabled || config == null) {
+            return false;
+        }
+        return config.equals(configs.getIfPresent(hasher.applyAsLong(config)));
+    }
+
+    /**
+     * Remember a config that passed validation.
+     *
+     * @param config the valid config JSON
+     */
+    public void markValid(final String config) {
+        if (enabled) {
+            configs.put(hasher.applyAsLong(config), config);
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units of a string.
+     *
+     * @param value the string
+     * @return the hash
+     */
+    static long hash(final String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,23 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the cache of site configs already validated.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.config-validation-cache")
+public class ConfigValidationCacheProperties {
+
+    /**
+     * Whether configs already found valid skip validation when saved again.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum total size of the remembered configs.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(16);
+}
@@ -0,0 +1,24 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the monitor reporting virtual threads pinned to their carrier.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.pinning-monitor")
+public class PinningMonitorProperties {
+
+    /**
+     * Whether pinned virtual threads are recorded with JFR and reported as metrics.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Shortest pinning reported. Brief pinning, e.g. around uncontended monitors, is harmless.
+     */
+    private Duration threshold = Duration.ofMillis(20);
+}
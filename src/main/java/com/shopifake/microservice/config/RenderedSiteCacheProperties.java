@@ -0,0 +1,30 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the cache of rendered response bodies of active sites.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.rendered-cache")
+public class RenderedSiteCacheProperties {
+
+    /**
+     * Whether response bodies of active sites are cached once rendered.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum total size of the cached bodies, plain and gzipped together.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * How long a rendered body is kept after it was written.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
@@ -0,0 +1,27 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for bulk site creation.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.bulk")
+public class SiteBulkProperties {
+
+    /**
+     * Largest number of sites accepted in one bulk request.
+     */
+    private int maxItems = 500;
+
+    /**
+     * Number of inserts sent to the database in one JDBC batch.
+     */
+    private int batchSize = 50;
+
+    /**
+     * Number of sites from which configs are validated in parallel.
+     */
+    private int parallelValidationThreshold = 64;
+}
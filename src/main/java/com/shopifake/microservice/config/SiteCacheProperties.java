@@ -0,0 +1,29 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-process site lookup cache.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.cache")
+public class SiteCacheProperties {
+
+    /**
+     * Whether site lookups are served from the in-process cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of sites held in the cache.
+     */
+    private long maximumSize = 10_000L;
+
+    /**
+     * How long a cached site is served before it is reloaded from the database.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
@@ -0,0 +1,49 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the site outbox relay and the change feed read from it.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.change-feed")
+public class SiteChangeFeedProperties {
+
+    /**
+     * Interval between relay runs draining the outbox into the feed.
+     */
+    private Duration relayInterval = Duration.ofMillis(500);
+
+    /**
+     * Number of outbox entries relayed in one transaction.
+     */
+    private int relayBatchSize = 100;
+
+    /**
+     * How long relayed changes stay in the feed. Consumers further behind must resynchronize.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Interval between purges of changes past their retention.
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    /**
+     * Number of changes returned when the consumer does not ask for a limit.
+     */
+    private int defaultPageSize = 100;
+
+    /**
+     * Largest number of changes returned at once.
+     */
+    private int maxPageSize = 1000;
+
+    /**
+     * Longest a consumer may wait for new changes in one request.
+     */
+    private Duration maxWait = Duration.ofSeconds(30);
+}
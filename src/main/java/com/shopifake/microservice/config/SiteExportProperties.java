@@ -0,0 +1,20 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for site exports.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.export")
+public class SiteExportProperties {
+
+    /**
+     * Longest time an export may stream for. Applies to the export endpoint only, other async
+     * requests keep the default timeout.
+     */
+    private Duration requestTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,45 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for invalidating the in-process caches of other replicas.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.invalidation")
+public class SiteInvalidationProperties {
+
+    /**
+     * Whether site changes are propagated to the caches of other replicas.
+     */
+    private boolean enabled = true;
+
+    /**
+     * PostgreSQL channel site invalidations are notified on.
+     */
+    private String channel = "site_invalidation";
+
+    /**
+     * Interval between version checks against the change feed, which evict changed sites
+     * while notifications cannot be received.
+     */
+    private Duration versionCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Number of changes read at once by a version check.
+     */
+    private int versionCheckBatchSize = 500;
+
+    /**
+     * How long the listener waits for notifications before checking its connection is still alive.
+     */
+    private Duration receiveTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Delay before reconnecting a listener connection that dropped.
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,22 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for looking up many sites in one call.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.lookup")
+public class SiteLookupProperties {
+
+    /**
+     * Largest number of IDs and slugs accepted in one lookup.
+     */
+    private int maxKeys = 1000;
+
+    /**
+     * Largest number of keys bound to one {@code IN} query.
+     */
+    private int chunkSize = 500;
+}
@@ -0,0 +1,23 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for paginated site listings.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.pagination")
+public class SitePaginationProperties {
+
+    /**
+     * Number of sites returned per page when the caller passes a page token but no size. Listings
+     * requested with neither return every site.
+     */
+    private int defaultPageSize = 100;
+
+    /**
+     * Largest page size a caller may ask for; larger requests are capped.
+     */
+    private int maxPageSize = 500;
+}
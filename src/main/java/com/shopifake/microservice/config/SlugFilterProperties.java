@@ -0,0 +1,35 @@
+package com.shopifake.microservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Bloom filter guarding slug lookups.
+ */
+@Data
+@ConfigurationProperties(prefix = "sites.slug-filter")
+public class SlugFilterProperties {
+
+    /**
+     * Whether lookups of unknown slugs are rejected without querying the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Minimum number of slugs the filter is sized for. The filter is sized for twice
+     * the current number of sites when that is larger.
+     */
+    private long expectedInsertions = 100_000L;
+
+    /**
+     * Target false positive rate, i.e. the share of unknown slugs that still reach the database.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Interval between full rebuilds from the sites table, which shed deleted and renamed slugs.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+}
@@ -1,7 +1,10 @@
 package com.shopifake.microservice.controllers;
 
 import com.shopifake.microservice.dtos.ErrorResponse;
+import com.shopifake.microservice.exceptions.SiteChangeFeedExpiredException;
+import com.shopifake.microservice.exceptions.SitePreconditionFailedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -76,6 +79,78 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handle conditional updates whose If-Match precondition does not hold.
+     *
+     * @param ex the precondition failed exception
+     * @param request the web request
+     * @return error response
+     */
+    @ExceptionHandler(SitePreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            final SitePreconditionFailedException ex,
+            final WebRequest request) {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Precondition Failed")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        log.warn("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Handle change feed cursors pointing before changes already purged.
+     *
+     * @param ex the expired cursor exception
+     * @param request the web request
+     * @return error response
+     */
+    @ExceptionHandler(SiteChangeFeedExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeFeedExpiredException(
+            final SiteChangeFeedExpiredException ex,
+            final WebRequest request) {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.GONE.value())
+                .error("Gone")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        log.warn("Change feed cursor expired: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(errorResponse);
+    }
+
+    /**
+     * Handle updates that lost a race with a concurrent update of the same site.
+     *
+     * @param ex the optimistic locking failure
+     * @param request the web request
+     * @return error response
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            final OptimisticLockingFailureException ex,
+            final WebRequest request) {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message("Site was modified concurrently, reload it and retry")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Handle runtime exceptions.
      *
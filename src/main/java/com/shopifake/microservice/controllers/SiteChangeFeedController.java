@@ -0,0 +1,60 @@
+package com.shopifake.microservice.controllers;
+
+import com.shopifake.microservice.dtos.SiteChangePage;
+import com.shopifake.microservice.services.SiteChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * REST controller for the feed of site changes consumed by downstream services.
+ */
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Site changes", description = "Feed of site mutations in commit order")
+public class SiteChangeFeedController {
+
+    /** The change feed service. */
+    private final SiteChangeFeedService changeFeedService;
+
+    /**
+     * Long-poll the changes after a cursor.
+     *
+     * @param after the position of the last change already processed
+     * @param limit the maximum number of changes
+     * @param waitSeconds how long to wait for changes if there are none yet
+     * @return the changes with the cursor to resume from
+     */
+    @GetMapping
+    @Operation(summary = "Get site changes",
+            description = "Returns the site mutations after a cursor in commit order, waiting for new ones "
+                    + "if there are none yet. Resume from the returned cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes returned, possibly none"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or wait"),
+            @ApiResponse(responseCode = "410", description = "Changes after the cursor were purged")
+    })
+    public ResponseEntity<SiteChangePage> getChanges(
+            @Parameter(description = "Position of the last change already processed, 0 to start from the beginning")
+            @RequestParam(defaultValue = "0") final long after,
+            @Parameter(description = "Maximum number of changes") @RequestParam(required = false) final Integer limit,
+            @Parameter(description = "Seconds to wait for changes if there are none yet")
+            @RequestParam(defaultValue = "0") final long waitSeconds) {
+
+        log.debug("Fetching site changes after {}", after);
+        return ResponseEntity.ok(changeFeedService.getChanges(after, limit, Duration.ofSeconds(waitSeconds)));
+    }
+}
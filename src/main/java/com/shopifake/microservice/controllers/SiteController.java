@@ -1,9 +1,16 @@
 package com.shopifake.microservice.controllers;
 
+import com.shopifake.microservice.cache.RenderedSite;
 import com.shopifake.microservice.dtos.AlternativeSlugSuggestion;
+import com.shopifake.microservice.dtos.BulkCreateSitesRequest;
+import com.shopifake.microservice.dtos.BulkCreateSitesResponse;
+import com.shopifake.microservice.dtos.BulkUpdateSiteStatusRequest;
+import com.shopifake.microservice.dtos.BulkUpdateSiteStatusResponse;
 import com.shopifake.microservice.dtos.CreateSiteRequest;
 import com.shopifake.microservice.dtos.CurrenciesResponse;
 import com.shopifake.microservice.dtos.LanguagesResponse;
+import com.shopifake.microservice.dtos.SiteLookupRequest;
+import com.shopifake.microservice.dtos.SitePage;
 import com.shopifake.microservice.dtos.SiteResponse;
 import com.shopifake.microservice.dtos.SiteSlugResponse;
 import com.shopifake.microservice.dtos.SlugAvailabilityResponse;
@@ -11,16 +18,27 @@ import com.shopifake.microservice.dtos.UpdateSiteRequest;
 import com.shopifake.microservice.dtos.UpdateSiteStatusRequest;
 import com.shopifake.microservice.entities.Currency;
 import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.services.JsonMergePatch;
+import com.shopifake.microservice.services.SiteBulkService;
+import com.shopifake.microservice.services.SiteETag;
+import com.shopifake.microservice.services.SiteFields;
+import com.shopifake.microservice.services.SiteLookupService;
+import com.shopifake.microservice.services.SiteResponseWriter;
 import com.shopifake.microservice.services.SiteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,9 +50,13 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -47,9 +69,20 @@ import java.util.UUID;
 @Tag(name = "Sites", description = "API for managing sites")
 public class SiteController {
 
+    private static final String GZIP = "gzip";
+
     /** The site service for business logic operations. */
     private final SiteService siteService;
 
+    /** Creates sites in bulk. */
+    private final SiteBulkService bulkService;
+
+    /** Looks up many sites at once. */
+    private final SiteLookupService lookupService;
+
+    /** Serializes site responses in either config mode. */
+    private final SiteResponseWriter responseWriter;
+
     /**
      * Create a new site.
      *
@@ -79,44 +112,99 @@ public class SiteController {
         }
     }
 
+    /**
+     * Create several sites at once.
+     *
+     * @param request the sites to create
+     * @param ownerId the owner ID from header
+     * @return one result per requested site, in request order
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Create sites in bulk",
+            description = "Creates several sites at once, reporting the outcome of each site separately")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sites processed, see the per-site results"),
+            @ApiResponse(responseCode = "400", description = "No sites or too many sites requested"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BulkCreateSitesResponse> createSites(
+            @Valid @RequestBody final BulkCreateSitesRequest request,
+            @RequestHeader(value = "X-Owner-Id") final UUID ownerId) {
+
+        log.info("Received request to create {} sites", request.getSites().size());
+        return ResponseEntity.ok(bulkService.createSites(request.getSites(), ownerId));
+    }
+
     /**
      * Get a site by ID.
      *
      * @param siteId the site ID
-     * @return the site response
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @param ifNoneMatch the entity tags the client already holds
+     * @param acceptEncoding the content codings the client accepts
+     * @return the site response, or 304 if the client's copy is current
      */
     @GetMapping("/{siteId}")
     @Operation(summary = "Get site by ID", description = "Retrieves a site by its ID")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Site found"),
+            @ApiResponse(responseCode = "200", description = "Site found",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = SiteResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Site not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Site not found")
     })
-    public ResponseEntity<SiteResponse> getSiteById(
-            @Parameter(description = "Site ID") @PathVariable final UUID siteId) {
+    public ResponseEntity<byte[]> getSiteById(
+            @Parameter(description = "Site ID") @PathVariable final UUID siteId,
+            @Parameter(description = "Embed the config as a JSON object instead of a JSON-encoded string")
+            @RequestParam(defaultValue = "false") final boolean rawConfig,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
 
         log.debug("Fetching site with ID: {}", siteId);
-        SiteResponse response = siteService.getSiteById(siteId);
-        return ResponseEntity.ok(response);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = siteService.findSiteETag(siteId)
+                    .map(tag -> rawConfig ? SiteETag.forRawConfig(tag) : tag);
+            if (eTag.isPresent() && SiteETag.matches(ifNoneMatch, eTag.get())) {
+                return notModified(eTag.get());
+            }
+        }
+        return render(siteService.getSiteById(siteId), rawConfig, acceptEncoding);
     }
 
     /**
      * Get a site by slug.
      *
      * @param slug the site slug
-     * @return the site response
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @param ifNoneMatch the entity tags the client already holds
+     * @param acceptEncoding the content codings the client accepts
+     * @return the site response, or 304 if the client's copy is current
      */
     @GetMapping("/slug/{slug}")
     @Operation(summary = "Get site by slug", description = "Retrieves a site by its slug")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Site found"),
+            @ApiResponse(responseCode = "200", description = "Site found",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = SiteResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Site not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Site not found")
     })
-    public ResponseEntity<SiteResponse> getSiteBySlug(
-            @Parameter(description = "Site slug") @PathVariable final String slug) {
+    public ResponseEntity<byte[]> getSiteBySlug(
+            @Parameter(description = "Site slug") @PathVariable final String slug,
+            @Parameter(description = "Embed the config as a JSON object instead of a JSON-encoded string")
+            @RequestParam(defaultValue = "false") final boolean rawConfig,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
 
         log.debug("Fetching site with slug: {}", slug);
-        SiteResponse response = siteService.getSiteBySlug(slug);
-        return ResponseEntity.ok(response);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = siteService.findSiteETagBySlug(slug)
+                    .map(tag -> rawConfig ? SiteETag.forRawConfig(tag) : tag);
+            if (eTag.isPresent() && SiteETag.matches(ifNoneMatch, eTag.get())) {
+                return notModified(eTag.get());
+            }
+        }
+        return render(siteService.getSiteBySlug(slug), rawConfig, acceptEncoding);
     }
 
     /**
@@ -144,6 +232,7 @@ public class SiteController {
      *
      * @param siteId the site ID
      * @param request the update request
+     * @param ifMatch the entity tags the site must still have, if any
      * @return the updated site response
      */
     @PatchMapping("/{siteId}")
@@ -151,15 +240,49 @@ public class SiteController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Site updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data or site not found"),
-            @ApiResponse(responseCode = "404", description = "Site not found")
+            @ApiResponse(responseCode = "404", description = "Site not found"),
+            @ApiResponse(responseCode = "409", description = "Site modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Site no longer matches the If-Match ETag")
     })
     public ResponseEntity<SiteResponse> updateSite(
             @Parameter(description = "Site ID") @PathVariable final UUID siteId,
-            @Valid @RequestBody final UpdateSiteRequest request) {
+            @Valid @RequestBody final UpdateSiteRequest request,
+            @Parameter(description = "Only update if the site still has one of these ETags")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
 
         log.info("Updating site: {}", siteId);
-        SiteResponse response = siteService.updateSite(siteId, request);
-        return ResponseEntity.ok(response);
+        SiteResponse response = siteService.updateSite(siteId, request, ifMatch);
+        return ResponseEntity.ok().eTag(SiteETag.of(response)).body(response);
+    }
+
+    /**
+     * Apply a JSON merge patch to the configuration of a site.
+     *
+     * @param siteId the site ID
+     * @param mergePatch the merge patch (RFC 7396)
+     * @param ifMatch the entity tags the site must still have, if any
+     * @return the updated site response
+     */
+    @PatchMapping(value = "/{siteId}/config",
+            consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch site config",
+            description = "Applies a JSON merge patch (RFC 7396) to the site configuration")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Site config patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid patch, invalid merged config or site not found"),
+            @ApiResponse(responseCode = "404", description = "Site not found"),
+            @ApiResponse(responseCode = "409", description = "Site modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Site no longer matches the If-Match ETag")
+    })
+    public ResponseEntity<SiteResponse> patchSiteConfig(
+            @Parameter(description = "Site ID") @PathVariable final UUID siteId,
+            @RequestBody final String mergePatch,
+            @Parameter(description = "Only update if the site still has one of these ETags")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+
+        log.info("Patching config for site: {}", siteId);
+        SiteResponse response = siteService.patchSiteConfig(siteId, mergePatch, ifMatch);
+        return ResponseEntity.ok().eTag(SiteETag.of(response)).body(response);
     }
 
     /**
@@ -167,6 +290,7 @@ public class SiteController {
      *
      * @param siteId the site ID
      * @param request the status update request
+     * @param ifMatch the entity tags the site must still have, if any
      * @return the updated site response
      */
     @PatchMapping("/{siteId}/status")
@@ -174,39 +298,116 @@ public class SiteController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Site status updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid status or site not found"),
-            @ApiResponse(responseCode = "404", description = "Site not found")
+            @ApiResponse(responseCode = "404", description = "Site not found"),
+            @ApiResponse(responseCode = "412", description = "Site no longer matches the If-Match ETag")
     })
     public ResponseEntity<SiteResponse> updateSiteStatus(
             @Parameter(description = "Site ID") @PathVariable final UUID siteId,
-            @Valid @RequestBody final UpdateSiteStatusRequest request) {
+            @Valid @RequestBody final UpdateSiteStatusRequest request,
+            @Parameter(description = "Only update if the site still has one of these ETags")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
 
         log.info("Updating status for site: {}", siteId);
-        SiteResponse response = siteService.updateSiteStatus(siteId, request.getStatus());
-        return ResponseEntity.ok(response);
+        SiteResponse response = siteService.updateSiteStatus(siteId, request.getStatus(), ifMatch);
+        return ResponseEntity.ok().eTag(SiteETag.of(response)).body(response);
+    }
+
+    /**
+     * Update the status of several sites at once.
+     *
+     * @param request the site IDs and the new status
+     * @return the sites updated, not found and rejected
+     */
+    @PatchMapping("/status")
+    @Operation(summary = "Update the status of sites in bulk",
+            description = "Moves several sites to the same status, reporting the sites not found or rejected")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses processed, see the per-site outcome"),
+            @ApiResponse(responseCode = "400", description = "Invalid status, or no sites or too many sites")
+    })
+    public ResponseEntity<BulkUpdateSiteStatusResponse> updateSiteStatuses(
+            @Valid @RequestBody final BulkUpdateSiteStatusRequest request) {
+
+        log.info("Updating status of {} sites", request.getSiteIds().size());
+        return ResponseEntity.ok(bulkService.updateStatuses(request.getSiteIds(), request.getStatus()));
     }
 
     /**
-     * Get all sites for an owner.
+     * Get the sites of an owner, all of them unless a page token or size is given. The token of the
+     * next page, if any, is returned in a {@code Link} header with relation {@code next}.
      *
      * @param ownerId the owner ID
+     * @param fields comma-separated fields to return, or {@code summary}; all fields if omitted
+     * @param pageToken the token of the page to read, from a previous {@code next} link
+     * @param pageSize the number of sites per page
      * @return list of site responses
      */
     @GetMapping
-    @Operation(summary = "Get sites by owner", description = "Retrieves all sites owned by a specific owner")
+    @Operation(summary = "Get sites by owner",
+            description = "Retrieves the sites owned by a specific owner, oldest first. All sites are returned "
+                    + "unless pageToken or pageSize is given; the next page is then linked in a Link header "
+                    + "with rel=\"next\"")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Sites retrieved successfully"),
-            @ApiResponse(responseCode = "400", description = "Owner ID is required")
+            @ApiResponse(responseCode = "200", description = "Sites retrieved successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = SiteResponse.class)))),
+            @ApiResponse(responseCode = "400",
+                    description = "Owner ID is required, or a field, page token or page size is invalid")
     })
-    public ResponseEntity<List<SiteResponse>> getSitesByOwner(
-            @Parameter(description = "Owner ID") @RequestParam(required = true) final UUID ownerId) {
+    public ResponseEntity<byte[]> getSitesByOwner(
+            @Parameter(description = "Owner ID") @RequestParam(required = true) final UUID ownerId,
+            @Parameter(description = "Fields to return, comma-separated, or 'summary' for all but description "
+                    + "and config") @RequestParam(required = false) final String fields,
+            @Parameter(description = "Token of the page to read, from the next link of the previous page")
+            @RequestParam(required = false) final String pageToken,
+            @Parameter(description = "Number of sites per page; all sites are returned if neither this nor "
+                    + "pageToken is given")
+            @RequestParam(required = false) final Integer pageSize) {
         
         if (ownerId == null) {
             log.warn("Owner ID is required");
             return ResponseEntity.badRequest().build();
         }
-        log.debug("Fetching sites for owner: {}", ownerId);
-        List<SiteResponse> responses = siteService.getSitesByOwner(ownerId);
-        return ResponseEntity.ok(responses);
+        Set<String> selected = SiteFields.parse(fields);
+        log.debug("Fetching sites for owner: {} with fields {}", ownerId, selected);
+        SitePage page = SiteFields.isSummary(selected)
+                ? siteService.getSiteSummariesByOwner(ownerId, pageToken, pageSize)
+                : siteService.getSitesByOwner(ownerId, pageToken, pageSize);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.getNextPageToken() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("pageToken", page.getNextPageToken())
+                    .toUriString();
+            builder.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return builder.body(responseWriter.writeFields(page.getSites(), selected));
+    }
+
+    /**
+     * Look up many sites at once by ID or slug. Keys matching no site are listed as missing.
+     *
+     * @param request the site IDs and slugs to look up
+     * @param fields comma-separated fields to return, or {@code summary}; all fields if omitted
+     * @return the sites found keyed by the requested ID or slug, and the missing keys
+     */
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up sites",
+            description = "Retrieves many sites by ID or slug in one call, listing the keys matching no site")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sites looked up"),
+            @ApiResponse(responseCode = "400", description = "No keys, too many keys or an unknown field")
+    })
+    public ResponseEntity<byte[]> lookupSites(
+            @RequestBody final SiteLookupRequest request,
+            @Parameter(description = "Fields to return, comma-separated, or 'summary' for all but description "
+                    + "and config") @RequestParam(required = false) final String fields) {
+
+        Set<String> selected = SiteFields.parse(fields);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(responseWriter.writeFields(
+                        lookupService.lookup(request.getIds(), request.getSlugs(), SiteFields.isSummary(selected)),
+                        selected));
     }
 
     /**
@@ -327,5 +528,67 @@ public class SiteController {
             throw e;
         }
     }
-}
 
+    /**
+     * Render a site response with its entity tag, gzip-encoded if a gzipped body is available and accepted.
+     *
+     * @param response the site response
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @param acceptEncoding the content codings the client accepts
+     * @return the serialized site response
+     */
+    private ResponseEntity<byte[]> render(final SiteResponse response, final boolean rawConfig,
+                                          final String acceptEncoding) {
+        RenderedSite rendered = responseWriter.render(response, rawConfig);
+        String eTag = SiteETag.of(response);
+        if (rawConfig) {
+            eTag = SiteETag.forRawConfig(eTag);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (!rendered.hasGzipBody()) {
+            return builder.eTag(eTag).body(rendered.getBody());
+        }
+
+        builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return builder.eTag(SiteETag.forGzip(eTag))
+                    .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .body(rendered.getGzipBody());
+        }
+        return builder.eTag(eTag).body(rendered.getBody());
+    }
+
+    /**
+     * Answer that the client's copy is current. Varies by {@code Accept-Encoding} like the full response,
+     * so caches do not serve it to clients that negotiated another coding.
+     *
+     * @param eTag the entity tag of the current copy
+     * @return the 304 response
+     */
+    private static ResponseEntity<byte[]> notModified(final String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    /**
+     * Check whether an {@code Accept-Encoding} header allows gzip.
+     *
+     * @param acceptEncoding the header value, may be null
+     * @return true if gzip is listed without {@code q=0}
+     */
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1
+                        || !parts[1].replace(" ", "").toLowerCase(Locale.ROOT).matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.shopifake.microservice.controllers;
+
+import com.shopifake.microservice.config.SiteExportProperties;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.services.SiteExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for administrative bulk operations on sites.
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sites administration", description = "API for bulk operations on sites")
+public class SiteExportController {
+
+    /** The export service writing sites as NDJSON. */
+    private final SiteExportService exportService;
+
+    /** The export configuration. */
+    private final SiteExportProperties properties;
+
+    /**
+     * Export sites as newline-delimited JSON.
+     *
+     * @param status the status to match, or null for any
+     * @param updatedFrom the inclusive lower bound of the last modification time
+     * @param updatedTo the exclusive upper bound of the last modification time
+     * @param request the current request, whose async timeout is raised for the export
+     * @return the streamed export, one site response per line
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export sites",
+            description = "Streams every site matching the filters as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid status or time range")
+    })
+    public ResponseEntity<StreamingResponseBody> exportSites(
+            @Parameter(description = "Status to match") @RequestParam(required = false) final String status,
+            @Parameter(description = "Inclusive lower bound of the last modification time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final LocalDateTime updatedFrom,
+            @Parameter(description = "Exclusive upper bound of the last modification time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final LocalDateTime updatedTo,
+            final HttpServletRequest request) {
+
+        SiteStatus siteStatus = parseStatus(status);
+        if (updatedFrom != null && updatedTo != null && !updatedFrom.isBefore(updatedTo)) {
+            throw new IllegalArgumentException("updatedFrom must be before updatedTo");
+        }
+        log.info("Starting site export (status: {}, updated from {} to {})", siteStatus, updatedFrom, updatedTo);
+        // Only exports stream for minutes, so the timeout is raised here rather than for every async request
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+                .setTimeout(properties.getRequestTimeout().toMillis());
+        StreamingResponseBody body = output -> exportService.export(siteStatus, updatedFrom, updatedTo, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Parse an optional status filter.
+     *
+     * @param status the status name, may be null
+     * @return the status, or null for any
+     * @throws IllegalArgumentException if the status is unknown
+     */
+    private static SiteStatus parseStatus(final String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return SiteStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid status: {}", status);
+            throw new IllegalArgumentException("Invalid status: " + status, e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.shopifake.microservice.diagnostics;
+
+import com.shopifake.microservice.config.PinningMonitorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, which happens when a virtual thread blocks
+ * inside a {@code synchronized} block or a native frame. A pinned thread holds its carrier for the
+ * whole wait, so pinning on a hot path caps throughput at the number of carriers.
+ *
+ * <p>Pinning events are streamed from JFR. Each one is timed under {@code sites.virtual-threads.pinned},
+ * tagged with the innermost frame of this application on the pinned stack, and logged with that stack.</p>
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.shopifake.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final PinningMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private volatile RecordingStream recording;
+
+    /**
+     * Constructor.
+     *
+     * @param properties the monitor configuration
+     * @param meterRegistry the registry pinning timers are bound to
+     */
+    public VirtualThreadPinningMonitor(final PinningMonitorProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start streaming pinning events. JFR is not available on every runtime, e.g. some native
+     * images, in which case pinning is simply not reported.
+     */
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Virtual thread pinning monitor disabled");
+            return;
+        }
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(properties.getThreshold()).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::record);
+            stream.startAsync();
+            recording = stream;
+            log.info("Virtual thread pinning monitor started (threshold={})", properties.getThreshold());
+        } catch (RuntimeException e) {
+            log.warn("JFR unavailable, virtual thread pinning is not monitored", e);
+        }
+    }
+
+    /**
+     * Stop streaming pinning events.
+     */
+    @Override
+    public void stop() {
+        RecordingStream stream = recording;
+        recording = null;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Check whether pinning events are being streamed.
+     *
+     * @return true if the monitor is running
+     */
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * Record one pinning event.
+     *
+     * @param event the JFR event
+     */
+    void record(final RecordedEvent event) {
+        String pinnedAt = pinnedAt(event.getStackTrace());
+        Timer.builder("sites.virtual-threads.pinned")
+                .description("Time virtual threads stayed pinned to their carrier thread")
+                .tag("frame", pinnedAt)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms in {}:{}", event.getDuration().toMillis(), pinnedAt,
+                describe(event.getStackTrace()));
+    }
+
+    /**
+     * Name the innermost frame of this application on a pinned stack, or the top frame when none
+     * belongs to it. Line numbers are left out to keep the number of tag values bounded.
+     *
+     * @param stackTrace the stack of the pinned thread, may be null
+     * @return the frame as {@code SimpleClassName.method}
+     */
+    static String pinnedAt(final RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame frame = frames.stream()
+                .filter(candidate -> candidate.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        String type = frame.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+    }
+
+    private static String describe(final RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining());
+    }
+}
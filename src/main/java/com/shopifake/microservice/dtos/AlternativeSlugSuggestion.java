@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * DTO for suggesting alternative slugs when the requested slug is already taken.
  */
@@ -17,5 +19,10 @@ public class AlternativeSlugSuggestion {
     private String originalSlug;
     private String suggestedSlug;
     private String message;
+
+    /**
+     * Available slugs ranked by preference, starting with the suggested slug.
+     */
+    private List<String> alternatives;
 }
 
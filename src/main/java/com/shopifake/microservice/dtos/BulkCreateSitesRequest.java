@@ -0,0 +1,23 @@
+package com.shopifake.microservice.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for creating several sites at once. Each site is validated on its own and reported
+ * in the per-item results.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateSitesRequest {
+
+    @NotEmpty(message = "At least one site is required")
+    private List<CreateSiteRequest> sites;
+}
@@ -0,0 +1,22 @@
+package com.shopifake.microservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk site creation, with one result per requested site, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateSitesResponse {
+
+    private int created;
+    private int failed;
+    private List<BulkSiteResult> results;
+}
@@ -0,0 +1,33 @@
+package com.shopifake.microservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one site of a bulk creation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSiteResult {
+
+    /**
+     * Position of the site in the request.
+     */
+    private int index;
+
+    private boolean created;
+
+    /**
+     * The created site, or null if it was not created.
+     */
+    private SiteResponse site;
+
+    /**
+     * Why the site was not created, or null if it was.
+     */
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.shopifake.microservice.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for moving several sites to the same status at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateSiteStatusRequest {
+
+    @NotEmpty(message = "At least one site ID is required")
+    private List<UUID> siteIds;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+}
@@ -0,0 +1,31 @@
+package com.shopifake.microservice.dtos;
+
+import com.shopifake.microservice.entities.SiteStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for the outcome of a bulk status update: the sites moved to the new status, the IDs matching
+ * no site, and the sites whose current status does not allow the transition.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateSiteStatusResponse {
+
+    private SiteStatus status;
+    private List<UUID> updated;
+    private List<UUID> notFound;
+
+    /**
+     * Current status of each site left unchanged because the transition is not allowed.
+     */
+    private Map<UUID, SiteStatus> rejected;
+}
@@ -0,0 +1,25 @@
+package com.shopifake.microservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of the change feed, with the cursor to resume from.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteChangePage {
+
+    private List<SiteChangeResponse> changes;
+
+    /**
+     * Position of the last change returned, or the requested cursor if there were none.
+     */
+    private long cursor;
+}
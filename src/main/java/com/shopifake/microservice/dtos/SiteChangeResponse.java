@@ -0,0 +1,40 @@
+package com.shopifake.microservice.dtos;
+
+import com.shopifake.microservice.events.SiteChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for one site mutation in the change feed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteChangeResponse {
+
+    /**
+     * Position in the feed, increasing in commit order.
+     */
+    private long position;
+
+    private UUID siteId;
+    private SiteChangeType type;
+
+    /**
+     * Slug the site had before the change, or null for created and deleted sites.
+     */
+    private String previousSlug;
+
+    /**
+     * Slug the site has after the change, or null for deleted sites.
+     */
+    private String slug;
+
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,22 @@
+package com.shopifake.microservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for looking up many sites at once by ID, by slug or both.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteLookupRequest {
+
+    private List<UUID> ids;
+    private List<String> slugs;
+}
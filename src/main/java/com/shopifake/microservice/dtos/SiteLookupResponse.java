@@ -0,0 +1,26 @@
+package com.shopifake.microservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for the sites found by a lookup, keyed by the ID or slug they were requested with, in request order.
+ * Keys matching no site are listed as missing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteLookupResponse {
+
+    private Map<UUID, SiteResponse> sitesById;
+    private Map<String, SiteResponse> sitesBySlug;
+    private List<UUID> missingIds;
+    private List<String> missingSlugs;
+}
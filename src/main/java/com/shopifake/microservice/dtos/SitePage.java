@@ -0,0 +1,25 @@
+package com.shopifake.microservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of sites, with the token to fetch the next one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SitePage {
+
+    private List<SiteResponse> sites;
+
+    /**
+     * Opaque token of the next page, or null on the last page.
+     */
+    private String nextPageToken;
+}
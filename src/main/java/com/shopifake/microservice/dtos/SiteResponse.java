@@ -31,5 +31,6 @@ public class SiteResponse {
     private String config;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
 
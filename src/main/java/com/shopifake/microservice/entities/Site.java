@@ -8,10 +8,18 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -56,7 +64,28 @@ public class Site {
     @Column(name = "owner_id", nullable = false)
     private UUID ownerId;
 
-    @Column(columnDefinition = "TEXT")
+    /**
+     * Config written before configs were stored encoded. Read until the site is next saved.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @Column(name = "config", columnDefinition = "TEXT")
+    private String legacyConfig;
+
+    /**
+     * Config encoded with {@link SiteConfigCodec}, decoded on first access.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @Column(name = "config_data", columnDefinition = "BYTEA")
+    private byte[] configData;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
     private String config;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -65,6 +94,55 @@ public class Site {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Optimistic lock version, incremented on every update. Null until the site is first persisted.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Get the config JSON, decoding the stored bytes on first access.
+     *
+     * @return the config JSON, or null if the site has none
+     */
+    public String getConfig() {
+        if (config == null) {
+            config = configData != null ? SiteConfigCodec.decode(configData) : legacyConfig;
+        }
+        return config;
+    }
+
+    /**
+     * Set the config JSON, encoding it for storage.
+     *
+     * @param config the config JSON
+     */
+    public void setConfig(final String config) {
+        this.config = config;
+        this.configData = SiteConfigCodec.encode(config);
+        this.legacyConfig = null;
+    }
+
+    /**
+     * Builder accepting the config as JSON.
+     */
+    public static class SiteBuilder {
+
+        /**
+         * Set the config JSON, encoding it for storage.
+         *
+         * @param config the config JSON
+         * @return this builder
+         */
+        public SiteBuilder config(final String config) {
+            this.config = config;
+            this.configData = SiteConfigCodec.encode(config);
+            return this;
+        }
+    }
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,41 @@
+package com.shopifake.microservice.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row tracking the change feed. Relays lock it while assigning feed positions,
+ * so positions become visible in the order they are assigned.
+ */
+@Entity
+@Table(name = "site_change_feed")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteChangeFeedState {
+
+    /**
+     * ID of the only row.
+     */
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    /**
+     * Last feed position assigned, 0 before the first change is relayed.
+     */
+    @Column(name = "last_position", nullable = false)
+    private long lastPosition;
+
+    /**
+     * Entries up to this position were purged, so cursors before it can no longer be resumed.
+     */
+    @Column(name = "purged_through", nullable = false)
+    private long purgedThrough;
+}
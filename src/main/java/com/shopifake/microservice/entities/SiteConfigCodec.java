@@ -0,0 +1,159 @@
+package com.shopifake.microservice.entities;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Storage format of site configs.
+ *
+ * <p>The first byte tells how the rest is encoded: {@link #PLAIN} UTF-8, or {@link #DEFLATE}
+ * followed by the UTF-8 length as a 4-byte big-endian int and the deflated bytes. Configs
+ * are only compressed from {@link #COMPRESSION_THRESHOLD} bytes on, and only if that makes
+ * them smaller.</p>
+ */
+public final class SiteConfigCodec {
+
+    /**
+     * Header of a config stored as plain UTF-8.
+     */
+    public static final byte PLAIN = 0;
+
+    /**
+     * Header of a config stored deflated.
+     */
+    public static final byte DEFLATE = 1;
+
+    /**
+     * Size in UTF-8 bytes from which configs are compressed.
+     */
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    private static final int DEFLATE_HEADER_LENGTH = 5;
+
+    private static final DistributionSummary COMPRESSION_RATIO = DistributionSummary
+            .builder("sites.config.compression.ratio")
+            .description("Ratio of plain to stored size of compressed site configs")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter DECOMPRESSIONS = Counter
+            .builder("sites.config.decompressions")
+            .description("Number of site configs decompressed on read")
+            .register(Metrics.globalRegistry);
+
+    private SiteConfigCodec() {
+    }
+
+    /**
+     * Encode a config for storage.
+     *
+     * @param config the config JSON, may be null
+     * @return the stored bytes, or null for a null config
+     */
+    public static byte[] encode(final String config) {
+        if (config == null) {
+            return null;
+        }
+        byte[] plain = config.getBytes(StandardCharsets.UTF_8);
+        if (plain.length >= COMPRESSION_THRESHOLD) {
+            byte[] deflated = deflate(plain);
+            if (deflated != null) {
+                COMPRESSION_RATIO.record((double) plain.length / deflated.length);
+                return deflated;
+            }
+        }
+        byte[] encoded = new byte[plain.length + 1];
+        encoded[0] = PLAIN;
+        System.arraycopy(plain, 0, encoded, 1, plain.length);
+        return encoded;
+    }
+
+    /**
+     * Decode a stored config.
+     *
+     * @param encoded the stored bytes, may be null
+     * @return the config JSON, or null if nothing is stored
+     * @throws IllegalStateException if the stored bytes are corrupt
+     */
+    public static String decode(final byte[] encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        if (encoded.length == 0) {
+            throw new IllegalStateException("Stored site config has no header");
+        }
+        return switch (encoded[0]) {
+            case PLAIN -> new String(encoded, 1, encoded.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE -> new String(inflate(encoded), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("Unknown site config encoding: " + encoded[0]);
+        };
+    }
+
+    /**
+     * Deflate a config, prefixed with its header and plain length.
+     *
+     * @return the encoded config, or null if it would not be smaller than the plain encoding
+     */
+    private static byte[] deflate(final byte[] plain) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            byte[] buffer = new byte[plain.length + 1];
+            ByteBuffer.wrap(buffer).put(DEFLATE).putInt(plain.length);
+            int length = DEFLATE_HEADER_LENGTH;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return deflater.finished() ? Arrays.copyOf(buffer, length) : null;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflate a config stored with the {@link #DEFLATE} header.
+     */
+    private static byte[] inflate(final byte[] encoded) {
+        if (encoded.length < DEFLATE_HEADER_LENGTH) {
+            throw new IllegalStateException("Stored site config is truncated");
+        }
+        int plainLength = ByteBuffer.wrap(encoded, 1, 4).getInt();
+        if (plainLength < 0) {
+            throw new IllegalStateException("Stored site config is corrupt");
+        }
+        byte[] plain = new byte[plainLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(encoded, DEFLATE_HEADER_LENGTH, encoded.length - DEFLATE_HEADER_LENGTH);
+            byte[] overflow = new byte[1];
+            int length = 0;
+            while (!inflater.finished()) {
+                int inflated = length < plain.length
+                        ? inflater.inflate(plain, length, plain.length - length)
+                        : inflater.inflate(overflow);
+                boolean stalled = inflated == 0 && (inflater.needsInput() || inflater.needsDictionary());
+                if (stalled || (length == plain.length && inflated > 0)) {
+                    throw new IllegalStateException("Stored site config is corrupt");
+                }
+                length += inflated;
+            }
+            if (length != plain.length) {
+                throw new IllegalStateException("Stored site config is corrupt");
+            }
+            DECOMPRESSIONS.increment();
+            return plain;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Stored site config is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.shopifake.microservice.entities;
+
+import com.shopifake.microservice.events.SiteChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A site mutation recorded in the same transaction as the mutation itself, waiting to be relayed
+ * to the change feed or already part of it.
+ */
+@Entity
+@Table(name = "site_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteOutboxEntry {
+
+    /**
+     * Identifier. Drawn in blocks from a sequence, so entries of one transaction are inserted in JDBC
+     * batches, but each replica draws its own blocks: IDs follow neither insertion nor commit order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "site_outbox_seq")
+    @SequenceGenerator(name = "site_outbox_seq", sequenceName = "site_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Order in which entries were inserted, generated by the database as each row is inserted.
+     * Every site mutation locks the site row before its entry is inserted, so the entries of one
+     * site are written in the order their transactions commit.
+     */
+    @Column(name = "write_order", insertable = false, updatable = false,
+            columnDefinition = "BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL")
+    private Long writeOrder;
+
+    @Column(name = "site_id", nullable = false)
+    private UUID siteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 50)
+    private SiteChangeType changeType;
+
+    @Column(name = "previous_slug", length = 255)
+    private String previousSlug;
+
+    @Column(length = 255)
+    private String slug;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * Position in the change feed, assigned by the relay in commit order. Null until relayed.
+     */
+    @Column(name = "feed_position")
+    private Long feedPosition;
+
+    @Column(name = "relayed_at")
+    private LocalDateTime relayedAt;
+}
@@ -1,5 +1,8 @@
 package com.shopifake.microservice.entities;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enumeration representing the possible statuses of a site.
  */
@@ -18,6 +21,15 @@ public enum SiteStatus {
     /**
      * Site is disabled, not accessible.
      */
-    DISABLED,
+    DISABLED;
+
+    /**
+     * Get the statuses a site may move to this status from. Active and disabled sites never go back to draft.
+     *
+     * @return the allowed previous statuses
+     */
+    public Set<SiteStatus> predecessors() {
+        return this == DRAFT ? EnumSet.of(DRAFT) : EnumSet.allOf(SiteStatus.class);
+    }
 }
 
@@ -0,0 +1,32 @@
+package com.shopifake.microservice.events;
+
+/**
+ * Enumeration of the kinds of site mutations.
+ */
+public enum SiteChangeType {
+
+    /**
+     * Site was created.
+     */
+    CREATED,
+
+    /**
+     * Site fields were updated.
+     */
+    UPDATED,
+
+    /**
+     * Site slug was changed, possibly along with other fields.
+     */
+    RENAMED,
+
+    /**
+     * Site status was changed.
+     */
+    STATUS_CHANGED,
+
+    /**
+     * Site was deleted.
+     */
+    DELETED
+}
@@ -0,0 +1,45 @@
+package com.shopifake.microservice.events;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Application event published by the site service whenever a site is mutated.
+ *
+ * <p>Listeners run in two phases of the surrounding transaction:</p>
+ * <ul>
+ *     <li>Before commit, inside the transaction: {@code SiteOutboxWriter} writes the outbox entry,
+ *     {@code SlugMembershipFilter} adds the new slug and {@code SiteInvalidationPublisher} sends the
+ *     {@code NOTIFY}. A failure in any of them rolls the change back.</li>
+ *     <li>After commit: {@code SiteCache} and {@code RenderedSiteCache} evict the site, so a concurrent
+ *     read cannot cache the old copy again. Their failures no longer affect the change.</li>
+ * </ul>
+ *
+ * <p>A listener that must not lose the change, or must not act on a change that rolls back, has to
+ * pick its phase accordingly.</p>
+ */
+@Value
+@Builder
+public class SiteChangedEvent {
+
+    UUID siteId;
+    SiteChangeType type;
+
+    /**
+     * Slug the site had before the change, or null for newly created sites.
+     */
+    String previousSlug;
+
+    /**
+     * Slug the site has after the change, or null for deleted sites.
+     */
+    String slug;
+
+    /**
+     * Whether the publisher already wrote the change to the outbox, e.g. in the JDBC batches of a
+     * bulk insert, so it is not written again.
+     */
+    boolean recorded;
+}
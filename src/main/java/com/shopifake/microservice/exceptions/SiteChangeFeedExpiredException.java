@@ -0,0 +1,19 @@
+package com.shopifake.microservice.exceptions;
+
+/**
+ * Thrown when a change feed cursor points before changes already purged, so the consumer
+ * would miss changes if it resumed from there.
+ */
+public class SiteChangeFeedExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param message the error message
+     */
+    public SiteChangeFeedExpiredException(final String message) {
+        super(message);
+    }
+}
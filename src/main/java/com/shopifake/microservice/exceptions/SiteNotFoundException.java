@@ -0,0 +1,32 @@
+package com.shopifake.microservice.exceptions;
+
+/**
+ * Thrown when a site lookup finds nothing.
+ *
+ * <p>Not-found lookups are routine on the public slug endpoint, so this exception
+ * does not capture a stack trace. It extends IllegalArgumentException so it is
+ * reported like every other lookup failure.</p>
+ */
+public class SiteNotFoundException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param message the error message
+     */
+    public SiteNotFoundException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Skip stack trace capture.
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
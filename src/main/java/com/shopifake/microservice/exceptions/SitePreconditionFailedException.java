@@ -0,0 +1,19 @@
+package com.shopifake.microservice.exceptions;
+
+/**
+ * Thrown when a conditional site update finds the site at a version other than the one the client
+ * expected in its {@code If-Match} header.
+ */
+public class SitePreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param message the error message
+     */
+    public SitePreconditionFailedException(final String message) {
+        super(message);
+    }
+}
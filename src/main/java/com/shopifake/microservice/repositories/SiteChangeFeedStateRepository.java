@@ -0,0 +1,28 @@
+package com.shopifake.microservice.repositories;
+
+import com.shopifake.microservice.entities.SiteChangeFeedState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the state of the change feed.
+ */
+@Repository
+public interface SiteChangeFeedStateRepository extends JpaRepository<SiteChangeFeedState, Integer> {
+
+    /**
+     * Find the feed state and lock it until the transaction ends.
+     *
+     * @param id the state row ID
+     * @return Optional containing the locked state if the row exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM SiteChangeFeedState f WHERE f.id = :id")
+    Optional<SiteChangeFeedState> findForUpdate(@Param("id") int id);
+}
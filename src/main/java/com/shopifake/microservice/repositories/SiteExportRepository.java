@@ -0,0 +1,24 @@
+package com.shopifake.microservice.repositories;
+
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Export queries of {@link SiteRepository}, built from the filters actually given.
+ */
+public interface SiteExportRepository {
+
+    /**
+     * Stream the sites matching optional filters, forward only. Must be consumed inside a transaction,
+     * detaching each site once processed.
+     *
+     * @param status the status to match, or null for any
+     * @param updatedFrom the inclusive lower bound of the last modification time, or null
+     * @param updatedTo the exclusive upper bound of the last modification time, or null
+     * @return stream of the matching sites
+     */
+    Stream<Site> streamForExport(SiteStatus status, LocalDateTime updatedFrom, LocalDateTime updatedTo);
+}
@@ -0,0 +1,59 @@
+package com.shopifake.microservice.repositories;
+
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Builds export queries with a condition per filter given, rather than {@code :param IS NULL OR ...}
+ * conditions: those leave PostgreSQL to infer the type of untyped null parameters, and a prepared
+ * statement planned for any combination of filters cannot use an index on any of them.
+ */
+public class SiteExportRepositoryImpl implements SiteExportRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager the shared entity manager
+     */
+    public SiteExportRepositoryImpl(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Stream<Site> streamForExport(final SiteStatus status, final LocalDateTime updatedFrom,
+                                        final LocalDateTime updatedTo) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Site> query = builder.createQuery(Site.class);
+        Root<Site> site = query.from(Site.class);
+        List<Predicate> conditions = new ArrayList<>(3);
+        if (status != null) {
+            conditions.add(builder.equal(site.get("status"), status));
+        }
+        if (updatedFrom != null) {
+            conditions.add(builder.greaterThanOrEqualTo(site.get("updatedAt"), updatedFrom));
+        }
+        if (updatedTo != null) {
+            conditions.add(builder.lessThan(site.get("updatedAt"), updatedTo));
+        }
+        query.select(site).where(conditions.toArray(Predicate[]::new));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,63 @@
+package com.shopifake.microservice.repositories;
+
+import com.shopifake.microservice.entities.SiteOutboxEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the outbox of site mutations and the change feed read from it.
+ */
+@Repository
+public interface SiteOutboxRepository extends JpaRepository<SiteOutboxEntry, Long> {
+
+    /**
+     * Check whether any entry is waiting to be relayed.
+     *
+     * @return true if an entry has no feed position yet
+     */
+    boolean existsByFeedPositionIsNull();
+
+    /**
+     * Find the oldest entries waiting to be relayed.
+     *
+     * @param limit the maximum number of entries
+     * @return the entries without a feed position, in write order
+     */
+    @Query("SELECT e FROM SiteOutboxEntry e WHERE e.feedPosition IS NULL ORDER BY e.writeOrder")
+    List<SiteOutboxEntry> findUnrelayed(Limit limit);
+
+    /**
+     * Find the relayed entries after a feed position.
+     *
+     * @param position the feed position, exclusive
+     * @param limit the maximum number of entries
+     * @return the entries, in feed order
+     */
+    List<SiteOutboxEntry> findByFeedPositionGreaterThanOrderByFeedPosition(long position, Limit limit);
+
+    /**
+     * Find the last feed position relayed before a point in time.
+     *
+     * @param relayedBefore the point in time, exclusive
+     * @return the feed position, or null if nothing was relayed before
+     */
+    @Query("SELECT MAX(e.feedPosition) FROM SiteOutboxEntry e WHERE e.relayedAt < :relayedBefore")
+    Long findLastPositionRelayedBefore(@Param("relayedBefore") LocalDateTime relayedBefore);
+
+    /**
+     * Delete the relayed entries up to a feed position.
+     *
+     * @param position the feed position, inclusive
+     * @return the number of entries deleted
+     */
+    @Modifying
+    @Query("DELETE FROM SiteOutboxEntry e WHERE e.feedPosition <= :position")
+    int deleteRelayedThrough(@Param("position") long position);
+}
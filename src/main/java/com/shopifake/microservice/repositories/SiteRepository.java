@@ -1,18 +1,45 @@
 package com.shopifake.microservice.repositories;
 
 import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Site entity operations.
  */
 @Repository
-public interface SiteRepository extends JpaRepository<Site, UUID> {
+public interface SiteRepository extends JpaRepository<Site, UUID>, SiteExportRepository {
+
+    /**
+     * Columns of {@link SiteSummaryView}.
+     */
+    String SUMMARY_COLUMNS = "s.id AS id, s.name AS name, s.slug AS slug, s.currency AS currency, "
+            + "s.language AS language, s.status AS status, s.ownerId AS ownerId, s.createdAt AS createdAt, "
+            + "s.updatedAt AS updatedAt, s.version AS version";
+
+    /**
+     * Keyset condition selecting the sites after a (createdAt, id) position. A row value comparison,
+     * so the database seeks to the position on the (owner_id, created_at, id) index rather than
+     * filtering every row of the owner before it.
+     */
+    String AFTER_POSITION = " AND (s.createdAt, s.id) > (:createdAt, :id)";
 
     /**
      * Find a site by its slug.
@@ -22,6 +49,24 @@ public interface SiteRepository extends JpaRepository<Site, UUID> {
      */
     Optional<Site> findBySlug(String slug);
 
+    /**
+     * Find the version of a site by ID without loading its config.
+     *
+     * @param id the site ID
+     * @return Optional containing the site version if found
+     */
+    @Query("SELECT s.id AS id, s.version AS version FROM Site s WHERE s.id = :id")
+    Optional<SiteVersionView> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Find the version of a site by slug without loading its config.
+     *
+     * @param slug the site slug
+     * @return Optional containing the site version if found
+     */
+    @Query("SELECT s.id AS id, s.version AS version FROM Site s WHERE s.slug = :slug")
+    Optional<SiteVersionView> findVersionBySlug(@Param("slug") String slug);
+
     /**
      * Check if a site exists with the given slug.
      *
@@ -30,6 +75,115 @@ public interface SiteRepository extends JpaRepository<Site, UUID> {
      */
     boolean existsBySlug(String slug);
 
+    /**
+     * Find which of the given slugs are already taken, in a single query.
+     *
+     * @param slugs the candidate slugs
+     * @return the subset of the candidates used by existing sites
+     */
+    @Query("SELECT s.slug FROM Site s WHERE s.slug IN :slugs")
+    List<String> findExistingSlugs(@Param("slugs") Collection<String> slugs);
+
+    /**
+     * Find the sites with any of the given slugs.
+     *
+     * @param slugs the slugs
+     * @return the sites found, in no particular order
+     */
+    List<Site> findBySlugIn(Collection<String> slugs);
+
+    /**
+     * Find summaries of the sites with any of the given IDs, without loading their description or config.
+     *
+     * @param ids the site IDs
+     * @return the site summaries found, in no particular order
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Site s WHERE s.id IN :ids")
+    List<SiteSummaryView> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Find summaries of the sites with any of the given slugs, without loading their description or config.
+     *
+     * @param slugs the slugs
+     * @return the site summaries found, in no particular order
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Site s WHERE s.slug IN :slugs")
+    List<SiteSummaryView> findSummariesBySlugIn(@Param("slugs") Collection<String> slugs);
+
+    /**
+     * Find the status of a site by ID without loading the full row.
+     *
+     * @param id the site ID
+     * @return Optional containing the site status if found
+     */
+    @Query("SELECT s.id AS id, s.slug AS slug, s.status AS status, s.updatedAt AS updatedAt, "
+            + "s.version AS version FROM Site s WHERE s.id = :id")
+    Optional<SiteStatusView> findStatusById(@Param("id") UUID id);
+
+    /**
+     * Find and lock the statuses of the sites with any of the given IDs without loading the full rows.
+     * The rows stay locked until the calling transaction ends.
+     *
+     * @param ids the site IDs
+     * @return the site statuses found, in no particular order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id AS id, s.slug AS slug, s.status AS status, s.updatedAt AS updatedAt, "
+            + "s.version AS version FROM Site s WHERE s.id IN :ids")
+    List<SiteStatusView> findStatusesForUpdateByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Set the status of a site, only if its current status is one of the allowed predecessors.
+     *
+     * @param id the site ID
+     * @param status the new status
+     * @param predecessors the statuses the site may be in
+     * @param updatedAt the new modification time
+     * @return 1 if the site was updated, 0 if it does not exist or is in another status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Site s SET s.status = :status, s.updatedAt = :updatedAt, s.version = s.version + 1 "
+            + "WHERE s.id = :id AND s.status IN :predecessors")
+    int updateStatus(@Param("id") UUID id, @Param("status") SiteStatus status,
+                     @Param("predecessors") Collection<SiteStatus> predecessors,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Set the status of a site, only if its current status is one of the allowed predecessors and its
+     * version is one of the expected ones.
+     *
+     * @param id the site ID
+     * @param status the new status
+     * @param predecessors the statuses the site may be in
+     * @param versions the versions the site may be at
+     * @param updatedAt the new modification time
+     * @return 1 if the site was updated, 0 if it does not exist, is in another status or at another version
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Site s SET s.status = :status, s.updatedAt = :updatedAt, s.version = s.version + 1 "
+            + "WHERE s.id = :id AND s.status IN :predecessors AND s.version IN :versions")
+    int updateStatusIfVersion(@Param("id") UUID id, @Param("status") SiteStatus status,
+                              @Param("predecessors") Collection<SiteStatus> predecessors,
+                              @Param("versions") Collection<Long> versions,
+                              @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Set the status of the sites with any of the given IDs whose current status is one of the allowed
+     * predecessors.
+     *
+     * @param ids the site IDs
+     * @param status the new status
+     * @param predecessors the statuses the sites may be in
+     * @param updatedAt the new modification time
+     * @return the number of sites updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Site s SET s.status = :status, s.updatedAt = :updatedAt, s.version = s.version + 1 "
+            + "WHERE s.id IN :ids AND s.status IN :predecessors")
+    int updateStatuses(@Param("ids") Collection<UUID> ids, @Param("status") SiteStatus status,
+                       @Param("predecessors") Collection<SiteStatus> predecessors,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
     /**
      * Find all sites owned by a specific owner.
      *
@@ -38,6 +192,54 @@ public interface SiteRepository extends JpaRepository<Site, UUID> {
      */
     List<Site> findByOwnerId(UUID ownerId);
 
+    /**
+     * Find the first sites of an owner, ordered by creation time and ID.
+     *
+     * @param ownerId the owner ID
+     * @param limit the maximum number of sites
+     * @return the first sites of the owner
+     */
+    @Query("SELECT s FROM Site s WHERE s.ownerId = :ownerId ORDER BY s.createdAt, s.id")
+    List<Site> findFirstByOwnerId(@Param("ownerId") UUID ownerId, Limit limit);
+
+    /**
+     * Find the sites of an owner following a position, ordered by creation time and ID.
+     *
+     * @param ownerId the owner ID
+     * @param createdAt the creation time of the last site already returned
+     * @param id the ID of the last site already returned
+     * @param limit the maximum number of sites
+     * @return the next sites of the owner
+     */
+    @Query("SELECT s FROM Site s WHERE s.ownerId = :ownerId" + AFTER_POSITION + " ORDER BY s.createdAt, s.id")
+    List<Site> findByOwnerIdAfter(@Param("ownerId") UUID ownerId, @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") UUID id, Limit limit);
+
+    /**
+     * Find summaries of the first sites of an owner, without loading their description or config.
+     *
+     * @param ownerId the owner ID
+     * @param limit the maximum number of sites
+     * @return the first site summaries of the owner
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Site s WHERE s.ownerId = :ownerId ORDER BY s.createdAt, s.id")
+    List<SiteSummaryView> findFirstSummariesByOwnerId(@Param("ownerId") UUID ownerId, Limit limit);
+
+    /**
+     * Find summaries of the sites of an owner following a position, without loading their description or config.
+     *
+     * @param ownerId the owner ID
+     * @param createdAt the creation time of the last site already returned
+     * @param id the ID of the last site already returned
+     * @param limit the maximum number of sites
+     * @return the next site summaries of the owner
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Site s WHERE s.ownerId = :ownerId" + AFTER_POSITION
+            + " ORDER BY s.createdAt, s.id")
+    List<SiteSummaryView> findSummariesByOwnerIdAfter(@Param("ownerId") UUID ownerId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") UUID id, Limit limit);
+
     /**
      * Count sites owned by a specific owner.
      *
@@ -45,5 +247,16 @@ public interface SiteRepository extends JpaRepository<Site, UUID> {
      * @return the count of sites owned by the owner
      */
     long countByOwnerId(UUID ownerId);
-}
 
+    /**
+     * Stream the slugs of all sites. Must be consumed inside a transaction.
+     *
+     * @return stream of every slug in the table
+     */
+    @Query("SELECT s.slug FROM Site s")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<String> streamAllSlugs();
+}
@@ -0,0 +1,47 @@
+package com.shopifake.microservice.repositories;
+
+import com.shopifake.microservice.entities.SiteStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the status of a site, read without loading the full row.
+ */
+public interface SiteStatusView {
+
+    /**
+     * Get the site ID.
+     *
+     * @return the site ID
+     */
+    UUID getId();
+
+    /**
+     * Get the site slug.
+     *
+     * @return the site slug
+     */
+    String getSlug();
+
+    /**
+     * Get the site status.
+     *
+     * @return the site status
+     */
+    SiteStatus getStatus();
+
+    /**
+     * Get the last modification time.
+     *
+     * @return the last modification time
+     */
+    LocalDateTime getUpdatedAt();
+
+    /**
+     * Get the optimistic lock version.
+     *
+     * @return the version
+     */
+    Long getVersion();
+}
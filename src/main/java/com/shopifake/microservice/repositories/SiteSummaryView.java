@@ -0,0 +1,84 @@
+package com.shopifake.microservice.repositories;
+
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.SiteStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of every column of a site except its description and config, for listings.
+ */
+public interface SiteSummaryView {
+
+    /**
+     * Get the site ID.
+     *
+     * @return the site ID
+     */
+    UUID getId();
+
+    /**
+     * Get the site name.
+     *
+     * @return the site name
+     */
+    String getName();
+
+    /**
+     * Get the site slug.
+     *
+     * @return the site slug
+     */
+    String getSlug();
+
+    /**
+     * Get the site currency.
+     *
+     * @return the site currency
+     */
+    Currency getCurrency();
+
+    /**
+     * Get the site language.
+     *
+     * @return the site language
+     */
+    Language getLanguage();
+
+    /**
+     * Get the site status.
+     *
+     * @return the site status
+     */
+    SiteStatus getStatus();
+
+    /**
+     * Get the owner ID.
+     *
+     * @return the owner ID
+     */
+    UUID getOwnerId();
+
+    /**
+     * Get the creation time.
+     *
+     * @return the creation time
+     */
+    LocalDateTime getCreatedAt();
+
+    /**
+     * Get the last modification time.
+     *
+     * @return the last modification time
+     */
+    LocalDateTime getUpdatedAt();
+
+    /**
+     * Get the optimistic lock version.
+     *
+     * @return the version
+     */
+    Long getVersion();
+}
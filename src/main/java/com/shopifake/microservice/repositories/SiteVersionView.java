@@ -0,0 +1,23 @@
+package com.shopifake.microservice.repositories;
+
+import java.util.UUID;
+
+/**
+ * Projection of the columns that identify a version of a site, read without loading the full row.
+ */
+public interface SiteVersionView {
+
+    /**
+     * Get the site ID.
+     *
+     * @return the site ID
+     */
+    UUID getId();
+
+    /**
+     * Get the optimistic lock version.
+     *
+     * @return the version
+     */
+    Long getVersion();
+}
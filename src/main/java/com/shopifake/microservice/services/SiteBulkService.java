@@ -0,0 +1,424 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.config.SiteBulkProperties;
+import com.shopifake.microservice.dtos.BulkCreateSitesResponse;
+import com.shopifake.microservice.dtos.BulkSiteResult;
+import com.shopifake.microservice.dtos.BulkUpdateSiteStatusResponse;
+import com.shopifake.microservice.dtos.CreateSiteRequest;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.events.SiteChangeType;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import com.shopifake.microservice.repositories.SiteRepository;
+import com.shopifake.microservice.repositories.SiteStatusView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Service creating or updating many sites in one transaction.
+ *
+ * <p>Every site is checked on its own and reported in its own result, so one bad site does not
+ * reject the others. Slugs are checked against the table with a single query, and the sites and
+ * their outbox entries are inserted in JDBC batches of a configurable size. A slug claimed by another
+ * transaction after the check fails the inserts on the unique constraint; the creation is then rolled
+ * back and run again, and the check reports that slug as taken.</p>
+ */
+@Service
+@Slf4j
+public class SiteBulkService {
+
+    private static final SiteStatus DEFAULT_STATUS = SiteStatus.DRAFT;
+
+    /**
+     * Attempts at a bulk creation whose inserts keep colliding with slugs claimed concurrently.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final SiteRepository siteRepository;
+    private final SlugService slugService;
+    private final SiteConfigValidationService configValidationService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SiteBulkProperties properties;
+    private final TransactionTemplate transaction;
+    private final Timer createTimer;
+    private final Counter slugConflicts;
+    private final DistributionSummary requestedSites;
+    private final DistributionSummary failedSites;
+
+    /**
+     * Constructor.
+     *
+     * @param siteRepository the site repository
+     * @param slugService the slug service
+     * @param configValidationService the config validation service
+     * @param validator the Bean Validation validator
+     * @param entityManager the entity manager the sites are persisted with
+     * @param eventPublisher the publisher of site change events
+     * @param properties the bulk creation configuration
+     * @param transactionManager the transaction manager each creation attempt runs in
+     * @param meterRegistry the registry bulk creation metrics are bound to
+     */
+    public SiteBulkService(final SiteRepository siteRepository, final SlugService slugService,
+                           final SiteConfigValidationService configValidationService, final Validator validator,
+                           final EntityManager entityManager, final ApplicationEventPublisher eventPublisher,
+                           final SiteBulkProperties properties, final PlatformTransactionManager transactionManager,
+                           final MeterRegistry meterRegistry) {
+        this.siteRepository = siteRepository;
+        this.slugService = slugService;
+        this.configValidationService = configValidationService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.createTimer = Timer.builder("sites.bulk.create")
+                .description("Time to create a batch of sites")
+                .tag("batch.size", String.valueOf(properties.getBatchSize()))
+                .register(meterRegistry);
+        this.requestedSites = DistributionSummary.builder("sites.bulk.requested")
+                .description("Number of sites per bulk creation")
+                .register(meterRegistry);
+        this.failedSites = DistributionSummary.builder("sites.bulk.failed")
+                .description("Number of sites rejected per bulk creation")
+                .register(meterRegistry);
+        this.slugConflicts = Counter.builder("sites.bulk.slug-conflicts")
+                .description("Number of bulk creations run again after a slug was claimed concurrently")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create several sites for one owner.
+     *
+     * @param requests the sites to create
+     * @param ownerId the owner ID
+     * @return one result per requested site, in request order
+     * @throws IllegalArgumentException if no sites or more than the configured maximum are requested
+     */
+    public BulkCreateSitesResponse createSites(final List<CreateSiteRequest> requests, final UUID ownerId) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one site is required");
+        }
+        if (requests.size() > properties.getMaxItems()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxItems()
+                    + " sites can be created at once");
+        }
+        log.info("Creating {} sites for owner: {}", requests.size(), ownerId);
+        BulkCreateSitesResponse response = createTimer.record(() -> createRetryingConflicts(requests, ownerId));
+        requestedSites.record(requests.size());
+        failedSites.record(response.getFailed());
+        return response;
+    }
+
+    /**
+     * Move several sites to the same status with one update. The sites are locked and their current
+     * statuses read first; sites whose status does not allow the transition are left unchanged and
+     * reported with that status.
+     *
+     * @param siteIds the site IDs
+     * @param status the new status
+     * @return the sites updated, not found and rejected
+     * @throws IllegalArgumentException if the status is invalid, or no sites or more than the configured
+     *         maximum are requested
+     */
+    @Transactional
+    public BulkUpdateSiteStatusResponse updateStatuses(final List<UUID> siteIds, final String status) {
+        Set<UUID> ids = siteIds == null ? Set.of() : siteIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one site ID is required");
+        }
+        if (ids.size() > properties.getMaxItems()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxItems()
+                    + " sites can be updated at once");
+        }
+        SiteStatus newStatus = SiteService.parseStatus(status);
+        log.info("Updating status of {} sites to {}", ids.size(), newStatus);
+
+        // Locked so the transitions decided below still hold when the update runs
+        Map<UUID, SiteStatusView> current = siteRepository.findStatusesForUpdateByIdIn(ids).stream()
+                .collect(Collectors.toMap(SiteStatusView::getId, Function.identity()));
+        Set<SiteStatus> predecessors = newStatus.predecessors();
+
+        List<UUID> updated = new ArrayList<>();
+        List<UUID> notFound = new ArrayList<>();
+        Map<UUID, SiteStatus> rejected = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            SiteStatusView site = current.get(id);
+            if (site == null) {
+                notFound.add(id);
+            } else if (predecessors.contains(site.getStatus())) {
+                updated.add(id);
+            } else {
+                rejected.put(id, site.getStatus());
+            }
+        }
+        if (!updated.isEmpty()) {
+            siteRepository.updateStatuses(updated, newStatus, predecessors, LocalDateTime.now());
+        }
+        for (UUID id : updated) {
+            String slug = current.get(id).getSlug();
+            eventPublisher.publishEvent(SiteChangedEvent.builder()
+                    .siteId(id)
+                    .type(SiteChangeType.STATUS_CHANGED)
+                    .previousSlug(slug)
+                    .slug(slug)
+                    .build());
+        }
+        log.info("Updated status of {} of {} sites to {}", updated.size(), ids.size(), newStatus);
+        return BulkUpdateSiteStatusResponse.builder()
+                .status(newStatus)
+                .updated(updated)
+                .notFound(notFound)
+                .rejected(rejected)
+                .build();
+    }
+
+    /**
+     * Run the creation in its own transaction, again if its inserts collided with a slug claimed since
+     * it was checked.
+     */
+    private BulkCreateSitesResponse createRetryingConflicts(final List<CreateSiteRequest> requests,
+                                                           final UUID ownerId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> create(requests, ownerId));
+            } catch (PersistenceException | DataIntegrityViolationException e) {
+                if (!isSlugConflict(e) || attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                slugConflicts.increment();
+                log.warn("Slug claimed concurrently while creating sites for owner: {}, retrying", ownerId);
+            }
+        }
+    }
+
+    private BulkCreateSitesResponse create(final List<CreateSiteRequest> requests, final UUID ownerId) {
+        int count = requests.size();
+        BulkSiteResult[] results = new BulkSiteResult[count];
+        Site[] sites = new Site[count];
+        LocalDateTime now = LocalDateTime.now();
+
+        // Per-site checks that need no database access; the first site claiming a slug keeps it
+        Map<String, Integer> claimedSlugs = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            try {
+                Site site = toSite(requests.get(i), ownerId, now);
+                Integer claimedBy = claimedSlugs.putIfAbsent(site.getSlug(), i);
+                if (claimedBy != null) {
+                    throw new IllegalArgumentException("Slug already requested by site " + claimedBy
+                            + ": " + site.getSlug());
+                }
+                sites[i] = site;
+            } catch (IllegalArgumentException e) {
+                results[i] = failed(i, e.getMessage());
+            }
+        }
+
+        if (!claimedSlugs.isEmpty()) {
+            Set<String> taken = new HashSet<>(siteRepository.findExistingSlugs(claimedSlugs.keySet()));
+            for (String slug : taken) {
+                int i = claimedSlugs.get(slug);
+                sites[i] = null;
+                results[i] = failed(i, "Slug already taken: " + slug);
+            }
+        }
+
+        validateConfigs(requests, sites, results);
+
+        persist(sites);
+
+        int created = 0;
+        for (int i = 0; i < count; i++) {
+            if (sites[i] != null) {
+                created++;
+                results[i] = BulkSiteResult.builder()
+                        .index(i)
+                        .created(true)
+                        .site(SiteService.mapToResponse(sites[i]))
+                        .build();
+                eventPublisher.publishEvent(created(sites[i]));
+            }
+        }
+
+        log.info("Created {} of {} sites for owner: {}", created, count, ownerId);
+        return BulkCreateSitesResponse.builder()
+                .created(created)
+                .failed(count - created)
+                .results(List.of(results))
+                .build();
+    }
+
+    /**
+     * Check a requested site on its own and build it, without its config.
+     */
+    private Site toSite(final CreateSiteRequest request, final UUID ownerId, final LocalDateTime now) {
+        if (request == null) {
+            throw new IllegalArgumentException("Site is required");
+        }
+        Set<ConstraintViolation<CreateSiteRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        String slug = request.getSlug() == null || request.getSlug().isBlank()
+                ? slugService.generateSlug(request.getName())
+                : slugService.normalizeSlug(request.getSlug());
+
+        Currency currency;
+        try {
+            currency = Currency.valueOf(request.getCurrency().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid currency: " + request.getCurrency(), e);
+        }
+
+        Language language;
+        try {
+            language = Language.valueOf(request.getLanguage().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid language: " + request.getLanguage(), e);
+        }
+
+        return Site.builder()
+                .name(request.getName())
+                .slug(slug)
+                .description(request.getDescription())
+                .currency(currency)
+                .language(language)
+                .status(DEFAULT_STATUS)
+                .ownerId(ownerId)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    /**
+     * Validate the configs of the sites still accepted, in parallel for large requests, and attach them.
+     */
+    private void validateConfigs(final List<CreateSiteRequest> requests, final Site[] sites,
+                                 final BulkSiteResult[] results) {
+        IntStream indexes = IntStream.range(0, sites.length).filter(i -> sites[i] != null);
+        if (sites.length >= properties.getParallelValidationThreshold()) {
+            indexes = indexes.parallel();
+        }
+        List<BulkSiteResult> rejected = indexes.mapToObj(i -> {
+            try {
+                configValidationService.validate(requests.get(i).getConfig());
+                return null;
+            } catch (IllegalArgumentException e) {
+                return failed(i, e.getMessage());
+            }
+        }).filter(result -> result != null).toList();
+
+        for (BulkSiteResult result : rejected) {
+            sites[result.getIndex()] = null;
+            results[result.getIndex()] = result;
+        }
+        for (int i = 0; i < sites.length; i++) {
+            if (sites[i] != null) {
+                sites[i].setConfig(requests.get(i).getConfig());
+            }
+        }
+    }
+
+    /**
+     * Insert the accepted sites and their outbox entries in JDBC batches, flushing and clearing the
+     * persistence context after each batch so it does not grow with the request.
+     */
+    private void persist(final Site[] sites) {
+        int batchSize = properties.getBatchSize();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        List<Site> pending = new ArrayList<>(batchSize);
+        for (Site site : sites) {
+            if (site == null) {
+                continue;
+            }
+            entityManager.persist(site);
+            entityManager.persist(SiteOutboxWriter.toEntry(created(site)));
+            pending.add(site);
+            if (pending.size() == batchSize) {
+                flush(pending);
+            }
+        }
+        flush(pending);
+    }
+
+    private void flush(final List<Site> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        pending.clear();
+    }
+
+    /**
+     * The creation event of a site, whose outbox entry is inserted with the site.
+     */
+    private static SiteChangedEvent created(final Site site) {
+        return SiteChangedEvent.builder()
+                .siteId(site.getId())
+                .type(SiteChangeType.CREATED)
+                .slug(site.getSlug())
+                .recorded(true)
+                .build();
+    }
+
+    /**
+     * Tell whether a failed insert was rejected by a unique constraint, which for new sites can only be
+     * the one on slugs.
+     */
+    private static boolean isSlugConflict(final RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+
+    private static BulkSiteResult failed(final int index, final String error) {
+        return BulkSiteResult.builder()
+                .index(index)
+                .created(false)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.config.SiteChangeFeedProperties;
+import com.shopifake.microservice.dtos.SiteChangePage;
+import com.shopifake.microservice.dtos.SiteChangeResponse;
+import com.shopifake.microservice.entities.SiteChangeFeedState;
+import com.shopifake.microservice.entities.SiteOutboxEntry;
+import com.shopifake.microservice.exceptions.SiteChangeFeedExpiredException;
+import com.shopifake.microservice.repositories.SiteChangeFeedStateRepository;
+import com.shopifake.microservice.repositories.SiteOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves the change feed: site mutations in commit order, read after a cursor, optionally waiting
+ * for new ones. Consumers keep the cursor of the last page and resume from it.
+ *
+ * <p>Waiting consumers hold no database connection. They are woken up when the relay of this
+ * replica sees the feed advance, whichever replica relayed the changes.</p>
+ */
+@Service
+@Slf4j
+public class SiteChangeFeedService {
+
+    private final SiteOutboxRepository outboxRepository;
+    private final SiteChangeFeedStateRepository feedStateRepository;
+    private final SiteChangeFeedProperties properties;
+
+    /**
+     * A lock rather than a monitor, since waiting consumers run on virtual threads.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition advanced = lock.newCondition();
+    private long lastPosition;
+
+    /**
+     * Constructor.
+     *
+     * @param outboxRepository the outbox repository the feed is read from
+     * @param feedStateRepository the change feed state repository
+     * @param properties the change feed configuration
+     */
+    public SiteChangeFeedService(final SiteOutboxRepository outboxRepository,
+                                 final SiteChangeFeedStateRepository feedStateRepository,
+                                 final SiteChangeFeedProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.feedStateRepository = feedStateRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Read the changes after a cursor. If there are none yet, wait up to {@code wait} for new ones.
+     *
+     * @param after the cursor: the position of the last change already processed, 0 to start from the beginning
+     * @param limit the maximum number of changes, or null for the default page size
+     * @param wait how long to wait for changes if there are none yet
+     * @return the changes, possibly none, with the cursor to resume from
+     * @throws IllegalArgumentException if the cursor, limit or wait is out of range
+     * @throws SiteChangeFeedExpiredException if changes after the cursor were already purged
+     */
+    public SiteChangePage getChanges(final long after, final Integer limit, final Duration wait) {
+        if (after < 0) {
+            throw new IllegalArgumentException("Cursor cannot be negative");
+        }
+        int pageSize = limit == null ? properties.getDefaultPageSize() : limit;
+        if (pageSize < 1 || pageSize > properties.getMaxPageSize()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + properties.getMaxPageSize());
+        }
+        if (wait.isNegative() || wait.compareTo(properties.getMaxWait()) > 0) {
+            throw new IllegalArgumentException("Wait must be between 0 and " + properties.getMaxWait().toSeconds()
+                    + " seconds");
+        }
+
+        SiteChangeFeedState state = feedStateRepository.findById(SiteChangeFeedState.ID)
+                .orElseGet(() -> new SiteChangeFeedState(SiteChangeFeedState.ID, 0, 0));
+        if (after < state.getPurgedThrough()) {
+            throw new SiteChangeFeedExpiredException("Changes after " + after + " were purged, the oldest cursor "
+                    + "that can be resumed is " + state.getPurgedThrough());
+        }
+        advance(state.getLastPosition());
+
+        List<SiteOutboxEntry> entries = read(after, pageSize);
+        if (entries.isEmpty() && !wait.isZero() && awaitAfter(after, wait)) {
+            entries = read(after, pageSize);
+        }
+        return SiteChangePage.builder()
+                .changes(entries.stream().map(SiteChangeFeedService::mapToResponse).toList())
+                .cursor(entries.isEmpty() ? after : entries.get(entries.size() - 1).getFeedPosition())
+                .build();
+    }
+
+    /**
+     * Record that the feed reached a position, waking up consumers waiting for it.
+     *
+     * @param position the last position relayed
+     */
+    public void advance(final long position) {
+        lock.lock();
+        try {
+            if (position > lastPosition) {
+                lastPosition = position;
+                advanced.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<SiteOutboxEntry> read(final long after, final int limit) {
+        return outboxRepository.findByFeedPositionGreaterThanOrderByFeedPosition(after, Limit.of(limit));
+    }
+
+    /**
+     * Wait until the feed advances past a position.
+     *
+     * @param after the position
+     * @param wait the longest to wait
+     * @return true if the feed advanced past the position, false if the wait ran out
+     */
+    private boolean awaitAfter(final long after, final Duration wait) {
+        long remaining = wait.toNanos();
+        lock.lock();
+        try {
+            while (lastPosition <= after) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = advanced.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Map an outbox entry to a change feed DTO.
+     *
+     * @param entry the relayed outbox entry
+     * @return the change
+     */
+    static SiteChangeResponse mapToResponse(final SiteOutboxEntry entry) {
+        return SiteChangeResponse.builder()
+                .position(entry.getFeedPosition())
+                .siteId(entry.getSiteId())
+                .type(entry.getChangeType())
+                .previousSlug(entry.getPreviousSlug())
+                .slug(entry.getSlug())
+                .occurredAt(entry.getOccurredAt())
+                .build();
+    }
+}
@@ -1,14 +1,28 @@
 package com.shopifake.microservice.services;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopifake.microservice.cache.ValidatedConfigCache;
 import com.shopifake.microservice.dtos.SiteConfig;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -16,12 +30,72 @@ import java.util.stream.Collectors;
  * Service for validating site configuration JSON structure.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SiteConfigValidationService {
 
+    private static final String VALUES_FIELD = "values";
+
     private final ObjectMapper objectMapper;
     private final Validator validator;
+    private final ValidatedConfigCache validatedConfigs;
+    private final Map<String, Integer> requiredFieldIndexes = new HashMap<>();
+    private final Set<String> optionalFields = new HashSet<>();
+    private final long allRequiredFields;
+    private final boolean skipUnknownFields;
+
+    /**
+     * Constructor. The fields checked by the streaming validator are read from the
+     * {@link SiteConfig} constraints, so both validation paths stay in sync.
+     *
+     * @param objectMapper the application object mapper
+     * @param validator the bean validator
+     * @param validatedConfigs the configs already found valid
+     */
+    public SiteConfigValidationService(final ObjectMapper objectMapper, final Validator validator,
+                                       final ValidatedConfigCache validatedConfigs) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.validatedConfigs = validatedConfigs;
+        for (Field field : SiteConfig.class.getDeclaredFields()) {
+            JsonProperty property = field.getAnnotation(JsonProperty.class);
+            if (property == null) {
+                continue;
+            }
+            if (field.isAnnotationPresent(NotBlank.class) || field.isAnnotationPresent(NotNull.class)) {
+                requiredFieldIndexes.put(property.value(), requiredFieldIndexes.size());
+            } else {
+                optionalFields.add(property.value());
+            }
+        }
+        this.allRequiredFields = (1L << requiredFieldIndexes.size()) - 1;
+        // Unknown fields can only be skipped if binding ignores them too
+        this.skipUnknownFields = !objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                && !objectMapper.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES);
+    }
+
+    /**
+     * Validate site configuration JSON without keeping the parsed object.
+     *
+     * <p>Valid configs are recognized in a single streaming pass, without binding a
+     * {@link SiteConfig} or running reflective Bean Validation. Anything the streaming pass
+     * does not positively accept is handed to {@link #validateAndParse(String)}, so invalid
+     * input is rejected with exactly the same message as before.</p>
+     *
+     * <p>Configs found valid are remembered, so saving the same payload again skips parsing
+     * altogether. Invalid outcomes are never cached.</p>
+     *
+     * @param jsonConfig the JSON string to validate
+     * @throws IllegalArgumentException if the JSON is invalid or doesn't match the structure
+     */
+    public void validate(final String jsonConfig) {
+        if (validatedConfigs.isKnownValid(jsonConfig)) {
+            return;
+        }
+        if (jsonConfig == null || jsonConfig.isBlank() || !isValidStreaming(jsonConfig)) {
+            validateAndParse(jsonConfig);
+        }
+        validatedConfigs.markValid(jsonConfig);
+    }
 
     /**
      * Validate and parse site configuration JSON.
@@ -84,6 +158,33 @@ public class SiteConfigValidationService {
         }
     }
 
+    /**
+     * Apply a JSON merge patch to a stored configuration. The result is not validated.
+     *
+     * @param jsonConfig the stored configuration JSON, may be null
+     * @param mergePatch the merge patch JSON
+     * @return the patched configuration JSON, or empty if the patched document equals the stored one
+     * @throws IllegalArgumentException if the patch is empty or either document is not valid JSON
+     */
+    public Optional<String> applyMergePatch(final String jsonConfig, final String mergePatch) {
+        if (mergePatch == null || mergePatch.isBlank()) {
+            throw new IllegalArgumentException("Merge patch cannot be null or empty");
+        }
+
+        try {
+            JsonNode patch = objectMapper.readTree(mergePatch);
+            JsonNode config = jsonConfig == null || jsonConfig.isBlank() ? null : objectMapper.readTree(jsonConfig);
+            JsonNode patched = JsonMergePatch.apply(config, patch);
+            if (patched.equals(config)) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.writeValueAsString(patched));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to apply merge patch to site configuration", e);
+            throw new IllegalArgumentException("Invalid JSON format: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Check if a JSON string is valid site configuration.
      *
@@ -92,11 +193,101 @@ public class SiteConfigValidationService {
      */
     public boolean isValid(final String jsonConfig) {
         try {
-            validateAndParse(jsonConfig);
+            validate(jsonConfig);
             return true;
         } catch (IllegalArgumentException e) {
             return false;
         }
     }
-}
 
+    /**
+     * Single streaming pass accepting configs that binding and Bean Validation would accept:
+     * a single object with every required field present, non-blank strings and a non-empty
+     * list of string values. Anything unusual, such as coerced scalars, duplicate fields or
+     * trailing content, is reported as not valid so the caller falls back to the full path.
+     *
+     * @param jsonConfig the JSON string to check
+     * @return true if the config is certainly valid
+     */
+    private boolean isValidStreaming(final String jsonConfig) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonConfig)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            long seen = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                Integer index = requiredFieldIndexes.get(name);
+                if (index != null) {
+                    long bit = 1L << index;
+                    if ((seen & bit) != 0) {
+                        return false;
+                    }
+                    seen |= bit;
+                    boolean valid = VALUES_FIELD.equals(name)
+                            ? isNonEmptyStringArray(parser, value)
+                            : value == JsonToken.VALUE_STRING && isNotBlank(parser);
+                    if (!valid) {
+                        return false;
+                    }
+                } else if (optionalFields.contains(name)) {
+                    if (value != JsonToken.VALUE_STRING && value != JsonToken.VALUE_NULL) {
+                        return false;
+                    }
+                } else if (skipUnknownFields) {
+                    parser.skipChildren();
+                } else {
+                    return false;
+                }
+            }
+            return parser.currentToken() == JsonToken.END_OBJECT
+                    && parser.nextToken() == null
+                    && seen == allRequiredFields;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check the current string token the way {@code @NotBlank} does ({@code trim()} leaves something),
+     * reading the parser buffer without copying the string.
+     *
+     * @param parser the parser, positioned on a string value
+     * @return true if the string has a character above U+0020
+     * @throws IOException if the JSON is malformed
+     */
+    private static boolean isNotBlank(final JsonParser parser) throws IOException {
+        char[] text = parser.getTextCharacters();
+        int end = parser.getTextOffset() + parser.getTextLength();
+        for (int i = parser.getTextOffset(); i < end; i++) {
+            if (text[i] > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Consume an array of strings, checking that it has at least one element.
+     *
+     * @param parser the parser, positioned on the array start
+     * @param token the current token
+     * @return true if the value is a non-empty array of strings or nulls
+     * @throws IOException if the JSON is malformed
+     */
+    private static boolean isNonEmptyStringArray(final JsonParser parser, final JsonToken token) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            return false;
+        }
+        int count = 0;
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (element != JsonToken.VALUE_STRING && element != JsonToken.VALUE_NULL) {
+                return false;
+            }
+            count++;
+        }
+        return count > 0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.shopifake.microservice.services;
+
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a listing of sites ordered by creation time and ID, exchanged with callers as an
+ * opaque page token.
+ */
+@Value
+public class SiteCursor {
+
+    private static final byte VERSION = 1;
+    private static final int TOKEN_LENGTH = 1 + Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    LocalDateTime createdAt;
+    UUID id;
+
+    /**
+     * Encode the cursor as a URL-safe page token.
+     *
+     * @return the page token
+     */
+    public String toToken() {
+        ByteBuffer buffer = ByteBuffer.allocate(TOKEN_LENGTH)
+                .put(VERSION)
+                .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(createdAt.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decode a page token.
+     *
+     * @param token the page token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is not one issued by {@link #toToken()}
+     */
+    public static SiteCursor fromToken(final String token) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            if (buffer.remaining() != TOKEN_LENGTH || buffer.get() != VERSION) {
+                throw new IllegalArgumentException("Invalid page token: " + token);
+            }
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new SiteCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+}
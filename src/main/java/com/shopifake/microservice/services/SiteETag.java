@@ -0,0 +1,129 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.dtos.SiteResponse;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Strong entity tags for site representations, derived from the site ID and its version.
+ */
+public final class SiteETag {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String RAW_CONFIG_SUFFIX = "-raw";
+    private static final String GZIP_SUFFIX = "-gzip\"";
+    private static final String QUOTE = "\"";
+
+    private SiteETag() {
+    }
+
+    /**
+     * Build the entity tag of a site version.
+     *
+     * @param siteId the site ID
+     * @param version the site version
+     * @return the quoted entity tag
+     */
+    public static String of(final UUID siteId, final long version) {
+        return QUOTE + siteId + "-" + version + QUOTE;
+    }
+
+    /**
+     * Build the entity tag of a site response.
+     *
+     * @param response the site response
+     * @return the quoted entity tag
+     */
+    public static String of(final SiteResponse response) {
+        return of(response.getId(), response.getVersion());
+    }
+
+    /**
+     * Derive the entity tag of the raw config representation, whose bytes differ from the default one.
+     *
+     * @param eTag the entity tag of the default representation
+     * @return the quoted entity tag of the raw config representation
+     */
+    public static String forRawConfig(final String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + RAW_CONFIG_SUFFIX + "\"";
+    }
+
+    /**
+     * Derive the entity tag of the gzip-encoded representation, whose bytes differ from the identity one.
+     *
+     * @param eTag the entity tag of the identity-encoded representation
+     * @return the quoted entity tag of the gzip-encoded representation
+     */
+    public static String forGzip(final String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + GZIP_SUFFIX;
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against an entity tag, using weak comparison as RFC 9110 requires.
+     * A tag of the gzip-encoded representation matches too: the client holds the same version either way.
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @param eTag the current entity tag
+     * @return true if the client already holds the current representation
+     */
+    public static boolean matches(final String ifNoneMatch, final String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(WILDCARD)) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.endsWith(GZIP_SUFFIX)) {
+                tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length()) + "\"";
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the site versions an {@code If-Match} header accepts. If-Match uses strong comparison, so weak
+     * tags never match. Tags of the raw config or gzip-encoded representations name the same version.
+     *
+     * @param ifMatch the header value, may be null
+     * @param siteId the site ID
+     * @return the accepted versions, empty if none can match, or null if any version is accepted
+     */
+    public static Set<Long> ifMatchVersions(final String ifMatch, final UUID siteId) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String prefix = QUOTE + siteId + "-";
+        Set<Long> versions = new HashSet<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(WILDCARD)) {
+                return null;
+            }
+            if (tag.endsWith(GZIP_SUFFIX)) {
+                tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length()) + QUOTE;
+            }
+            if (tag.endsWith(RAW_CONFIG_SUFFIX + QUOTE)) {
+                tag = tag.substring(0, tag.length() - RAW_CONFIG_SUFFIX.length() - 1) + QUOTE;
+            }
+            if (tag.startsWith(prefix) && tag.endsWith(QUOTE) && tag.length() > prefix.length() + 1) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(prefix.length(), tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // Not a tag of this service; it matches no version
+                }
+            }
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,86 @@
+package com.shopifake.microservice.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.repositories.SiteRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service exporting sites as newline-delimited JSON, one site response per line.
+ *
+ * <p>Sites are read through a forward-only cursor and detached as soon as they are written,
+ * so memory use does not depend on the number of sites exported.</p>
+ */
+@Service
+@Slf4j
+public class SiteExportService {
+
+    private static final char NEWLINE = '\n';
+
+    private final SiteRepository siteRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+
+    /**
+     * Constructor.
+     *
+     * @param siteRepository the site repository
+     * @param entityManager the shared entity manager
+     * @param objectMapper the application object mapper
+     */
+    public SiteExportService(final SiteRepository siteRepository, final EntityManager entityManager,
+                             final ObjectMapper objectMapper) {
+        this.siteRepository = siteRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writerFor(SiteResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+    }
+
+    /**
+     * Write the sites matching optional filters to a stream, one JSON object per line.
+     *
+     * @param status the status to match, or null for any
+     * @param updatedFrom the inclusive lower bound of the last modification time, or null
+     * @param updatedTo the exclusive upper bound of the last modification time, or null
+     * @param output the stream to write to; left open
+     * @return the number of sites exported
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public long export(final SiteStatus status, final LocalDateTime updatedFrom, final LocalDateTime updatedTo,
+                       final OutputStream output) throws IOException {
+        log.info("Exporting sites (status: {}, updated from {} to {})", status, updatedFrom, updatedTo);
+        long exported = 0;
+        try (Stream<Site> sites = siteRepository.streamForExport(status, updatedFrom, updatedTo);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<Site> iterator = sites.iterator();
+            while (iterator.hasNext()) {
+                Site site = iterator.next();
+                lineWriter.writeValue(generator, SiteService.mapToResponse(site));
+                generator.writeRaw(NEWLINE);
+                entityManager.detach(site);
+                exported++;
+            }
+        }
+        log.info("Exported {} sites", exported);
+        return exported;
+    }
+}
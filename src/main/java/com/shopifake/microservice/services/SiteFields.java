@@ -0,0 +1,85 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.dtos.SiteResponse;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Selection of the site response fields returned by listings.
+ */
+public final class SiteFields {
+
+    /**
+     * Every field of a site response.
+     */
+    public static final Set<String> ALL = fieldsOf(SiteResponse.class);
+
+    /**
+     * Fields available without loading the large description and config columns.
+     */
+    public static final Set<String> SUMMARY = without(ALL, "description", "config");
+
+    private SiteFields() {
+    }
+
+    /**
+     * Parse a comma-separated list of fields. The keyword {@code summary} stands for {@link #SUMMARY}.
+     *
+     * @param fields the requested fields, or null for all of them
+     * @return the selected fields
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    public static Set<String> parse(final String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.equals("summary")) {
+                selected.addAll(SUMMARY);
+            } else if (ALL.contains(name)) {
+                selected.add(name);
+            } else if (!name.isEmpty()) {
+                throw new IllegalArgumentException("Unknown site field: " + name);
+            }
+        }
+        return selected.isEmpty() ? ALL : selected;
+    }
+
+    /**
+     * List the instance fields of a class in declaration order.
+     */
+    private static Set<String> fieldsOf(final Class<?> type) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(field.getName());
+            }
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Copy a set of fields without some of them.
+     */
+    private static Set<String> without(final Set<String> fields, final String... excluded) {
+        Set<String> remaining = new LinkedHashSet<>(fields);
+        remaining.removeAll(Set.of(excluded));
+        return Collections.unmodifiableSet(remaining);
+    }
+
+    /**
+     * Check whether the selected fields can be served from the summary projection.
+     *
+     * @param fields the selected fields
+     * @return true if neither description nor config is selected
+     */
+    public static boolean isSummary(final Set<String> fields) {
+        return SUMMARY.containsAll(fields);
+    }
+}
@@ -0,0 +1,173 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.cache.SiteCache;
+import com.shopifake.microservice.cache.SlugMembershipFilter;
+import com.shopifake.microservice.config.SiteLookupProperties;
+import com.shopifake.microservice.dtos.SiteLookupResponse;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.repositories.SiteRepository;
+import com.shopifake.microservice.repositories.SiteSummaryView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service looking up many sites by ID or slug in one call.
+ *
+ * <p>Keys are answered from the site cache first; the rest are loaded with one {@code IN} query
+ * per chunk of keys. Keys matching no site are reported as missing instead of failing the lookup.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SiteLookupService {
+
+    private final SiteRepository siteRepository;
+    private final SlugService slugService;
+    private final SiteCache siteCache;
+    private final SlugMembershipFilter slugFilter;
+    private final SiteLookupProperties properties;
+
+    /**
+     * Look up sites by ID and by slug.
+     *
+     * @param ids the site IDs, or null
+     * @param slugs the site slugs, or null; matched after normalization
+     * @param summary whether description and config may be left out, so they are not read from the database
+     * @return the sites found keyed by the requested ID or slug, and the keys matching no site
+     * @throws IllegalArgumentException if no keys or more than the configured maximum are requested
+     */
+    @Transactional(readOnly = true)
+    public SiteLookupResponse lookup(final List<UUID> ids, final List<String> slugs, final boolean summary) {
+        List<UUID> requestedIds = ids == null ? List.of() : ids;
+        List<String> requestedSlugs = slugs == null ? List.of() : slugs;
+        int keys = requestedIds.size() + requestedSlugs.size();
+        if (keys == 0) {
+            throw new IllegalArgumentException("At least one site ID or slug is required");
+        }
+        if (keys > properties.getMaxKeys()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxKeys()
+                    + " site IDs and slugs can be looked up at once");
+        }
+        log.debug("Looking up {} site IDs and {} slugs", requestedIds.size(), requestedSlugs.size());
+        long generation = siteCache.generation();
+
+        Map<UUID, SiteResponse> foundIds = new HashMap<>();
+        Set<UUID> uncachedIds = new LinkedHashSet<>();
+        for (UUID id : requestedIds) {
+            if (id != null && !foundIds.containsKey(id)) {
+                Optional<SiteResponse> cached = siteCache.getById(id);
+                if (cached.isPresent()) {
+                    foundIds.put(id, cached.get());
+                } else {
+                    uncachedIds.add(id);
+                }
+            }
+        }
+        for (List<UUID> chunk : chunks(uncachedIds)) {
+            List<SiteResponse> loaded = summary
+                    ? summaries(siteRepository.findSummariesByIdIn(chunk))
+                    : cached(siteRepository.findAllById(chunk), generation);
+            loaded.forEach(site -> foundIds.put(site.getId(), site));
+        }
+
+        Map<String, String> normalizedSlugs = new HashMap<>();
+        Map<String, SiteResponse> foundSlugs = new HashMap<>();
+        Set<String> uncachedSlugs = new LinkedHashSet<>();
+        for (String slug : requestedSlugs) {
+            String normalizedSlug = slug == null || slug.isBlank() ? null
+                    : normalizedSlugs.computeIfAbsent(slug, slugService::normalizeSlug);
+            if (normalizedSlug != null && !foundSlugs.containsKey(normalizedSlug)) {
+                Optional<SiteResponse> cached = siteCache.getBySlug(normalizedSlug);
+                if (cached.isPresent()) {
+                    foundSlugs.put(normalizedSlug, cached.get());
+                } else if (!slugFilter.isDefinitelyAbsent(normalizedSlug)) {
+                    uncachedSlugs.add(normalizedSlug);
+                }
+            }
+        }
+        for (List<String> chunk : chunks(uncachedSlugs)) {
+            List<SiteResponse> loaded = summary
+                    ? summaries(siteRepository.findSummariesBySlugIn(chunk))
+                    : cached(siteRepository.findBySlugIn(chunk), generation);
+            loaded.forEach(site -> foundSlugs.put(site.getSlug(), site));
+        }
+
+        Map<UUID, SiteResponse> sitesById = new LinkedHashMap<>();
+        Set<UUID> missingIds = new LinkedHashSet<>();
+        for (UUID id : requestedIds) {
+            if (id != null) {
+                SiteResponse site = foundIds.get(id);
+                if (site != null) {
+                    sitesById.put(id, site);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+        }
+        Map<String, SiteResponse> sitesBySlug = new LinkedHashMap<>();
+        Set<String> missingSlugs = new LinkedHashSet<>();
+        for (String slug : requestedSlugs) {
+            if (slug != null) {
+                String normalizedSlug = normalizedSlugs.get(slug);
+                SiteResponse site = normalizedSlug == null ? null : foundSlugs.get(normalizedSlug);
+                if (site != null) {
+                    sitesBySlug.put(slug, site);
+                } else {
+                    missingSlugs.add(slug);
+                }
+            }
+        }
+
+        return SiteLookupResponse.builder()
+                .sitesById(sitesById)
+                .sitesBySlug(sitesBySlug)
+                .missingIds(List.copyOf(missingIds))
+                .missingSlugs(List.copyOf(missingSlugs))
+                .build();
+    }
+
+    /**
+     * Map sites loaded from the database and cache them.
+     */
+    private List<SiteResponse> cached(final List<Site> sites, final long generation) {
+        List<SiteResponse> responses = new ArrayList<>(sites.size());
+        for (Site site : sites) {
+            SiteResponse response = SiteService.mapToResponse(site);
+            siteCache.put(response, generation);
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    /**
+     * Map site summaries loaded from the database. They are not cached, lacking description and config.
+     */
+    private static List<SiteResponse> summaries(final List<SiteSummaryView> summaries) {
+        return summaries.stream().map(SiteService::mapToResponse).toList();
+    }
+
+    /**
+     * Split keys into chunks bound to one query each.
+     */
+    private <T> List<List<T>> chunks(final Set<T> keys) {
+        List<T> all = List.copyOf(keys);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += properties.getChunkSize()) {
+            chunks.add(all.subList(from, Math.min(from + properties.getChunkSize(), all.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,196 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.config.SiteChangeFeedProperties;
+import com.shopifake.microservice.entities.SiteChangeFeedState;
+import com.shopifake.microservice.entities.SiteOutboxEntry;
+import com.shopifake.microservice.repositories.SiteChangeFeedStateRepository;
+import com.shopifake.microservice.repositories.SiteOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox into the change feed in batches, and purges changes past their retention.
+ *
+ * <p>Every replica runs the relay. Each batch locks the feed state row while it assigns positions,
+ * so batches of different replicas are serialized and positions become visible in increasing order:
+ * a consumer never sees a position before a smaller one has committed. Entries are relayed in the
+ * order they were written, which for the entries of one site is the order their mutations committed.</p>
+ */
+@Component
+@Slf4j
+public class SiteOutboxRelay {
+
+    private final SiteOutboxRepository outboxRepository;
+    private final SiteChangeFeedStateRepository feedStateRepository;
+    private final SiteChangeFeedService feedService;
+    private final SiteChangeFeedProperties properties;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final Counter relayed;
+    private final Counter purged;
+    private final Timer lag;
+
+    /**
+     * Constructor.
+     *
+     * @param outboxRepository the outbox repository
+     * @param feedStateRepository the change feed state repository
+     * @param feedService the change feed notified of new positions
+     * @param properties the change feed configuration
+     * @param entityManager the entity manager positions are assigned with
+     * @param transactionManager the transaction manager each batch runs in
+     * @param meterRegistry the registry relay metrics are bound to
+     */
+    public SiteOutboxRelay(final SiteOutboxRepository outboxRepository,
+                           final SiteChangeFeedStateRepository feedStateRepository,
+                           final SiteChangeFeedService feedService,
+                           final SiteChangeFeedProperties properties,
+                           final EntityManager entityManager,
+                           final PlatformTransactionManager transactionManager,
+                           final MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.feedStateRepository = feedStateRepository;
+        this.feedService = feedService;
+        this.properties = properties;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.relayed = Counter.builder("sites.change-feed.relayed")
+                .description("Number of site changes relayed from the outbox to the change feed")
+                .register(meterRegistry);
+        this.purged = Counter.builder("sites.change-feed.purged")
+                .description("Number of site changes purged from the change feed")
+                .register(meterRegistry);
+        this.lag = Timer.builder("sites.change-feed.relay.lag")
+                .description("Time from a site change to its relay into the change feed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Periodically drain the outbox.
+     */
+    @Scheduled(initialDelayString = "${sites.change-feed.relay-interval:500ms}",
+            fixedDelayString = "${sites.change-feed.relay-interval:500ms}")
+    public void scheduledRelay() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay site changes, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Periodically purge changes past their retention.
+     */
+    @Scheduled(initialDelayString = "${sites.change-feed.purge-interval:1h}",
+            fixedDelayString = "${sites.change-feed.purge-interval:1h}")
+    public void scheduledPurge() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge site changes, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Relay every entry waiting in the outbox, one batch per transaction, and wake up consumers
+     * waiting for changes. Positions relayed by other replicas wake them up too.
+     *
+     * @return the number of entries relayed by this call
+     */
+    public int relay() {
+        int total = 0;
+        long lastPosition;
+        if (!outboxRepository.existsByFeedPositionIsNull()) {
+            lastPosition = feedStateRepository.findById(SiteChangeFeedState.ID)
+                    .map(SiteChangeFeedState::getLastPosition)
+                    .orElse(0L);
+        } else {
+            RelayedBatch batch;
+            do {
+                batch = transaction.execute(status -> relayBatch());
+                total += batch.count();
+            } while (batch.count() == properties.getRelayBatchSize());
+            lastPosition = batch.lastPosition();
+            log.debug("Relayed {} site changes, feed is at position {}", total, lastPosition);
+        }
+        feedService.advance(lastPosition);
+        return total;
+    }
+
+    /**
+     * Purge the changes relayed longer ago than the retention.
+     *
+     * @return the number of changes purged
+     */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        Integer count = transaction.execute(status -> {
+            SiteChangeFeedState state = lockState();
+            Long through = outboxRepository.findLastPositionRelayedBefore(cutoff);
+            if (through == null || through <= state.getPurgedThrough()) {
+                return 0;
+            }
+            state.setPurgedThrough(through);
+            return outboxRepository.deleteRelayedThrough(through);
+        });
+        if (count != null && count > 0) {
+            purged.increment(count);
+            log.info("Purged {} site changes relayed before {}", count, cutoff);
+        }
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Assign feed positions to the oldest entries waiting in the outbox.
+     *
+     * @return the number of entries relayed and the last position assigned
+     */
+    private RelayedBatch relayBatch() {
+        SiteChangeFeedState state = lockState();
+        List<SiteOutboxEntry> entries = outboxRepository.findUnrelayed(Limit.of(properties.getRelayBatchSize()));
+        entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getRelayBatchSize());
+
+        LocalDateTime now = LocalDateTime.now();
+        long position = state.getLastPosition();
+        for (SiteOutboxEntry entry : entries) {
+            entry.setFeedPosition(++position);
+            entry.setRelayedAt(now);
+            lag.record(Duration.between(entry.getOccurredAt(), now));
+        }
+        state.setLastPosition(position);
+        relayed.increment(entries.size());
+        return new RelayedBatch(entries.size(), position);
+    }
+
+    /**
+     * Lock the feed state row, creating it if the schema was not created by the migrations.
+     *
+     * @return the locked state
+     */
+    private SiteChangeFeedState lockState() {
+        return feedStateRepository.findForUpdate(SiteChangeFeedState.ID)
+                .orElseGet(() -> feedStateRepository.save(new SiteChangeFeedState(SiteChangeFeedState.ID, 0, 0)));
+    }
+
+    /**
+     * Outcome of one relay batch.
+     *
+     * @param count the number of entries relayed
+     * @param lastPosition the last feed position assigned
+     */
+    private record RelayedBatch(int count, long lastPosition) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.entities.SiteOutboxEntry;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import com.shopifake.microservice.repositories.SiteOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records every site mutation in the outbox, in the transaction that makes it. A mutation is then
+ * in the change feed if and only if it committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class SiteOutboxWriter {
+
+    private final SiteOutboxRepository outboxRepository;
+
+    /**
+     * Add a site change to the outbox before its transaction commits.
+     *
+     * @param event the site change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSiteChanged(final SiteChangedEvent event) {
+        if (event.isRecorded()) {
+            return;
+        }
+        outboxRepository.save(toEntry(event));
+    }
+
+    /**
+     * Build the outbox entry of a site change, for publishers writing it themselves.
+     *
+     * @param event the site change event
+     * @return the outbox entry, not yet persisted
+     */
+    public static SiteOutboxEntry toEntry(final SiteChangedEvent event) {
+        return SiteOutboxEntry.builder()
+                .siteId(event.getSiteId())
+                .changeType(event.getType())
+                .previousSlug(event.getPreviousSlug())
+                .slug(event.getSlug())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.shopifake.microservice.services;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.shopifake.microservice.cache.RenderedSite;
+import com.shopifake.microservice.cache.RenderedSiteCache;
+import com.shopifake.microservice.dtos.SiteLookupResponse;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.SiteStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes site responses, either with the config as a JSON string or embedded as a raw JSON object,
+ * and lists or lookups of site responses restricted to selected fields.
+ * Bodies of active sites are rendered once per version, plain and gzipped, and served from a cache.
+ */
+@Component
+@Slf4j
+public class SiteResponseWriter {
+
+    private static final int GZIP_OVERHEAD = 64;
+    private static final String FIELDS_FILTER = "siteFields";
+    private static final TypeReference<List<SiteResponse>> LIST_TYPE = new TypeReference<>() { };
+
+    private final ObjectWriter plainWriter;
+    private final ObjectWriter rawConfigWriter;
+    private final ObjectWriter listWriter;
+    private final ObjectWriter lookupWriter;
+    private final ObjectMapper fieldsMapper;
+    private final RenderedSiteCache renderedCache;
+
+    /**
+     * Create the writer from the application object mapper.
+     *
+     * @param objectMapper the application object mapper
+     * @param renderedCache the cache of rendered bodies of active sites
+     */
+    public SiteResponseWriter(final ObjectMapper objectMapper, final RenderedSiteCache renderedCache) {
+        this.renderedCache = renderedCache;
+        this.plainWriter = objectMapper.writerFor(SiteResponse.class);
+        this.rawConfigWriter = objectMapper.copy()
+                .addMixIn(SiteResponse.class, RawConfigMixin.class)
+                .writerFor(SiteResponse.class);
+        this.listWriter = objectMapper.writerFor(LIST_TYPE);
+        this.lookupWriter = objectMapper.writerFor(SiteLookupResponse.class);
+        this.fieldsMapper = objectMapper.copy().addMixIn(SiteResponse.class, FieldsMixin.class);
+    }
+
+    /**
+     * Serialize a site response.
+     *
+     * <p>In raw config mode the stored config is copied into the output as is, without parsing or
+     * escaping. That is only safe because every config is checked by {@link SiteConfigValidationService}
+     * before it is stored.</p>
+     *
+     * @param response the site response
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @return the UTF-8 encoded JSON
+     * @throws IllegalStateException if serialization fails
+     */
+    public byte[] write(final SiteResponse response, final boolean rawConfig) {
+        try {
+            return (rawConfig ? rawConfigWriter : plainWriter).writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize site response: {}", response.getId(), e);
+            throw new IllegalStateException("Failed to serialize site response", e);
+        }
+    }
+
+    /**
+     * Serialize a list of site responses restricted to the selected fields.
+     *
+     * @param responses the site responses
+     * @param fields the fields to write, see {@link SiteFields}
+     * @return the UTF-8 encoded JSON array
+     * @throws IllegalStateException if serialization fails
+     */
+    public byte[] writeFields(final List<SiteResponse> responses, final Set<String> fields) {
+        try {
+            if (fields.containsAll(SiteFields.ALL)) {
+                return listWriter.writeValueAsBytes(responses);
+            }
+            FilterProvider filters = new SimpleFilterProvider()
+                    .addFilter(FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+            return fieldsMapper.writer(filters)
+                    .forType(LIST_TYPE)
+                    .writeValueAsBytes(responses);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize site responses", e);
+            throw new IllegalStateException("Failed to serialize site responses", e);
+        }
+    }
+
+    /**
+     * Serialize a site lookup with its site responses restricted to the selected fields.
+     *
+     * @param lookup the site lookup
+     * @param fields the fields to write, see {@link SiteFields}
+     * @return the UTF-8 encoded JSON object
+     * @throws IllegalStateException if serialization fails
+     */
+    public byte[] writeFields(final SiteLookupResponse lookup, final Set<String> fields) {
+        try {
+            if (fields.containsAll(SiteFields.ALL)) {
+                return lookupWriter.writeValueAsBytes(lookup);
+            }
+            FilterProvider filters = new SimpleFilterProvider()
+                    .addFilter(FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+            return fieldsMapper.writer(filters)
+                    .forType(SiteLookupResponse.class)
+                    .writeValueAsBytes(lookup);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize site lookup", e);
+            throw new IllegalStateException("Failed to serialize site lookup", e);
+        }
+    }
+
+    /**
+     * Render the body of a site response. Active sites are rendered once per version and response mode,
+     * together with a gzipped copy, and served from the rendered cache until they change.
+     *
+     * @param response the site response
+     * @param rawConfig whether to embed the config as a JSON object instead of a string
+     * @return the rendered body
+     */
+    public RenderedSite render(final SiteResponse response, final boolean rawConfig) {
+        if (response.getStatus() != SiteStatus.ACTIVE || response.getVersion() == null
+                || !renderedCache.isEnabled()) {
+            return new RenderedSite(write(response, rawConfig), null);
+        }
+        return renderedCache.get(response.getId(), response.getVersion(), rawConfig, () -> {
+            byte[] body = write(response, rawConfig);
+            return new RenderedSite(body, gzip(body));
+        });
+    }
+
+    /**
+     * Gzip a rendered body.
+     *
+     * @param body the body
+     * @return the gzip-encoded body
+     */
+    private static byte[] gzip(final byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + GZIP_OVERHEAD);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to gzip site response", e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Mixin filtering the written fields.
+     */
+    @JsonFilter(FIELDS_FILTER)
+    private abstract static class FieldsMixin {
+    }
+
+    /**
+     * Mixin writing the stored config verbatim.
+     */
+    private abstract static class RawConfigMixin {
+
+        @JsonRawValue
+        private String config;
+    }
+}
@@ -1,7 +1,12 @@
 package com.shopifake.microservice.services;
 
+import com.shopifake.microservice.cache.SiteCache;
+import com.shopifake.microservice.cache.SiteLookupCoalescer;
+import com.shopifake.microservice.cache.SlugMembershipFilter;
+import com.shopifake.microservice.config.SitePaginationProperties;
 import com.shopifake.microservice.dtos.AlternativeSlugSuggestion;
 import com.shopifake.microservice.dtos.CreateSiteRequest;
+import com.shopifake.microservice.dtos.SitePage;
 import com.shopifake.microservice.dtos.SiteResponse;
 import com.shopifake.microservice.dtos.SiteSlugResponse;
 import com.shopifake.microservice.dtos.UpdateSiteRequest;
@@ -9,15 +14,32 @@ import com.shopifake.microservice.entities.Currency;
 import com.shopifake.microservice.entities.Language;
 import com.shopifake.microservice.entities.Site;
 import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.events.SiteChangeType;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import com.shopifake.microservice.exceptions.SiteNotFoundException;
+import com.shopifake.microservice.exceptions.SitePreconditionFailedException;
 import com.shopifake.microservice.repositories.SiteRepository;
+import com.shopifake.microservice.repositories.SiteStatusView;
+import com.shopifake.microservice.repositories.SiteSummaryView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,11 +51,19 @@ import java.util.stream.Collectors;
 public class SiteService {
 
     private static final int MAX_SLUG_GENERATION_ATTEMPTS = 100;
+    private static final int MAX_SLUG_ALTERNATIVES = 5;
     private static final SiteStatus DEFAULT_STATUS = SiteStatus.DRAFT;
+    /** Page size of a listing requested without page token or size, which returns every site. */
+    private static final int UNPAGED = Integer.MAX_VALUE;
 
     private final SiteRepository siteRepository;
     private final SlugService slugService;
     private final SiteConfigValidationService configValidationService;
+    private final SiteCache siteCache;
+    private final SiteLookupCoalescer lookupCoalescer;
+    private final SlugMembershipFilter slugFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SitePaginationProperties paginationProperties;
 
     /**
      * Create a new site.
@@ -55,17 +85,12 @@ public class SiteService {
             slug = slugService.normalizeSlug(slug);
         }
 
-        if (siteRepository.existsBySlug(slug)) {
-            log.warn("Slug already taken: {}", slug);
-            throw new IllegalArgumentException("Slug already taken: " + slug);
-        }
-
         if (request.getConfig().isEmpty()) {
             log.warn("Config is empty");
             throw new IllegalArgumentException("Config is empty");
         }
         
-        configValidationService.validateAndParse(request.getConfig());
+        configValidationService.validate(request.getConfig());
         String validatedConfig = request.getConfig();
 
         // Convert String to enum types
@@ -99,9 +124,18 @@ public class SiteService {
                 .build();
 
         try {
-            Site savedSite = siteRepository.save(site);
+            // Flushed so a slug taken meanwhile fails here, on the unique constraint
+            Site savedSite = siteRepository.saveAndFlush(site);
             log.info("Site created successfully with ID: {}", savedSite.getId());
+            publishChange(savedSite.getId(), SiteChangeType.CREATED, null, savedSite.getSlug());
             return mapToResponse(savedSite);
+        } catch (DataIntegrityViolationException e) {
+            if (!isSlugConflict(e)) {
+                log.error("Error creating site for owner: {}", ownerId, e);
+                throw new RuntimeException("Failed to create site due to database error", e);
+            }
+            log.warn("Slug already taken: {}", slug);
+            throw new IllegalArgumentException("Slug already taken: " + slug, e);
         } catch (Exception e) {
             log.error("Error creating site for owner: {}", ownerId, e);
             throw new RuntimeException("Failed to create site due to database error", e);
@@ -116,9 +150,19 @@ public class SiteService {
      */
     public SiteResponse getSiteById(final UUID siteId) {
         log.debug("Fetching site with ID: {}", siteId);
-        Site site = siteRepository.findById(siteId)
-                .orElseThrow(() -> new IllegalArgumentException("Site not found with ID: " + siteId));
-        return mapToResponse(site);
+        Optional<SiteResponse> cached = siteCache.getById(siteId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long generation = siteCache.generation();
+        return lookupCoalescer.byId(siteId, generation, () -> {
+            Site site = siteRepository.findById(siteId)
+                    .orElseThrow(() -> new SiteNotFoundException("Site not found with ID: " + siteId));
+            SiteResponse response = mapToResponse(site);
+            siteCache.put(response, generation);
+            return response;
+        });
     }
 
     /**
@@ -130,9 +174,56 @@ public class SiteService {
     public SiteResponse getSiteBySlug(final String slug) {
         log.debug("Fetching site with slug: {}", slug);
         String normalizedSlug = slugService.normalizeSlug(slug);
-        Site site = siteRepository.findBySlug(normalizedSlug)
-                .orElseThrow(() -> new IllegalArgumentException("Site not found with slug: " + normalizedSlug));
-        return mapToResponse(site);
+        Optional<SiteResponse> cached = siteCache.getBySlug(normalizedSlug);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (slugFilter.isDefinitelyAbsent(normalizedSlug)) {
+            throw new SiteNotFoundException("Site not found with slug: " + normalizedSlug);
+        }
+
+        long generation = siteCache.generation();
+        return lookupCoalescer.bySlug(normalizedSlug, generation, () -> {
+            Site site = siteRepository.findBySlug(normalizedSlug)
+                    .orElseThrow(() -> new SiteNotFoundException("Site not found with slug: " + normalizedSlug));
+            SiteResponse response = mapToResponse(site);
+            siteCache.put(response, generation);
+            return response;
+        });
+    }
+
+    /**
+     * Get the entity tag of a site by ID, from the cache or a version-only query.
+     *
+     * @param siteId the site ID
+     * @return Optional containing the entity tag if the site exists
+     */
+    public Optional<String> findSiteETag(final UUID siteId) {
+        Optional<SiteResponse> cached = siteCache.getById(siteId);
+        if (cached.isPresent()) {
+            return cached.map(SiteETag::of);
+        }
+        return siteRepository.findVersionById(siteId)
+                .map(version -> SiteETag.of(version.getId(), version.getVersion()));
+    }
+
+    /**
+     * Get the entity tag of a site by slug, from the cache or a version-only query.
+     *
+     * @param slug the site slug
+     * @return Optional containing the entity tag if the site exists
+     */
+    public Optional<String> findSiteETagBySlug(final String slug) {
+        String normalizedSlug = slugService.normalizeSlug(slug);
+        Optional<SiteResponse> cached = siteCache.getBySlug(normalizedSlug);
+        if (cached.isPresent()) {
+            return cached.map(SiteETag::of);
+        }
+        if (slugFilter.isDefinitelyAbsent(normalizedSlug)) {
+            return Optional.empty();
+        }
+        return siteRepository.findVersionBySlug(normalizedSlug)
+                .map(version -> SiteETag.of(version.getId(), version.getVersion()));
     }
 
     /**
@@ -161,10 +252,28 @@ public class SiteService {
      */
     @Transactional
     public SiteResponse updateSite(final UUID siteId, final UpdateSiteRequest request) {
+        return updateSite(siteId, request, null);
+    }
+
+    /**
+     * Update a site, only if it is at a version accepted by an {@code If-Match} header.
+     *
+     * @param siteId the site ID
+     * @param request the update request
+     * @param ifMatch the If-Match header, or null to update any version
+     * @return the updated site response
+     * @throws IllegalArgumentException if site not found or invalid data
+     * @throws SitePreconditionFailedException if the site is at another version
+     */
+    @Transactional
+    public SiteResponse updateSite(final UUID siteId, final UpdateSiteRequest request, final String ifMatch) {
         log.info("Updating site: {}", siteId);
 
         Site site = siteRepository.findById(siteId)
                 .orElseThrow(() -> new IllegalArgumentException("Site not found with ID: " + siteId));
+        Set<Long> versions = SiteETag.ifMatchVersions(ifMatch, siteId);
+        checkVersion(site, versions);
+        String previousSlug = site.getSlug();
 
         // Update name if provided
         if (request.getName() != null && !request.getName().isBlank()) {
@@ -173,14 +282,8 @@ public class SiteService {
 
         // Update slug if provided
         if (request.getSlug() != null && !request.getSlug().isBlank()) {
-            String normalizedSlug = slugService.normalizeSlug(request.getSlug());
-            // Check if slug is available (excluding current site)
-            if (siteRepository.existsBySlug(normalizedSlug) 
-                    && !site.getSlug().equals(normalizedSlug)) {
-                log.warn("Slug already taken: {}", normalizedSlug);
-                throw new IllegalArgumentException("Slug already taken: " + normalizedSlug);
-            }
-            site.setSlug(normalizedSlug);
+            // Availability is enforced by the unique constraint when the change is flushed
+            site.setSlug(slugService.normalizeSlug(request.getSlug()));
         }
 
         // Update description if provided
@@ -218,76 +321,227 @@ public class SiteService {
                 log.warn("Config is empty");
                 throw new IllegalArgumentException("Config cannot be empty");
             }
-            configValidationService.validateAndParse(request.getConfig());
+            configValidationService.validate(request.getConfig());
             site.setConfig(request.getConfig());
         }
 
         site.setUpdatedAt(LocalDateTime.now());
 
         try {
-            Site updatedSite = siteRepository.save(site);
+            // Flushed so the response carries the incremented version
+            Site updatedSite = siteRepository.saveAndFlush(site);
             log.info("Site updated successfully with ID: {}", siteId);
+            SiteChangeType type = previousSlug.equals(updatedSite.getSlug())
+                    ? SiteChangeType.UPDATED : SiteChangeType.RENAMED;
+            publishChange(siteId, type, previousSlug, updatedSite.getSlug());
             return mapToResponse(updatedSite);
+        } catch (OptimisticLockingFailureException e) {
+            throw concurrentUpdate(siteId, versions, e);
+        } catch (DataIntegrityViolationException e) {
+            if (!isSlugConflict(e)) {
+                log.error("Error updating site with ID: {}", siteId, e);
+                throw new RuntimeException("Failed to update site due to database error", e);
+            }
+            log.warn("Slug already taken: {}", site.getSlug());
+            throw new IllegalArgumentException("Slug already taken: " + site.getSlug(), e);
         } catch (Exception e) {
             log.error("Error updating site with ID: {}", siteId, e);
             throw new RuntimeException("Failed to update site due to database error", e);
         }
     }
 
+    /**
+     * Apply a JSON merge patch (RFC 7396) to the configuration of a site.
+     *
+     * <p>Only the merged document is validated, once. A patch that changes nothing leaves the
+     * site untouched.</p>
+     *
+     * @param siteId the site ID
+     * @param mergePatch the merge patch JSON
+     * @return the site response
+     * @throws IllegalArgumentException if site not found, the patch is invalid or the merged config is invalid
+     */
+    @Transactional
+    public SiteResponse patchSiteConfig(final UUID siteId, final String mergePatch) {
+        return patchSiteConfig(siteId, mergePatch, null);
+    }
+
+    /**
+     * Apply a JSON merge patch (RFC 7396) to the configuration of a site, only if the site is at a version
+     * accepted by an {@code If-Match} header.
+     *
+     * @param siteId the site ID
+     * @param mergePatch the merge patch JSON
+     * @param ifMatch the If-Match header, or null to patch any version
+     * @return the site response
+     * @throws IllegalArgumentException if site not found, the patch is invalid or the merged config is invalid
+     * @throws SitePreconditionFailedException if the site is at another version
+     */
+    @Transactional
+    public SiteResponse patchSiteConfig(final UUID siteId, final String mergePatch, final String ifMatch) {
+        log.info("Patching config for site: {}", siteId);
+
+        Site site = siteRepository.findById(siteId)
+                .orElseThrow(() -> new IllegalArgumentException("Site not found with ID: " + siteId));
+        Set<Long> versions = SiteETag.ifMatchVersions(ifMatch, siteId);
+        checkVersion(site, versions);
+
+        Optional<String> patched = configValidationService.applyMergePatch(site.getConfig(), mergePatch);
+        if (patched.isEmpty()) {
+            log.debug("Merge patch leaves config of site {} unchanged", siteId);
+            return mapToResponse(site);
+        }
+        String config = patched.get();
+        configValidationService.validate(config);
+        site.setConfig(config);
+        site.setUpdatedAt(LocalDateTime.now());
+
+        try {
+            Site updatedSite = siteRepository.saveAndFlush(site);
+            log.info("Site config patched successfully for site: {}", siteId);
+            publishChange(siteId, SiteChangeType.UPDATED, updatedSite.getSlug(), updatedSite.getSlug());
+            return mapToResponse(updatedSite);
+        } catch (OptimisticLockingFailureException e) {
+            throw concurrentUpdate(siteId, versions, e);
+        } catch (Exception e) {
+            log.error("Error patching config for site: {}", siteId, e);
+            throw new RuntimeException("Failed to patch site config due to database error", e);
+        }
+    }
+
     /**
      * Update the status of a site.
      *
+     * <p>The transition rules are checked by the database in the same statement that changes the status,
+     * so concurrent updates can never move an active or disabled site back to draft.</p>
+     *
      * @param siteId the site ID
      * @param status the new status
      * @return the updated site response
-     * @throws IllegalArgumentException if site not found or invalid status
+     * @throws IllegalArgumentException if site not found, invalid status or transition not allowed
      */
     @Transactional
     public SiteResponse updateSiteStatus(final UUID siteId, final String status) {
+        return updateSiteStatus(siteId, status, null);
+    }
+
+    /**
+     * Update the status of a site, only if it is at a version accepted by an {@code If-Match} header.
+     * The version is checked in the same statement that changes the status.
+     *
+     * @param siteId the site ID
+     * @param status the new status
+     * @param ifMatch the If-Match header, or null to update any version
+     * @return the updated site response
+     * @throws IllegalArgumentException if site not found, invalid status or transition not allowed
+     * @throws SitePreconditionFailedException if the site is at another version
+     */
+    @Transactional
+    public SiteResponse updateSiteStatus(final UUID siteId, final String status, final String ifMatch) {
         log.info("Updating status for site: {} to {}", siteId, status);
 
-        Site site = siteRepository.findById(siteId)
-                .orElseThrow(() -> new IllegalArgumentException("Site not found with ID: " + siteId));
+        SiteStatus newStatus = parseStatus(status);
+        Set<Long> versions = SiteETag.ifMatchVersions(ifMatch, siteId);
+
+        int updated;
+        try {
+            if (versions == null) {
+                updated = siteRepository.updateStatus(siteId, newStatus, newStatus.predecessors(),
+                        LocalDateTime.now());
+            } else {
+                updated = versions.isEmpty() ? 0 : siteRepository.updateStatusIfVersion(siteId, newStatus,
+                        newStatus.predecessors(), versions, LocalDateTime.now());
+            }
+        } catch (DataAccessException e) {
+            log.error("Error updating site status for site: {}", siteId, e);
+            throw new RuntimeException("Failed to update site status due to database error", e);
+        }
+        if (updated == 0) {
+            SiteStatusView current = siteRepository.findStatusById(siteId)
+                    .orElseThrow(() -> new IllegalArgumentException("Site not found with ID: " + siteId));
+            if (versions != null && !versions.contains(current.getVersion())) {
+                throw new SitePreconditionFailedException("Site " + siteId + " is at version "
+                        + current.getVersion() + ", not the one given in If-Match");
+            }
+            throw new IllegalArgumentException("Cannot update status from " + current.getStatus()
+                    + " to " + newStatus);
+        }
 
-        SiteStatus newStatus;
+        // The updated row stays locked until commit, so it cannot disappear in between
+        Site updatedSite = siteRepository.findById(siteId)
+                .orElseThrow(() -> new IllegalStateException("Site vanished after status update: " + siteId));
+        log.info("Site status updated successfully for site: {}", siteId);
+        publishChange(siteId, SiteChangeType.STATUS_CHANGED, updatedSite.getSlug(), updatedSite.getSlug());
+        return mapToResponse(updatedSite);
+    }
+
+    /**
+     * Parse a site status, ignoring case.
+     *
+     * @param status the status name
+     * @return the site status
+     * @throws IllegalArgumentException if the status is unknown
+     */
+    static SiteStatus parseStatus(final String status) {
         try {
-            newStatus = SiteStatus.valueOf(status.toUpperCase());
+            return SiteStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             log.warn("Invalid status: {}", status);
             throw new IllegalArgumentException("Invalid status: " + status, e);
         }
+    }
 
-        if (site.getStatus() == SiteStatus.ACTIVE && newStatus == SiteStatus.DRAFT) {
-            throw new IllegalArgumentException("Cannot update status from " + site.getStatus() + " to " + newStatus);
-        }
-        else if (site.getStatus() == SiteStatus.DISABLED && newStatus == SiteStatus.DRAFT) {
-            throw new IllegalArgumentException("Cannot update status from " + site.getStatus() + " to " + newStatus);
-        }
-        site.setStatus(newStatus);
-        site.setUpdatedAt(LocalDateTime.now());
-
-        try {
-            Site updatedSite = siteRepository.save(site);
-            log.info("Site status updated successfully for site: {}", siteId);
-            return mapToResponse(updatedSite);
-        } catch (Exception e) {
-            log.error("Error updating site status for site: {}", siteId, e);
-            throw new RuntimeException("Failed to update site status due to database error", e);
+    /**
+     * Get a page of the sites owned by a specific owner, ordered by creation time. Without a page
+     * token or size, all sites of the owner are returned as a single page.
+     *
+     * <p>Pages are read by keyset on (owner, creation time, ID), so every page costs the same
+     * however deep it is.</p>
+     *
+     * @param ownerId the owner ID
+     * @param pageToken the token of the page to read, or null for the first page
+     * @param pageSize the number of sites per page, or null for the default
+     * @return the page of site responses
+     * @throws IllegalArgumentException if the page token or size is invalid
+     */
+    public SitePage getSitesByOwner(final UUID ownerId, final String pageToken, final Integer pageSize) {
+        log.debug("Fetching sites for owner: {} (page token: {})", ownerId, pageToken);
+        int size = pageSize(pageToken, pageSize);
+        Limit limit = size == UNPAGED ? Limit.unlimited() : Limit.of(size + 1);
+        List<Site> sites;
+        if (pageToken == null || pageToken.isBlank()) {
+            sites = siteRepository.findFirstByOwnerId(ownerId, limit);
+        } else {
+            SiteCursor cursor = SiteCursor.fromToken(pageToken);
+            sites = siteRepository.findByOwnerIdAfter(ownerId, cursor.getCreatedAt(), cursor.getId(), limit);
         }
+        return toPage(sites, size, SiteService::mapToResponse);
     }
 
     /**
-     * Get all sites owned by a specific owner.
+     * Get a page of summaries of the sites owned by a specific owner, ordered by creation time.
+     * Without a page token or size, all sites of the owner are returned as a single page.
+     * Description and config are left null and never read from the database.
      *
      * @param ownerId the owner ID
-     * @return list of site responses
+     * @param pageToken the token of the page to read, or null for the first page
+     * @param pageSize the number of sites per page, or null for the default
+     * @return the page of site responses without description and config
+     * @throws IllegalArgumentException if the page token or size is invalid
      */
-    public List<SiteResponse> getSitesByOwner(final UUID ownerId) {
-        log.debug("Fetching sites for owner: {}", ownerId);
-        List<Site> sites = siteRepository.findByOwnerId(ownerId);
-        return sites.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public SitePage getSiteSummariesByOwner(final UUID ownerId, final String pageToken, final Integer pageSize) {
+        log.debug("Fetching site summaries for owner: {} (page token: {})", ownerId, pageToken);
+        int size = pageSize(pageToken, pageSize);
+        Limit limit = size == UNPAGED ? Limit.unlimited() : Limit.of(size + 1);
+        List<SiteSummaryView> summaries;
+        if (pageToken == null || pageToken.isBlank()) {
+            summaries = siteRepository.findFirstSummariesByOwnerId(ownerId, limit);
+        } else {
+            SiteCursor cursor = SiteCursor.fromToken(pageToken);
+            summaries = siteRepository.findSummariesByOwnerIdAfter(ownerId, cursor.getCreatedAt(), cursor.getId(),
+                    limit);
+        }
+        return toPage(summaries, size, SiteService::mapToResponse);
     }
 
     /**
@@ -299,7 +553,8 @@ public class SiteService {
     public AlternativeSlugSuggestion suggestAlternativeSlug(final String requestedSlug) {
         log.debug("Suggesting alternative slug for: {}", requestedSlug);
         String normalizedSlug = slugService.normalizeSlug(requestedSlug);
-        String suggestedSlug = findAvailableSlug(normalizedSlug);
+        List<String> alternatives = findAvailableSlugs(normalizedSlug);
+        String suggestedSlug = alternatives.get(0);
         String message;
         if (suggestedSlug.equals(normalizedSlug)) {
             message = "The slug '" + normalizedSlug + "' is available.";
@@ -312,6 +567,7 @@ public class SiteService {
                 .originalSlug(normalizedSlug)
                 .suggestedSlug(suggestedSlug)
                 .message(message)
+                .alternatives(alternatives)
                 .build();
     }
 
@@ -330,20 +586,24 @@ public class SiteService {
      * Delete a site by ID.
      *
      * @param siteId the site ID
-     * @throws IllegalArgumentException if site not found
+     * @throws SiteNotFoundException if site not found
      */
     @Transactional
     public void deleteSite(final UUID siteId) {
         log.info("Deleting site with ID: {}", siteId);
 
-        if (!siteRepository.existsById(siteId)) {
+        // Loaded rather than checked for existence, so the change carries the slug it frees
+        Site site = siteRepository.findById(siteId).orElseThrow(() -> {
             log.warn("Site not found with ID: {}", siteId);
-            throw new IllegalArgumentException("Site not found with ID: " + siteId);
-        }
+            return new SiteNotFoundException("Site not found with ID: " + siteId);
+        });
 
         try {
-            siteRepository.deleteById(siteId);
+            siteRepository.delete(site);
+            // Locks the row before the outbox entry is written, so entries of a site follow commit order
+            siteRepository.flush();
             log.info("Site deleted successfully with ID: {}", siteId);
+            publishChange(siteId, SiteChangeType.DELETED, site.getSlug(), null);
         } catch (Exception e) {
             log.error("Error deleting site with ID: {}", siteId, e);
             throw new RuntimeException("Failed to delete site due to database error", e);
@@ -351,25 +611,166 @@ public class SiteService {
     }
 
     /**
-     * Find an available slug by appending numbers if needed.
+     * Find available slugs by appending numbers if needed. All candidates are
+     * checked with a single query and ranked by lowest numeric suffix.
      *
      * @param baseSlug the base slug
-     * @return an available slug
+     * @return available slugs, best first; never empty
      */
-    private String findAvailableSlug(final String baseSlug) {
-        if (!siteRepository.existsBySlug(baseSlug)) {
-            return baseSlug;
+    private List<String> findAvailableSlugs(final String baseSlug) {
+        List<String> candidates = new ArrayList<>(MAX_SLUG_GENERATION_ATTEMPTS + 1);
+        candidates.add(baseSlug);
+        for (int i = 1; i <= MAX_SLUG_GENERATION_ATTEMPTS; i++) {
+            candidates.add(baseSlug + "-" + i);
         }
 
-        for (int i = 1; i <= MAX_SLUG_GENERATION_ATTEMPTS; i++) {
-            String candidateSlug = baseSlug + "-" + i;
-            if (!siteRepository.existsBySlug(candidateSlug)) {
-                return candidateSlug;
+        Set<String> taken = new HashSet<>(siteRepository.findExistingSlugs(candidates));
+        List<String> available = new ArrayList<>(MAX_SLUG_ALTERNATIVES);
+        for (String candidate : candidates) {
+            if (!taken.contains(candidate)) {
+                available.add(candidate);
+                if (available.size() == MAX_SLUG_ALTERNATIVES) {
+                    break;
+                }
             }
         }
 
-        // Fallback: use timestamp if all attempts fail
-        return baseSlug + "-" + System.currentTimeMillis();
+        // Fallback: use timestamp if all candidates are taken
+        if (available.isEmpty()) {
+            available.add(baseSlug + "-" + System.currentTimeMillis());
+        }
+        return available;
+    }
+
+    /**
+     * Resolve the requested page size against the configured default and maximum. A listing asked
+     * for without page token or size is not paged, as it was before listings were paginated.
+     *
+     * @param pageToken the requested page token, may be null
+     * @param requested the requested page size, may be null
+     * @return the page size to use, or {@link #UNPAGED}
+     * @throws IllegalArgumentException if the requested size is not positive
+     */
+    private int pageSize(final String pageToken, final Integer requested) {
+        if (requested == null && (pageToken == null || pageToken.isBlank())) {
+            return UNPAGED;
+        }
+        if (requested == null) {
+            return Math.min(paginationProperties.getDefaultPageSize(), paginationProperties.getMaxPageSize());
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + requested);
+        }
+        return Math.min(requested, paginationProperties.getMaxPageSize());
+    }
+
+    /**
+     * Build a page from rows read with one extra row, which only tells whether a next page exists.
+     *
+     * @param rows the rows read, at most {@code size + 1}
+     * @param size the page size
+     * @param mapper the mapping of a row to a site response
+     * @return the page
+     */
+    private static <T> SitePage toPage(final List<T> rows, final int size, final Function<T, SiteResponse> mapper) {
+        List<SiteResponse> sites = rows.stream()
+                .limit(size)
+                .map(mapper)
+                .collect(Collectors.toList());
+        String nextPageToken = null;
+        if (rows.size() > size) {
+            SiteResponse last = sites.get(sites.size() - 1);
+            nextPageToken = new SiteCursor(last.getCreatedAt(), last.getId()).toToken();
+        }
+        return SitePage.builder()
+                .sites(sites)
+                .nextPageToken(nextPageToken)
+                .build();
+    }
+
+    /**
+     * Check that a site is at one of the versions accepted by an If-Match header.
+     *
+     * @param site the site
+     * @param versions the accepted versions, or null to accept any
+     * @throws SitePreconditionFailedException if the site is at another version
+     */
+    private static void checkVersion(final Site site, final Set<Long> versions) {
+        if (versions != null && !versions.contains(site.getVersion())) {
+            throw new SitePreconditionFailedException("Site " + site.getId() + " is at version "
+                    + site.getVersion() + ", not the one given in If-Match");
+        }
+    }
+
+    /**
+     * Tell whether a failed write was rejected by the unique constraint on slugs. Site IDs are generated,
+     * so the slug is the only unique column a write can collide on; the constraint name is not checked
+     * because it differs between databases.
+     *
+     * @param e the integrity violation
+     * @return true if the slug was already taken
+     */
+    static boolean isSlugConflict(final DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
+
+    /**
+     * Report an update that lost a race with a concurrent update of the same site. A conditional update
+     * fails its precondition; an unconditional one is reported as a conflict.
+     *
+     * @param siteId the site ID
+     * @param versions the versions accepted by If-Match, or null if the update was unconditional
+     * @param e the optimistic locking failure
+     * @return the exception to throw
+     */
+    private static RuntimeException concurrentUpdate(final UUID siteId, final Set<Long> versions,
+                                                     final OptimisticLockingFailureException e) {
+        log.warn("Site {} was modified concurrently", siteId);
+        if (versions != null) {
+            return new SitePreconditionFailedException("Site " + siteId + " was modified concurrently");
+        }
+        return e;
+    }
+
+    /**
+     * Publish a site change so it is recorded in the outbox before the transaction commits, and caches
+     * are invalidated once it has.
+     *
+     * @param siteId the site ID
+     * @param type the kind of change
+     * @param previousSlug the slug before the change
+     * @param slug the slug after the change
+     */
+    private void publishChange(final UUID siteId, final SiteChangeType type,
+                               final String previousSlug, final String slug) {
+        eventPublisher.publishEvent(SiteChangedEvent.builder()
+                .siteId(siteId)
+                .type(type)
+                .previousSlug(previousSlug)
+                .slug(slug)
+                .build());
+    }
+
+    /**
+     * Map a site summary to a SiteResponse DTO without description and config.
+     *
+     * @param summary the site summary
+     * @return the site response DTO
+     */
+    static SiteResponse mapToResponse(final SiteSummaryView summary) {
+        return SiteResponse.builder()
+                .id(summary.getId())
+                .name(summary.getName())
+                .slug(summary.getSlug())
+                .currency(summary.getCurrency())
+                .language(summary.getLanguage())
+                .status(summary.getStatus())
+                .ownerId(summary.getOwnerId())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .version(summary.getVersion())
+                .build();
     }
 
     /**
@@ -378,7 +779,7 @@ public class SiteService {
      * @param site the site entity
      * @return the site response DTO
      */
-    private SiteResponse mapToResponse(final Site site) {
+    static SiteResponse mapToResponse(final Site site) {
         return SiteResponse.builder()
                 .id(site.getId())
                 .name(site.getName())
@@ -391,6 +792,7 @@ public class SiteService {
                 .config(site.getConfig())
                 .createdAt(site.getCreatedAt())
                 .updatedAt(site.getUpdatedAt())
+                .version(site.getVersion())
                 .build();
     }
 }
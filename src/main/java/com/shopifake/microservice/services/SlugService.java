@@ -3,8 +3,6 @@ package com.shopifake.microservice.services;
 import org.springframework.stereotype.Service;
 
 import java.text.Normalizer;
-import java.util.Locale;
-import java.util.regex.Pattern;
 
 /**
  * Service for slug generation and normalization.
@@ -12,9 +10,8 @@ import java.util.regex.Pattern;
 @Service
 public class SlugService {
 
-    private static final Pattern NON_LATIN = Pattern.compile("[^\\w-]");
-    private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
-    private static final Pattern EDGES_DASHES = Pattern.compile("(?:^-)|(?:-$)");
+    private static final char DASH = '-';
+    private static final char ASCII_LIMIT = 0x80;
 
     /**
      * Generate a slug from a given text.
@@ -34,6 +31,11 @@ public class SlugService {
      * Normalize a slug by converting to lowercase, removing special characters,
      * and replacing spaces with dashes.
      *
+     * <p>Single-pass equivalent of decomposing to NFD, dropping every character
+     * outside {@code [A-Za-z0-9_-]}, trimming one leading and one trailing dash,
+     * lowercasing and collapsing runs of dashes. Whitespace is dropped by the
+     * first step, so it never turns into dashes.</p>
+     *
      * @param slug the slug to normalize
      * @return the normalized slug
      */
@@ -41,22 +43,79 @@ public class SlugService {
         if (slug == null || slug.isBlank()) {
             throw new IllegalArgumentException("Slug cannot be null or blank");
         }
+        if (isNormalized(slug)) {
+            return slug;
+        }
+
+        // Only non-ASCII input needs decomposing: accented letters yield their ASCII base letter
+        String source = slug;
+        for (int i = 0; i < slug.length(); i++) {
+            if (slug.charAt(i) >= ASCII_LIMIT) {
+                source = Normalizer.normalize(slug, Normalizer.Form.NFD);
+                break;
+            }
+        }
+
+        char[] kept = new char[source.length()];
+        int length = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (isSlugChar(c)) {
+                kept[length++] = c;
+            }
+        }
 
-        String normalized = Normalizer.normalize(slug, Normalizer.Form.NFD);
-        normalized = NON_LATIN.matcher(normalized).replaceAll("");
-        normalized = WHITESPACE.matcher(normalized).replaceAll("-");
-        normalized = EDGES_DASHES.matcher(normalized).replaceAll("");
-        normalized = normalized.toLowerCase(Locale.ENGLISH);
+        // One leading and one trailing dash are trimmed, never the same one twice
+        int start = length > 0 && kept[0] == DASH ? 1 : 0;
+        int end = length > start && kept[length - 1] == DASH ? length - 1 : length;
 
-        // Remove consecutive dashes
-        normalized = normalized.replaceAll("-+", "-");
+        int out = 0;
+        for (int i = start; i < end; i++) {
+            char c = kept[i];
+            if (c == DASH && out > 0 && kept[out - 1] == DASH) {
+                continue;
+            }
+            kept[out++] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
 
         // Ensure slug is not empty
-        if (normalized.isEmpty()) {
-            normalized = "site-" + System.currentTimeMillis();
+        if (out == 0) {
+            return "site-" + System.currentTimeMillis();
         }
 
-        return normalized;
+        return new String(kept, 0, out);
+    }
+
+    /**
+     * Check whether a slug is already in normalized form, i.e. normalizing it would return it unchanged.
+     *
+     * @param slug the slug to check
+     * @return true if the slug is already normalized
+     */
+    private static boolean isNormalized(final String slug) {
+        int length = slug.length();
+        if (slug.charAt(0) == DASH || slug.charAt(length - 1) == DASH) {
+            return false;
+        }
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            char c = slug.charAt(i);
+            boolean valid = c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '_' || c == DASH;
+            if (!valid || c == DASH && previous == DASH) {
+                return false;
+            }
+            previous = c;
+        }
+        return true;
     }
-}
 
+    /**
+     * Check whether a character survives normalization, i.e. matches {@code [\w-]} without Unicode classes.
+     *
+     * @param c the character
+     * @return true if the character is an ASCII letter, digit, underscore or dash
+     */
+    private static boolean isSlugChar(final char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == DASH;
+    }
+}
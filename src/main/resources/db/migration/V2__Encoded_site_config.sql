@@ -0,0 +1,6 @@
+-- Store site configs encoded, compressing large ones
+-- Compatible with both H2 (dev/test) and PostgreSQL (production)
+-- Note: The first byte of config_data tells how the rest is encoded (see SiteConfigCodec).
+-- Existing configs stay in the config column and move to config_data when their site is next saved.
+
+ALTER TABLE sites ADD COLUMN config_data BYTEA;
@@ -0,0 +1,7 @@
+-- Composite index for keyset pagination of owner listings
+-- Compatible with both H2 (dev/test) and PostgreSQL (production)
+-- Note: Listings are ordered by (created_at, id) within an owner. The new index also serves plain
+-- owner_id lookups, so the single-column index is dropped.
+
+CREATE INDEX idx_sites_owner_created_id ON sites(owner_id, created_at, id);
+DROP INDEX idx_sites_owner_id;
@@ -0,0 +1,6 @@
+-- Optimistic locking of sites
+-- Compatible with both H2 (dev/test) and PostgreSQL (production)
+-- Note: Every update increments version and checks it was not changed in between. It is exposed
+-- as the site ETag and compared against If-Match.
+
+ALTER TABLE sites ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
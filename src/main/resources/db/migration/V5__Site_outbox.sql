@@ -0,0 +1,28 @@
+-- Transactional outbox and change feed of site mutations
+-- Compatible with both H2 (dev/test) and PostgreSQL (production)
+-- Note: Entries are written in the transaction of the mutation and get a feed_position when relayed.
+-- The single site_change_feed row is locked while positions are assigned, so they appear in order.
+
+CREATE SEQUENCE site_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE site_outbox (
+    id BIGINT PRIMARY KEY,
+    site_id UUID NOT NULL,
+    change_type VARCHAR(50) NOT NULL,
+    previous_slug VARCHAR(255),
+    slug VARCHAR(255),
+    occurred_at TIMESTAMP NOT NULL,
+    feed_position BIGINT,
+    relayed_at TIMESTAMP
+);
+
+-- Serves both the relay (feed_position IS NULL, by id) and feed reads (feed_position after a cursor)
+CREATE INDEX idx_site_outbox_feed_position ON site_outbox(feed_position, id);
+
+CREATE TABLE site_change_feed (
+    id INT PRIMARY KEY,
+    last_position BIGINT NOT NULL,
+    purged_through BIGINT NOT NULL
+);
+
+INSERT INTO site_change_feed (id, last_position, purged_through) VALUES (1, 0, 0);
@@ -0,0 +1,12 @@
+-- Relay outbox entries in write order rather than ID order
+-- Compatible with both H2 (dev/test) and PostgreSQL (production)
+-- Note: IDs are drawn in blocks of 50 per replica, so they do not follow the order entries are written.
+-- write_order is generated by the database as each row is inserted, after the mutation locked the site row,
+-- so the entries of a site are numbered in the order their transactions commit.
+
+ALTER TABLE site_outbox ADD COLUMN write_order BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL;
+
+DROP INDEX idx_site_outbox_feed_position;
+
+-- Serves both the relay (feed_position IS NULL, by write_order) and feed reads (feed_position after a cursor)
+CREATE INDEX idx_site_outbox_feed_position ON site_outbox(feed_position, write_order);
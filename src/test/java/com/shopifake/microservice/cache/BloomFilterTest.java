@@ -0,0 +1,68 @@
+package com.shopifake.microservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for BloomFilter.
+ */
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 50_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    @DisplayName("Should never report an added value as absent")
+    void shouldHaveNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("shop-" + i);
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("shop-" + i), "False negative for shop-" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate close to the configured target")
+    void shouldRespectFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("shop-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain("unknown-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        double rate = (double) falsePositives / INSERTIONS;
+        assertTrue(rate < FALSE_POSITIVE_RATE * 2, "False positive rate too high: " + rate);
+    }
+
+    @Test
+    @DisplayName("Should size the bit array from the expected insertions and rate")
+    void shouldSizeBitArray() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+
+        // ~9.6 bits per value at 1%
+        assertTrue(filter.sizeInBytes() >= INSERTIONS * 9L / 8);
+        assertTrue(filter.sizeInBytes() <= INSERTIONS * 10L / 8 + 8);
+        assertEquals(7, filter.hashFunctionCount());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid false positive rates")
+    void shouldRejectInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(INSERTIONS, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(INSERTIONS, 1));
+    }
+}
@@ -0,0 +1,140 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.config.RenderedSiteCacheProperties;
+import com.shopifake.microservice.events.SiteChangeType;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for RenderedSiteCache.
+ */
+@DisplayName("RenderedSiteCache Tests")
+class RenderedSiteCacheTest {
+
+    private static final int BODY_SIZE = 10_000;
+
+    private RenderedSiteCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RenderedSiteCache renderedCache;
+    private UUID siteId;
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RenderedSiteCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        renderedCache = new RenderedSiteCache(properties, meterRegistry);
+        siteId = UUID.randomUUID();
+        version = 3;
+    }
+
+    @Test
+    @DisplayName("Should render once per site version and mode and count hits")
+    void shouldRenderOncePerVersion() {
+        // Given
+        AtomicInteger renders = new AtomicInteger();
+
+        // When
+        RenderedSite first = renderedCache.get(siteId, version, false, () -> render(renders));
+        RenderedSite second = renderedCache.get(siteId, version, false, () -> render(renders));
+        renderedCache.get(siteId, version, true, () -> render(renders));
+        renderedCache.get(siteId, version + 1, false, () -> render(renders));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(3, renders.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "sites.rendered")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(renderedCache.sizeInBytes(), meterRegistry.get("sites.rendered.memory").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should evict every rendered body of a site when it changes")
+    void shouldEvictOnSiteChanged() {
+        // Given
+        AtomicInteger renders = new AtomicInteger();
+        RenderedSite first = renderedCache.get(siteId, version, false, () -> render(renders));
+        renderedCache.get(siteId, version, true, () -> render(renders));
+
+        // When
+        renderedCache.onSiteChanged(SiteChangedEvent.builder()
+                .siteId(siteId)
+                .type(SiteChangeType.STATUS_CHANGED)
+                .build());
+
+        // Then
+        assertEquals(0, renderedCache.sizeInBytes());
+        assertNotSame(first, renderedCache.get(siteId, version, false, () -> render(renders)));
+    }
+
+    @Test
+    @DisplayName("Should keep the bodies of other sites when one site is evicted")
+    void shouldEvictOnlyChangedSite() {
+        // Given
+        AtomicInteger renders = new AtomicInteger();
+        UUID otherSiteId = UUID.randomUUID();
+        renderedCache.get(siteId, version, false, () -> render(renders));
+        renderedCache.get(siteId, version + 1, true, () -> render(renders));
+        RenderedSite other = renderedCache.get(otherSiteId, version, false, () -> render(renders));
+
+        // When
+        renderedCache.evict(siteId);
+        renderedCache.evict(siteId);
+
+        // Then
+        assertEquals(other.sizeInBytes(), renderedCache.sizeInBytes());
+        assertSame(other, renderedCache.get(otherSiteId, version, false, () -> render(renders)));
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    @DisplayName("Should keep the total size of cached bodies under the configured cap")
+    void shouldCapTotalBytes() {
+        // Given
+        properties.setMaximumSize(DataSize.ofKilobytes(100));
+        renderedCache = new RenderedSiteCache(properties, new SimpleMeterRegistry());
+        AtomicInteger renders = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            renderedCache.get(UUID.randomUUID(), version, false, () -> render(renders));
+        }
+
+        // Then
+        assertTrue(renderedCache.sizeInBytes() <= DataSize.ofKilobytes(100).toBytes(),
+                "Cache holds " + renderedCache.sizeInBytes() + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should render every time when disabled")
+    void shouldRenderEveryTimeWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        renderedCache = new RenderedSiteCache(properties, new SimpleMeterRegistry());
+        AtomicInteger renders = new AtomicInteger();
+
+        // When
+        renderedCache.get(siteId, version, false, () -> render(renders));
+        renderedCache.get(siteId, version, false, () -> render(renders));
+
+        // Then
+        assertEquals(2, renders.get());
+    }
+
+    private static RenderedSite render(final AtomicInteger renders) {
+        renders.incrementAndGet();
+        return new RenderedSite(new byte[BODY_SIZE], new byte[BODY_SIZE / 10]);
+    }
+}
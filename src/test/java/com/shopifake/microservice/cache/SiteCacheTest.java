@@ -0,0 +1,159 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.config.SiteCacheProperties;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.events.SiteChangeType;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SiteCache.
+ */
+@DisplayName("SiteCache Tests")
+class SiteCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SiteCache siteCache;
+    private SiteResponse site;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        siteCache = new SiteCache(new SiteCacheProperties(), meterRegistry);
+        site = SiteResponse.builder()
+                .id(UUID.randomUUID())
+                .slug("test-site")
+                .name("Test Site")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should serve cached site by ID and by slug")
+    void shouldServeCachedSiteByIdAndSlug() {
+        siteCache.put(site, siteCache.generation());
+
+        assertEquals(site, siteCache.getById(site.getId()).orElseThrow());
+        assertEquals(site, siteCache.getBySlug("test-site").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should evict old and new slug when a site is renamed")
+    void shouldEvictOnRename() {
+        siteCache.put(site, siteCache.generation());
+
+        siteCache.onSiteChanged(SiteChangedEvent.builder()
+                .siteId(site.getId())
+                .type(SiteChangeType.UPDATED)
+                .previousSlug("test-site")
+                .slug("renamed-site")
+                .build());
+
+        assertTrue(siteCache.getById(site.getId()).isEmpty());
+        assertTrue(siteCache.getBySlug("test-site").isEmpty());
+        assertTrue(siteCache.getBySlug("renamed-site").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should never serve a site under a slug it no longer has")
+    void shouldNotServeStaleSlug() {
+        siteCache.put(site, siteCache.generation());
+        SiteResponse renamed = SiteResponse.builder()
+                .id(site.getId())
+                .slug("renamed-site")
+                .build();
+        siteCache.put(renamed, siteCache.generation());
+
+        assertTrue(siteCache.getBySlug("test-site").isEmpty());
+        assertEquals(renamed, siteCache.getBySlug("renamed-site").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should drop values loaded before a concurrent invalidation")
+    void shouldDropValuesLoadedBeforeInvalidation() {
+        long generation = siteCache.generation();
+        siteCache.evict(site.getId(), site.getSlug());
+
+        siteCache.put(site, generation);
+
+        assertTrue(siteCache.getById(site.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should never keep a value put concurrently with its invalidation")
+    void shouldNotKeepValuePutDuringInvalidation() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 50_000; i++) {
+                // Given: a value loaded before the invalidation
+                long generation = siteCache.generation();
+                CyclicBarrier barrier = new CyclicBarrier(2);
+
+                // When: it is put while the site is evicted
+                Future<?> put = executor.submit(() -> {
+                    await(barrier);
+                    siteCache.put(site, generation);
+                });
+                Future<?> evict = executor.submit(() -> {
+                    await(barrier);
+                    siteCache.evict(site.getId(), site.getSlug());
+                });
+                put.get();
+                evict.get();
+
+                // Then
+                assertTrue(siteCache.getById(site.getId()).isEmpty(), "Stale value kept at iteration " + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void shouldBypassCacheWhenDisabled() {
+        SiteCacheProperties properties = new SiteCacheProperties();
+        properties.setEnabled(false);
+        SiteCache disabledCache = new SiteCache(properties, new SimpleMeterRegistry());
+
+        disabledCache.put(site, disabledCache.generation());
+
+        assertFalse(disabledCache.isEnabled());
+        assertTrue(disabledCache.getById(site.getId()).isEmpty());
+        assertTrue(disabledCache.getBySlug("test-site").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should record hits and misses")
+    void shouldRecordHitsAndMisses() {
+        siteCache.getById(site.getId());
+        siteCache.put(site, siteCache.generation());
+        siteCache.getById(site.getId());
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "sites.by-id")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "sites.by-id")
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    private static void await(final CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException | BrokenBarrierException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.dtos.CreateSiteRequest;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteOutboxEntry;
+import com.shopifake.microservice.events.SiteChangeType;
+import com.shopifake.microservice.repositories.SiteOutboxRepository;
+import com.shopifake.microservice.repositories.SiteRepository;
+import com.shopifake.microservice.services.SiteOutboxRelay;
+import com.shopifake.microservice.services.SiteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Changes sites behind the back of this replica, as another replica would, and checks that
+ * notifications and version checks evict them from its caches.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-invalidation",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.shopifake.microservice=WARN",
+        "sites.change-feed.relay-interval=1h",
+        "sites.invalidation.version-check-interval=1h"
+})
+@ActiveProfiles("test")
+@DisplayName("SiteInvalidationListener Tests")
+class SiteInvalidationListenerTest {
+
+    private static final String VALID_CONFIG = "{\"bannerUrl\":\"https://example.com/banner.jpg\","
+            + "\"name\":\"Test Site\",\"title\":\"Test Title\","
+            + "\"subtitle\":\"Test Subtitle\",\"heroDescription\":\"Test Description\","
+            + "\"logoUrl\":\"https://example.com/logo.png\","
+            + "\"aboutPortraitOneUrl\":\"https://example.com/portrait1.jpg\","
+            + "\"aboutLandscapeUrl\":\"https://example.com/landscape.jpg\","
+            + "\"aboutPortraitTwoUrl\":\"https://example.com/portrait2.jpg\","
+            + "\"history\":\"Test history\",\"values\":[\"Value 1\",\"Value 2\"],"
+            + "\"contactHeading\":\"Contact\",\"contactDescription\":\"Contact desc\","
+            + "\"contactDetails\":\"Details\",\"contactExtraNote\":\"Note\","
+            + "\"primaryColor\":\"#000000\",\"secondaryColor\":\"#FFFFFF\"}";
+
+    @Autowired
+    private SiteInvalidationListener listener;
+
+    @Autowired
+    private SiteService siteService;
+
+    @Autowired
+    private SiteCache siteCache;
+
+    @Autowired
+    private SlugMembershipFilter slugMembershipFilter;
+
+    @Autowired
+    private SiteOutboxRelay relay;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private SiteOutboxRepository outboxRepository;
+
+    private UUID siteId;
+
+    @BeforeEach
+    void setUp() {
+        siteId = siteService.createSite(CreateSiteRequest.builder()
+                .name("Shop")
+                .slug("invalidated-shop")
+                .currency("USD")
+                .language("EN")
+                .config(VALID_CONFIG)
+                .build(), UUID.randomUUID()).getId();
+        relay.relay();
+        listener.checkVersion();
+        siteService.getSiteById(siteId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should receive invalidations as version checks without LISTEN/NOTIFY")
+    void shouldFallBackToVersionChecks() {
+        assertTrue(listener.isRunning());
+        assertFalse(listener.isListening());
+    }
+
+    @Test
+    @DisplayName("Should evict sites changed since the last version check")
+    void shouldEvictOnVersionCheck() {
+        // Given
+        renameBehindTheCache("Renamed elsewhere");
+        assertEquals("Shop", siteService.getSiteById(siteId).getName());
+
+        // When
+        int evicted = listener.checkVersion();
+
+        // Then
+        assertEquals(1, evicted);
+        assertEquals("Renamed elsewhere", siteService.getSiteById(siteId).getName());
+        assertEquals(0, listener.checkVersion());
+    }
+
+    @Test
+    @DisplayName("Should evict sites notified by another replica")
+    void shouldEvictOnNotification() {
+        // Given
+        renameBehindTheCache("Renamed elsewhere");
+
+        // When
+        listener.receive(new SiteInvalidation("other-replica", siteId, "invalidated-shop", "moved-shop",
+                System.currentTimeMillis()).format());
+
+        // Then
+        assertTrue(siteCache.getById(siteId).isEmpty());
+        assertFalse(slugMembershipFilter.isDefinitelyAbsent("moved-shop"));
+        assertEquals("Renamed elsewhere", siteService.getSiteById(siteId).getName());
+    }
+
+    @Test
+    @DisplayName("Should ignore its own and malformed notifications")
+    void shouldIgnoreOwnAndMalformedNotifications() {
+        // When
+        listener.receive(new SiteInvalidation(SiteInvalidation.LOCAL_SENDER, siteId, "invalidated-shop",
+                "invalidated-shop", System.currentTimeMillis()).format());
+        listener.receive("not|an|invalidation");
+
+        // Then
+        SiteResponse cached = siteCache.getById(siteId).orElseThrow();
+        assertEquals("Shop", cached.getName());
+    }
+
+    @Test
+    @DisplayName("Should round-trip notification payloads with absent slugs")
+    void shouldRoundTripPayload() {
+        // Given
+        SiteInvalidation deleted = new SiteInvalidation("other-replica", siteId, "invalidated-shop", null, 42L);
+
+        // When
+        SiteInvalidation parsed = SiteInvalidation.parse(deleted.format());
+
+        // Then
+        assertEquals(deleted, parsed);
+        assertNull(parsed.slug());
+    }
+
+    /**
+     * Rename the site in the database and relay the change, without notifying this replica's caches.
+     *
+     * @param name the new name
+     */
+    private void renameBehindTheCache(final String name) {
+        Site site = siteRepository.findById(siteId).orElseThrow();
+        site.setName(name);
+        siteRepository.save(site);
+        outboxRepository.save(SiteOutboxEntry.builder()
+                .siteId(siteId)
+                .changeType(SiteChangeType.UPDATED)
+                .previousSlug(site.getSlug())
+                .slug(site.getSlug())
+                .occurredAt(LocalDateTime.now())
+                .build());
+        relay.relay();
+    }
+}
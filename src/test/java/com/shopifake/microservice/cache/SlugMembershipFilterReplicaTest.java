@@ -0,0 +1,127 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.config.SlugFilterProperties;
+import com.shopifake.microservice.dtos.CreateSiteRequest;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.repositories.RecordingStatementInspector;
+import com.shopifake.microservice.repositories.SiteRepository;
+import com.shopifake.microservice.services.SiteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two slug filters over the same database, as two replicas would, and checks that neither
+ * reports a slug committed by the other as absent before its next rebuild.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slug-filter-replicas",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.shopifake.microservice.repositories.RecordingStatementInspector",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.shopifake.microservice=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("SlugMembershipFilter replica Tests")
+class SlugMembershipFilterReplicaTest {
+
+    private static final String VALID_CONFIG = "{\"bannerUrl\":\"https://example.com/banner.jpg\","
+            + "\"name\":\"Test Site\",\"title\":\"Test Title\","
+            + "\"subtitle\":\"Test Subtitle\",\"heroDescription\":\"Test Description\","
+            + "\"logoUrl\":\"https://example.com/logo.png\","
+            + "\"aboutPortraitOneUrl\":\"https://example.com/portrait1.jpg\","
+            + "\"aboutLandscapeUrl\":\"https://example.com/landscape.jpg\","
+            + "\"aboutPortraitTwoUrl\":\"https://example.com/portrait2.jpg\","
+            + "\"history\":\"Test history\",\"values\":[\"Value 1\",\"Value 2\"],"
+            + "\"contactHeading\":\"Contact\",\"contactDescription\":\"Contact desc\","
+            + "\"contactDetails\":\"Details\",\"contactExtraNote\":\"Note\","
+            + "\"primaryColor\":\"#000000\",\"secondaryColor\":\"#FFFFFF\"}";
+
+    @Autowired
+    private SiteService siteService;
+
+    @Autowired
+    private SlugMembershipFilter slugMembershipFilter;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry otherRegistry;
+    private SlugMembershipFilter otherReplica;
+
+    @BeforeEach
+    void setUp() {
+        otherRegistry = new SimpleMeterRegistry();
+        otherReplica = new SlugMembershipFilter(new SlugFilterProperties(), siteRepository,
+                transactionManager, otherRegistry);
+        otherReplica.rebuild();
+        slugMembershipFilter.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should not report a slug created on another replica as absent")
+    void shouldConfirmSlugsCreatedOnAnotherReplica() {
+        // Given
+        siteService.createSite(CreateSiteRequest.builder()
+                .name("Shop")
+                .slug("replicated-shop")
+                .currency("USD")
+                .language("EN")
+                .config(VALID_CONFIG)
+                .build(), UUID.randomUUID());
+
+        // When
+        boolean absent = otherReplica.isDefinitelyAbsent("replicated-shop");
+        RecordingStatementInspector.clear();
+        boolean absentAgain = otherReplica.isDefinitelyAbsent("replicated-shop");
+
+        // Then
+        assertFalse(absent);
+        assertFalse(absentAgain);
+        assertTrue(RecordingStatementInspector.statements().isEmpty());
+        assertTrue(otherReplica.isDefinitelyAbsent("never-created"));
+        assertEquals(1.0, otherRegistry.get("sites.slug-filter.stale-rejections").counter().count());
+        assertEquals(1.0, otherRegistry.get("sites.slug-filter.rejections").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should serve a site committed behind this replica's filter by slug")
+    void shouldServeSitesCommittedBehindTheFilter() {
+        // Given
+        siteRepository.save(Site.builder()
+                .name("Shop")
+                .slug("committed-elsewhere")
+                .currency(Currency.USD)
+                .language(Language.EN)
+                .ownerId(UUID.randomUUID())
+                .config(VALID_CONFIG)
+                .build());
+
+        // When & Then
+        assertEquals("committed-elsewhere", siteService.getSiteBySlug("committed-elsewhere").getSlug());
+        assertTrue(siteService.findSiteETagBySlug("committed-elsewhere").isPresent());
+    }
+}
@@ -0,0 +1,117 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.config.SlugFilterProperties;
+import com.shopifake.microservice.events.SiteChangeType;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import com.shopifake.microservice.repositories.SiteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SlugMembershipFilter.
+ */
+@DisplayName("SlugMembershipFilter Tests")
+class SlugMembershipFilterTest {
+
+    private SiteRepository siteRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private SlugMembershipFilter slugFilter;
+
+    @BeforeEach
+    void setUp() {
+        siteRepository = mock(SiteRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        slugFilter = new SlugMembershipFilter(new SlugFilterProperties(), siteRepository,
+                mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should not reject anything before the filter is built")
+    void shouldNotRejectBeforeBuild() {
+        assertFalse(slugFilter.isDefinitelyAbsent("anything"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown slugs once built from the repository")
+    void shouldRejectUnknownSlugsAfterBuild() {
+        when(siteRepository.count()).thenReturn(2L);
+        when(siteRepository.streamAllSlugs()).thenReturn(Stream.of("shop", "store"));
+
+        slugFilter.rebuild();
+
+        assertFalse(slugFilter.isDefinitelyAbsent("shop"));
+        assertFalse(slugFilter.isDefinitelyAbsent("store"));
+        assertTrue(slugFilter.isDefinitelyAbsent("unknown-slug"));
+        assertEquals(1.0, meterRegistry.get("sites.slug-filter.rejections").counter().count());
+        assertTrue(meterRegistry.get("sites.slug-filter.memory").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Should accept slugs added by create and rename")
+    void shouldAcceptNewSlugs() {
+        when(siteRepository.streamAllSlugs()).thenReturn(Stream.empty());
+        slugFilter.rebuild();
+
+        slugFilter.onSiteChanged(SiteChangedEvent.builder()
+                .siteId(UUID.randomUUID())
+                .type(SiteChangeType.UPDATED)
+                .previousSlug("old-slug")
+                .slug("new-slug")
+                .build());
+
+        assertFalse(slugFilter.isDefinitelyAbsent("new-slug"));
+    }
+
+    @Test
+    @DisplayName("Should shed deleted slugs on rebuild but keep recently added ones")
+    void shouldShedDeletedSlugsOnRebuild() {
+        when(siteRepository.streamAllSlugs()).thenReturn(Stream.of("deleted-slug"));
+        slugFilter.rebuild();
+        slugFilter.add("uncommitted-slug");
+
+        // the new slug's transaction has not committed when the rebuild reads the table
+        when(siteRepository.streamAllSlugs()).thenReturn(Stream.empty());
+        slugFilter.rebuild();
+
+        assertTrue(slugFilter.isDefinitelyAbsent("deleted-slug"));
+        assertFalse(slugFilter.isDefinitelyAbsent("uncommitted-slug"));
+    }
+
+    @Test
+    @DisplayName("Should not carry the slug of a site deleted since the last rebuild into the next one")
+    void shouldNotCarryOverDeletedSlugs() {
+        // Given: a site created and deleted between two rebuilds
+        when(siteRepository.streamAllSlugs()).thenReturn(Stream.empty());
+        slugFilter.rebuild();
+        UUID siteId = UUID.randomUUID();
+        slugFilter.onSiteChanged(SiteChangedEvent.builder()
+                .siteId(siteId)
+                .type(SiteChangeType.CREATED)
+                .slug("short-lived")
+                .build());
+        slugFilter.onSiteChanged(SiteChangedEvent.builder()
+                .siteId(siteId)
+                .type(SiteChangeType.DELETED)
+                .previousSlug("short-lived")
+                .build());
+
+        // When
+        when(siteRepository.streamAllSlugs()).thenReturn(Stream.empty());
+        slugFilter.rebuild();
+
+        // Then
+        assertTrue(slugFilter.isDefinitelyAbsent("short-lived"));
+    }
+}
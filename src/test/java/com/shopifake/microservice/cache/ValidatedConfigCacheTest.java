@@ -0,0 +1,86 @@
+package com.shopifake.microservice.cache;
+
+import com.shopifake.microservice.config.ConfigValidationCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ValidatedConfigCache.
+ */
+@DisplayName("ValidatedConfigCache Tests")
+class ValidatedConfigCacheTest {
+
+    private static final String CONFIG = "{\"name\":\"Site\"}";
+
+    private ConfigValidationCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConfigValidationCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should recognize only configs marked valid and count hits")
+    void shouldRecognizeMarkedConfigs() {
+        // Given
+        ValidatedConfigCache cache = new ValidatedConfigCache(properties, meterRegistry);
+
+        // When
+        boolean before = cache.isKnownValid(CONFIG);
+        cache.markValid(CONFIG);
+
+        // Then
+        assertFalse(before);
+        assertTrue(cache.isKnownValid(new String(CONFIG)));
+        assertFalse(cache.isKnownValid(CONFIG + " "));
+        assertFalse(cache.isKnownValid(null));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "sites.config-validation")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should not report a colliding config as valid")
+    void shouldVerifyTextOnHashCollision() {
+        // Given
+        ValidatedConfigCache cache = new ValidatedConfigCache(properties, meterRegistry, config -> 42L);
+        cache.markValid(CONFIG);
+
+        // When
+        boolean colliding = cache.isKnownValid("{\"name\":\"\"}");
+
+        // Then
+        assertFalse(colliding);
+        assertTrue(cache.isKnownValid(CONFIG));
+    }
+
+    @Test
+    @DisplayName("Should remember nothing when disabled")
+    void shouldRememberNothingWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        ValidatedConfigCache cache = new ValidatedConfigCache(properties, meterRegistry);
+
+        // When
+        cache.markValid(CONFIG);
+
+        // Then
+        assertFalse(cache.isKnownValid(CONFIG));
+    }
+
+    @Test
+    @DisplayName("Should hash every character of the config")
+    void shouldHashEveryCharacter() {
+        assertEquals(ValidatedConfigCache.hash(CONFIG), ValidatedConfigCache.hash(new String(CONFIG)));
+        assertNotEquals(ValidatedConfigCache.hash("{\"a\":\"b\"}"), ValidatedConfigCache.hash("{\"a\":\"c\"}"));
+        assertNotEquals(ValidatedConfigCache.hash("ab"), ValidatedConfigCache.hash("ba"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.shopifake.microservice.diagnostics;
+
+import com.shopifake.microservice.config.PinningMonitorProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for VirtualThreadPinningMonitor.
+ */
+@DisplayName("VirtualThreadPinningMonitor Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private static final Object LOCK = new Object();
+
+    private PinningMonitorProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PinningMonitorProperties();
+        properties.setThreshold(Duration.ofMillis(5));
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should time pinning under the application frame holding the carrier")
+    void shouldReportPinnedFrame() throws Exception {
+        // Given
+        monitor.start();
+        assertTrue(monitor.isRunning());
+
+        // When
+        Timer pinned = null;
+        for (int attempt = 0; attempt < 100 && pinned == null; attempt++) {
+            Thread.ofVirtual().start(VirtualThreadPinningMonitorTest::sleepWhileHoldingMonitor).join();
+            pinned = meterRegistry.find("sites.virtual-threads.pinned")
+                    .tag("frame", "VirtualThreadPinningMonitorTest.sleepWhileHoldingMonitor")
+                    .timer();
+        }
+
+        // Then
+        assertNotNull(pinned, "No pinning reported");
+        assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) >= 5);
+    }
+
+    @Test
+    @DisplayName("Should not record anything when disabled")
+    void shouldStayStoppedWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        monitor.start();
+
+        // Then
+        assertFalse(monitor.isRunning());
+    }
+
+    private static void sleepWhileHoldingMonitor() {
+        synchronized (LOCK) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.shopifake.microservice.entities;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SiteConfigCodec and the encoded config of Site.
+ */
+@DisplayName("SiteConfigCodec Tests")
+class SiteConfigCodecTest {
+
+    private static final String SMALL_CONFIG = "{\"name\":\"Café\",\"values\":[\"Qualité\"]}";
+    private static final String LARGE_CONFIG = "{\"history\":\"" + "Since 1970 we bake bread. ".repeat(200) + "\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should store small configs as plain UTF-8")
+    void shouldStoreSmallConfigsPlain() {
+        // When
+        byte[] encoded = SiteConfigCodec.encode(SMALL_CONFIG);
+
+        // Then
+        assertEquals(SiteConfigCodec.PLAIN, encoded[0]);
+        assertEquals(SMALL_CONFIG, SiteConfigCodec.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("Should compress large configs and record the ratio")
+    void shouldCompressLargeConfigs() {
+        // When
+        byte[] encoded = SiteConfigCodec.encode(LARGE_CONFIG);
+
+        // Then
+        assertEquals(SiteConfigCodec.DEFLATE, encoded[0]);
+        assertTrue(encoded.length < LARGE_CONFIG.length() / 10, "Encoded to " + encoded.length + " bytes");
+        assertEquals(LARGE_CONFIG, SiteConfigCodec.decode(encoded));
+        assertTrue(meterRegistry.get("sites.config.compression.ratio").summary().max() > 10);
+        assertEquals(1.0, meterRegistry.get("sites.config.decompressions").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should compress configs from the threshold on")
+    void shouldCompressFromThreshold() {
+        String below = "\"" + "a".repeat(SiteConfigCodec.COMPRESSION_THRESHOLD - 3) + "\"";
+        String atThreshold = "\"" + "a".repeat(SiteConfigCodec.COMPRESSION_THRESHOLD - 2) + "\"";
+
+        assertEquals(SiteConfigCodec.PLAIN, SiteConfigCodec.encode(below)[0]);
+        assertEquals(SiteConfigCodec.DEFLATE, SiteConfigCodec.encode(atThreshold)[0]);
+        assertEquals(atThreshold, SiteConfigCodec.decode(SiteConfigCodec.encode(atThreshold)));
+    }
+
+    @Test
+    @DisplayName("Should reject corrupt stored configs")
+    void shouldRejectCorruptConfigs() {
+        byte[] encoded = SiteConfigCodec.encode(LARGE_CONFIG);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+        byte[] longer = encoded.clone();
+        longer[4]--;
+
+        assertThrows(IllegalStateException.class, () -> SiteConfigCodec.decode(truncated));
+        assertThrows(IllegalStateException.class, () -> SiteConfigCodec.decode(longer));
+        assertThrows(IllegalStateException.class, () -> SiteConfigCodec.decode(new byte[] {7, 1}));
+        assertThrows(IllegalStateException.class, () -> SiteConfigCodec.decode(new byte[0]));
+        assertNull(SiteConfigCodec.decode(null));
+        assertNull(SiteConfigCodec.encode(null));
+    }
+
+    @Test
+    @DisplayName("Should decode the config of a site only once it is read")
+    void shouldDecodeSiteConfigLazily() {
+        // Given
+        Site site = Site.builder().config(LARGE_CONFIG).build();
+        Site loaded = new Site();
+        ReflectionTestUtils.setField(loaded, "configData", ReflectionTestUtils.getField(site, "configData"));
+
+        // When
+        double before = meterRegistry.get("sites.config.decompressions").counter().count();
+        String config = loaded.getConfig();
+        loaded.getConfig();
+
+        // Then
+        assertEquals(0.0, before);
+        assertEquals(LARGE_CONFIG, config);
+        assertEquals(1.0, meterRegistry.get("sites.config.decompressions").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should read legacy configs and move them to the encoded column on update")
+    void shouldMigrateLegacyConfig() {
+        // Given
+        Site site = new Site();
+        ReflectionTestUtils.setField(site, "legacyConfig", SMALL_CONFIG);
+
+        // When
+        String legacy = site.getConfig();
+        site.setConfig(LARGE_CONFIG);
+
+        // Then
+        assertEquals(SMALL_CONFIG, legacy);
+        assertEquals(LARGE_CONFIG, site.getConfig());
+        assertNull(ReflectionTestUtils.getField(site, "legacyConfig"));
+        assertEquals(SiteConfigCodec.DEFLATE, ((byte[]) ReflectionTestUtils.getField(site, "configData"))[0]);
+    }
+}
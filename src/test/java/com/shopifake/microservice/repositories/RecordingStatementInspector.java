@@ -0,0 +1,42 @@
+package com.shopifake.microservice.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate statement inspector recording every SQL statement issued, for assertions in tests.
+ * Only the thread that last cleared it is recorded, so scheduled tasks of cached test contexts
+ * do not show up.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static volatile Thread recordedThread;
+
+    @Override
+    public String inspect(final String sql) {
+        if (Thread.currentThread() == recordedThread) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Get the statements recorded since the last clear.
+     *
+     * @return the recorded statements
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    /**
+     * Forget the recorded statements and record the current thread from now on.
+     */
+    public static void clear() {
+        recordedThread = Thread.currentThread();
+        STATEMENTS.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package com.shopifake.microservice.repositories;
+
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the summary listing query never selects the description or config columns.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-summary-query",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.shopifake.microservice.repositories.RecordingStatementInspector",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Site summary query Tests")
+class SiteSummaryQueryTest {
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    private UUID ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = UUID.randomUUID();
+        siteRepository.save(Site.builder()
+                .name("Summary Site")
+                .slug("summary-site")
+                .description("A long description")
+                .currency(Currency.USD)
+                .language(Language.EN)
+                .ownerId(ownerId)
+                .config("{\"history\":\"" + "Long history. ".repeat(500) + "\"}")
+                .build());
+        RecordingStatementInspector.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should select only the summary columns")
+    void shouldNotSelectLargeColumns() {
+        // When
+        List<SiteSummaryView> summaries = siteRepository.findFirstSummariesByOwnerId(ownerId, Limit.of(10));
+
+        // Then
+        assertEquals(1, summaries.size());
+        assertEquals("summary-site", summaries.get(0).getSlug());
+        List<String> statements = RecordingStatementInspector.statements();
+        assertEquals(1, statements.size());
+        String sql = statements.get(0).toLowerCase(Locale.ROOT);
+        assertTrue(sql.contains("slug"), sql);
+        assertFalse(sql.contains("description"), sql);
+        assertFalse(sql.contains("config"), sql);
+    }
+
+    @Test
+    @DisplayName("Should select the large columns when loading full sites")
+    void shouldSelectLargeColumnsForFullSites() {
+        // When
+        siteRepository.findFirstByOwnerId(ownerId, Limit.of(10));
+
+        // Then
+        String sql = RecordingStatementInspector.statements().get(0).toLowerCase(Locale.ROOT);
+        assertTrue(sql.contains("description") && sql.contains("config_data"), sql);
+    }
+}
@@ -0,0 +1,68 @@
+package com.shopifake.microservice.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for JsonMergePatch.
+ */
+@DisplayName("JsonMergePatch Tests")
+class JsonMergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '"', value = {
+        "{'a':'b'}                | {'a':'c'}            | {'a':'c'}",
+        "{'a':'b'}                | {'b':'c'}            | {'a':'b','b':'c'}",
+        "{'a':'b'}                | {'a':null}           | {}",
+        "{'a':'b','b':'c'}        | {'a':null}           | {'b':'c'}",
+        "{'a':['b']}              | {'a':'c'}            | {'a':'c'}",
+        "{'a':'c'}                | {'a':['b']}          | {'a':['b']}",
+        "{'a':{'b':'c'}}          | {'a':{'b':'d','c':null}} | {'a':{'b':'d'}}",
+        "{'a':[{'b':'c'}]}        | {'a':[1]}            | {'a':[1]}",
+        "['a','b']                | ['c','d']            | ['c','d']",
+        "{'a':'b'}                | ['c']                | ['c']",
+        "{'a':'foo'}              | null                 | null",
+        "{'a':'foo'}              | 'bar'                | 'bar'",
+        "{'e':null}               | {'a':1}              | {'e':null,'a':1}",
+        "[1,2]                    | {'a':'b','c':null}   | {'a':'b'}",
+        "{}                       | {'a':{'bb':{'ccc':null}}} | {'a':{'bb':{}}}"
+    })
+    @DisplayName("Should apply the RFC 7396 example patches")
+    void shouldApplyRfcExamples(final String target, final String patch, final String expected) throws Exception {
+        assertEquals(json(expected), JsonMergePatch.apply(json(target), json(patch)));
+    }
+
+    @Test
+    @DisplayName("Should leave the target and patch unmodified")
+    void shouldNotModifyArguments() throws Exception {
+        // Given
+        JsonNode target = json("{'a':{'b':'c'},'d':'e'}");
+        JsonNode patch = json("{'a':{'b':null,'f':['g']},'d':null}");
+
+        // When
+        JsonNode result = JsonMergePatch.apply(target, patch);
+
+        // Then
+        assertEquals(json("{'a':{'f':['g']}}"), result);
+        assertEquals(json("{'a':{'b':'c'},'d':'e'}"), target);
+        assertEquals(json("{'a':{'b':null,'f':['g']},'d':null}"), patch);
+    }
+
+    @Test
+    @DisplayName("Should treat a missing target as an empty object")
+    void shouldPatchMissingTarget() throws Exception {
+        assertEquals(json("{'a':'b'}"), JsonMergePatch.apply(null, json("{'a':'b','c':null}")));
+    }
+
+    private JsonNode json(final String value) throws Exception {
+        return objectMapper.readTree(value.replace('\'', '"'));
+    }
+}
@@ -0,0 +1,241 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.dtos.BulkCreateSitesResponse;
+import com.shopifake.microservice.dtos.BulkSiteResult;
+import com.shopifake.microservice.dtos.CreateSiteRequest;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.repositories.RecordingStatementInspector;
+import com.shopifake.microservice.repositories.SiteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Creates sites in bulk against a database, checking the per-site results and that inserts are batched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-bulk",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.shopifake.microservice.repositories.RecordingStatementInspector",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+        "sites.bulk.batch-size=50"
+})
+@ActiveProfiles("test")
+@DisplayName("SiteBulkService Tests")
+class SiteBulkServiceTest {
+
+    private static final String VALID_CONFIG = "{\"bannerUrl\":\"https://example.com/banner.jpg\","
+            + "\"name\":\"Test Site\",\"title\":\"Test Title\","
+            + "\"subtitle\":\"Test Subtitle\",\"heroDescription\":\"Test Description\","
+            + "\"logoUrl\":\"https://example.com/logo.png\","
+            + "\"aboutPortraitOneUrl\":\"https://example.com/portrait1.jpg\","
+            + "\"aboutLandscapeUrl\":\"https://example.com/landscape.jpg\","
+            + "\"aboutPortraitTwoUrl\":\"https://example.com/portrait2.jpg\","
+            + "\"history\":\"Test history\",\"values\":[\"Value 1\",\"Value 2\"],"
+            + "\"contactHeading\":\"Contact\",\"contactDescription\":\"Contact desc\","
+            + "\"contactDetails\":\"Details\",\"contactExtraNote\":\"Note\","
+            + "\"primaryColor\":\"#000000\",\"secondaryColor\":\"#FFFFFF\"}";
+
+    @Autowired
+    private SiteBulkService bulkService;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private SiteService siteService;
+
+    @MockitoSpyBean
+    private SiteConfigValidationService configValidationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID ownerId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = UUID.randomUUID();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should report each site on its own and create only the valid ones")
+    void shouldReportPerSiteResults() {
+        // Given
+        siteRepository.save(Site.builder()
+                .name("Existing")
+                .slug("existing-shop")
+                .currency(Currency.USD)
+                .language(Language.EN)
+                .ownerId(UUID.randomUUID())
+                .config(VALID_CONFIG)
+                .build());
+        List<CreateSiteRequest> requests = List.of(
+                request("First Shop", null, VALID_CONFIG),
+                request("Duplicate", "FirstShop", VALID_CONFIG),
+                request("Taken", "existing-shop", VALID_CONFIG),
+                request("Bad Config", null, "{\"name\":\"Test\"}"),
+                request("", null, VALID_CONFIG),
+                CreateSiteRequest.builder().name("Bad Currency").currency("XXX").language("EN")
+                        .config(VALID_CONFIG).build(),
+                request("Second Shop", "second-shop", VALID_CONFIG));
+
+        // When
+        BulkCreateSitesResponse response = bulkService.createSites(requests, ownerId);
+
+        // Then
+        assertEquals(2, response.getCreated());
+        assertEquals(5, response.getFailed());
+        List<BulkSiteResult> results = response.getResults();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertTrue(results.get(0).isCreated());
+        assertEquals("firstshop", results.get(0).getSite().getSlug());
+        assertEquals(VALID_CONFIG, results.get(0).getSite().getConfig());
+        assertTrue(results.get(1).getError().contains("already requested by site 0"));
+        assertEquals("Slug already taken: existing-shop", results.get(2).getError());
+        assertTrue(results.get(3).getError().startsWith("Site configuration validation failed"));
+        assertTrue(results.get(4).getError().contains("Site name is required"));
+        assertEquals("Invalid currency: XXX", results.get(5).getError());
+        assertTrue(results.get(6).isCreated());
+        assertFalse(results.get(1).isCreated());
+        assertNull(results.get(1).getSite());
+        assertEquals(2, siteRepository.countByOwnerId(ownerId));
+    }
+
+    @Test
+    @DisplayName("Should report a slug claimed concurrently after the check as taken and create the others")
+    void shouldReportSlugClaimedConcurrently() throws Exception {
+        // Given: another transaction commits a site with a requested slug after the slug check,
+        // while the configs are validated
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicBoolean claimed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (claimed.compareAndSet(false, true)) {
+                executor.submit(() -> siteService.createSite(request("Rival", "contested-shop", VALID_CONFIG),
+                        UUID.randomUUID())).get(5, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(configValidationService).validate(anyString());
+        List<CreateSiteRequest> requests = List.of(
+                request("First", "first-contested", VALID_CONFIG),
+                request("Contested", "contested-shop", VALID_CONFIG),
+                request("Last", "last-contested", VALID_CONFIG));
+        double conflicts = meterRegistry.counter("sites.bulk.slug-conflicts").count();
+
+        // When
+        BulkCreateSitesResponse response;
+        try {
+            response = bulkService.createSites(requests, ownerId);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(2, response.getCreated());
+        assertTrue(response.getResults().get(0).isCreated());
+        assertEquals("Slug already taken: contested-shop", response.getResults().get(1).getError());
+        assertTrue(response.getResults().get(2).isCreated());
+        assertEquals(2, siteRepository.countByOwnerId(ownerId));
+        assertEquals(conflicts + 1, meterRegistry.counter("sites.bulk.slug-conflicts").count());
+    }
+
+    @Test
+    @DisplayName("Should insert sites in JDBC batches of the configured size")
+    void shouldBatchInserts() {
+        // Given
+        List<CreateSiteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            requests.add(request("Bulk Shop " + i, null, VALID_CONFIG));
+        }
+        double timed = meterRegistry.timer("sites.bulk.create", "batch.size", "50").count();
+        statistics.clear();
+        RecordingStatementInspector.clear();
+
+        // When
+        BulkCreateSitesResponse response = bulkService.createSites(requests, ownerId);
+
+        // Then
+        assertEquals(250, response.getCreated());
+        // Each site and its outbox entry
+        assertEquals(2 * 250, statistics.getEntityInsertCount());
+        // One statement for the slug check and one per batch of 50 sites and of their 50 outbox entries,
+        // besides outbox IDs drawn from their sequence
+        List<String> statements = RecordingStatementInspector.statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> !sql.contains("site_outbox_seq"))
+                .toList();
+        assertEquals(1 + 5 + 5, statements.size(), statements::toString);
+        assertEquals(5, statements.stream().filter(sql -> sql.startsWith("insert into sites ")).count());
+        assertEquals(5, statements.stream().filter(sql -> sql.startsWith("insert into site_outbox ")).count());
+        assertEquals(250, siteRepository.countByOwnerId(ownerId));
+        assertEquals(timed + 1, meterRegistry.timer("sites.bulk.create", "batch.size", "50").count());
+    }
+
+    @Test
+    @DisplayName("Should reject requests with more sites than allowed")
+    void shouldRejectTooManySites() {
+        // Given
+        List<CreateSiteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            requests.add(request("Shop " + i, null, VALID_CONFIG));
+        }
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> bulkService.createSites(requests, ownerId));
+        assertThrows(IllegalArgumentException.class, () -> bulkService.createSites(List.of(), ownerId));
+        assertEquals(0, siteRepository.countByOwnerId(ownerId));
+    }
+
+    private static CreateSiteRequest request(final String name, final String slug, final String config) {
+        return CreateSiteRequest.builder()
+                .name(name)
+                .slug(slug)
+                .currency("USD")
+                .language("EN")
+                .config(config)
+                .build();
+    }
+}
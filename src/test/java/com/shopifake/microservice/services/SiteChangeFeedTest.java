@@ -0,0 +1,250 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.config.SiteChangeFeedProperties;
+import com.shopifake.microservice.dtos.CreateSiteRequest;
+import com.shopifake.microservice.dtos.SiteChangePage;
+import com.shopifake.microservice.dtos.SiteChangeResponse;
+import com.shopifake.microservice.dtos.UpdateSiteRequest;
+import com.shopifake.microservice.entities.SiteChangeFeedState;
+import com.shopifake.microservice.events.SiteChangeType;
+import com.shopifake.microservice.exceptions.SiteChangeFeedExpiredException;
+import com.shopifake.microservice.repositories.SiteChangeFeedStateRepository;
+import com.shopifake.microservice.repositories.SiteOutboxRepository;
+import com.shopifake.microservice.repositories.SiteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mutates sites against a database and reads them back from the change feed, checking that
+ * committed mutations are relayed in order and rolled back ones never appear.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-change-feed",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+        "logging.level.com.shopifake.microservice=WARN",
+        "sites.change-feed.relay-interval=1h",
+        "sites.change-feed.relay-batch-size=2"
+})
+@ActiveProfiles("test")
+@DisplayName("Site change feed Tests")
+class SiteChangeFeedTest {
+
+    private static final String VALID_CONFIG = "{\"bannerUrl\":\"https://example.com/banner.jpg\","
+            + "\"name\":\"Test Site\",\"title\":\"Test Title\","
+            + "\"subtitle\":\"Test Subtitle\",\"heroDescription\":\"Test Description\","
+            + "\"logoUrl\":\"https://example.com/logo.png\","
+            + "\"aboutPortraitOneUrl\":\"https://example.com/portrait1.jpg\","
+            + "\"aboutLandscapeUrl\":\"https://example.com/landscape.jpg\","
+            + "\"aboutPortraitTwoUrl\":\"https://example.com/portrait2.jpg\","
+            + "\"history\":\"Test history\",\"values\":[\"Value 1\",\"Value 2\"],"
+            + "\"contactHeading\":\"Contact\",\"contactDescription\":\"Contact desc\","
+            + "\"contactDetails\":\"Details\",\"contactExtraNote\":\"Note\","
+            + "\"primaryColor\":\"#000000\",\"secondaryColor\":\"#FFFFFF\"}";
+
+    @Autowired
+    private SiteService siteService;
+
+    @Autowired
+    private SiteChangeFeedService changeFeedService;
+
+    @Autowired
+    private SiteOutboxRelay relay;
+
+    @Autowired
+    private SiteChangeFeedProperties properties;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private SiteOutboxRepository outboxRepository;
+
+    @Autowired
+    private SiteChangeFeedStateRepository feedStateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        relay.relay();
+        start = feedStateRepository.findById(SiteChangeFeedState.ID)
+                .map(SiteChangeFeedState::getLastPosition)
+                .orElse(0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+        properties.setRetention(Duration.ofDays(7));
+    }
+
+    @Test
+    @DisplayName("Should relay every kind of mutation in commit order")
+    void shouldRelayMutationsInOrder() {
+        // Given
+        UUID siteId = siteService.createSite(create("feed-order"), UUID.randomUUID()).getId();
+        siteService.updateSite(siteId, UpdateSiteRequest.builder().name("Renamed shop").build());
+        siteService.updateSite(siteId, UpdateSiteRequest.builder().slug("feed-order-renamed").build());
+        siteService.updateSiteStatus(siteId, "ACTIVE");
+        siteService.deleteSite(siteId);
+
+        // When
+        int relayed = relay.relay();
+        SiteChangePage page = changeFeedService.getChanges(start, null, Duration.ZERO);
+
+        // Then
+        assertEquals(5, relayed);
+        List<SiteChangeType> types = page.getChanges().stream().map(SiteChangeResponse::getType).toList();
+        assertEquals(List.of(SiteChangeType.CREATED, SiteChangeType.UPDATED, SiteChangeType.RENAMED,
+                SiteChangeType.STATUS_CHANGED, SiteChangeType.DELETED), types);
+        SiteChangeResponse rename = page.getChanges().get(2);
+        assertEquals(siteId, rename.getSiteId());
+        assertEquals("feed-order", rename.getPreviousSlug());
+        assertEquals("feed-order-renamed", rename.getSlug());
+        SiteChangeResponse deletion = page.getChanges().get(4);
+        assertEquals("feed-order-renamed", deletion.getPreviousSlug());
+        assertNull(deletion.getSlug());
+        for (int i = 0; i < page.getChanges().size(); i++) {
+            assertEquals(start + i + 1, page.getChanges().get(i).getPosition());
+        }
+        assertEquals(start + 5, page.getCursor());
+    }
+
+    @Test
+    @DisplayName("Should relay entries in write order rather than ID order")
+    void shouldRelayInWriteOrder() {
+        // Given: IDs drawn from the blocks of two replicas, the later write with the smaller ID
+        UUID siteId = UUID.randomUUID();
+        String insert = "INSERT INTO site_outbox (id, site_id, change_type, previous_slug, slug, occurred_at) "
+                + "VALUES (?, ?, 'RENAMED', ?, ?, CURRENT_TIMESTAMP)";
+        jdbcTemplate.update(insert, 1_000_050L, siteId, "first-slug", "second-slug");
+        jdbcTemplate.update(insert, 1_000_000L, siteId, "second-slug", "third-slug");
+
+        // When
+        relay.relay();
+
+        // Then
+        List<String> slugs = changeFeedService.getChanges(start, null, Duration.ZERO).getChanges().stream()
+                .map(SiteChangeResponse::getSlug)
+                .toList();
+        assertEquals(List.of("second-slug", "third-slug"), slugs);
+    }
+
+    @Test
+    @DisplayName("Should not record mutations that rolled back")
+    void shouldSkipRolledBackMutations() {
+        // Given
+        siteService.createSite(create("feed-rollback"), UUID.randomUUID());
+        long entries = outboxRepository.count();
+
+        // When
+        assertThrows(IllegalArgumentException.class,
+                () -> siteService.createSite(create("feed-rollback"), UUID.randomUUID()));
+        relay.relay();
+
+        // Then
+        assertEquals(entries, outboxRepository.count());
+        assertEquals(1, changeFeedService.getChanges(start, null, Duration.ZERO).getChanges().size());
+    }
+
+    @Test
+    @DisplayName("Should page through changes by resuming from the returned cursor")
+    void shouldResumeFromCursor() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            siteService.createSite(create("feed-page-" + i), UUID.randomUUID());
+        }
+        relay.relay();
+
+        // When
+        SiteChangePage first = changeFeedService.getChanges(start, 3, Duration.ZERO);
+        SiteChangePage second = changeFeedService.getChanges(first.getCursor(), 3, Duration.ZERO);
+        SiteChangePage last = changeFeedService.getChanges(second.getCursor(), 3, Duration.ZERO);
+
+        // Then
+        assertEquals(3, first.getChanges().size());
+        assertEquals(2, second.getChanges().size());
+        assertEquals("feed-page-3", second.getChanges().get(0).getSlug());
+        assertTrue(last.getChanges().isEmpty());
+        assertEquals(second.getCursor(), last.getCursor());
+    }
+
+    @Test
+    @DisplayName("Should wake up a waiting consumer when changes are relayed")
+    void shouldWakeUpWaitingConsumer() throws Exception {
+        // Given
+        CompletableFuture<SiteChangePage> waiting = CompletableFuture.supplyAsync(
+                () -> changeFeedService.getChanges(start, null, Duration.ofSeconds(10)));
+        Thread.sleep(200);
+        assertFalse(waiting.isDone());
+
+        // When
+        siteService.createSite(create("feed-wait"), UUID.randomUUID());
+        relay.relay();
+
+        // Then
+        SiteChangePage page = waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(1, page.getChanges().size());
+        assertEquals("feed-wait", page.getChanges().get(0).getSlug());
+    }
+
+    @Test
+    @DisplayName("Should refuse cursors before purged changes")
+    void shouldRefuseExpiredCursor() {
+        // Given
+        siteService.createSite(create("feed-purge"), UUID.randomUUID());
+        relay.relay();
+        // A retention in the future purges everything relayed so far
+        properties.setRetention(Duration.ofSeconds(-1));
+
+        // When
+        int purged = relay.purge();
+
+        // Then
+        assertTrue(purged >= 1);
+        assertThrows(SiteChangeFeedExpiredException.class,
+                () -> changeFeedService.getChanges(start, null, Duration.ZERO));
+        assertTrue(changeFeedService.getChanges(start + 1, null, Duration.ZERO).getChanges().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a limit above the maximum page size")
+    void shouldRejectLargeLimit() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> changeFeedService.getChanges(start, properties.getMaxPageSize() + 1, Duration.ZERO));
+    }
+
+    private static CreateSiteRequest create(final String slug) {
+        return CreateSiteRequest.builder()
+                .name("Shop")
+                .slug(slug)
+                .currency("USD")
+                .language("EN")
+                .config(VALID_CONFIG)
+                .build();
+    }
+}
@@ -0,0 +1,280 @@
+package com.shopifake.microservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.shopifake.microservice.cache.ValidatedConfigCache;
+import com.shopifake.microservice.config.ConfigValidationCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for SiteConfigValidationService, checking that the streaming validation path
+ * accepts and rejects exactly what the binding path does, with the same messages.
+ */
+@DisplayName("SiteConfigValidationService Tests")
+class SiteConfigValidationServiceTest {
+
+    private static final String VALID_CONFIG = "{\"bannerUrl\":\"https://example.com/banner.jpg\","
+            + "\"name\":\"Test Site\",\"title\":\"Test Title\","
+            + "\"subtitle\":\"Test Subtitle\",\"heroDescription\":\"Test Description\","
+            + "\"logoUrl\":\"https://example.com/logo.png\","
+            + "\"aboutPortraitOneUrl\":\"https://example.com/portrait1.jpg\","
+            + "\"aboutLandscapeUrl\":\"https://example.com/landscape.jpg\","
+            + "\"aboutPortraitTwoUrl\":\"https://example.com/portrait2.jpg\","
+            + "\"history\":\"Test history\",\"values\":[\"Value 1\",\"Value 2\"],"
+            + "\"contactHeading\":\"Contact\",\"contactDescription\":\"Contact desc\","
+            + "\"contactDetails\":\"Details\",\"contactExtraNote\":\"Note\","
+            + "\"primaryColor\":\"#000000\",\"secondaryColor\":\"#FFFFFF\"}";
+
+    private static final String VIOLATIONS_PREFIX = "Site configuration validation failed: ";
+
+    private static ValidatorFactory validatorFactory;
+    private static ObjectMapper objectMapper;
+    private static SiteConfigValidationService validationService;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        validationService = new SiteConfigValidationService(objectMapper, validatorFactory.getValidator(),
+                uncached());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should accept a valid config on both paths")
+    void shouldAcceptValidConfig() {
+        assertDoesNotThrow(() -> validationService.validateAndParse(VALID_CONFIG));
+        assertDoesNotThrow(() -> validationService.validate(VALID_CONFIG));
+        assertTrue(validationService.isValid(VALID_CONFIG));
+    }
+
+    @Test
+    @DisplayName("Should accept a valid config without binding or Bean Validation")
+    void shouldAcceptValidConfigWithoutBinding() {
+        // Given
+        Validator validator = mock(Validator.class);
+        SiteConfigValidationService streamingService = new SiteConfigValidationService(objectMapper, validator,
+                uncached());
+
+        // When
+        streamingService.validate(VALID_CONFIG);
+
+        // Then
+        verifyNoInteractions(validator);
+    }
+
+    @Test
+    @DisplayName("Should skip validation of a config already found valid")
+    void shouldSkipValidationOfKnownValidConfig() {
+        // Given
+        ObjectMapper mapper = spy(objectMapper);
+        SiteConfigValidationService cachingService = new SiteConfigValidationService(mapper,
+                validatorFactory.getValidator(),
+                new ValidatedConfigCache(new ConfigValidationCacheProperties(), new SimpleMeterRegistry()));
+        cachingService.validate(VALID_CONFIG);
+        clearInvocations(mapper);
+
+        // When
+        cachingService.validate(new String(VALID_CONFIG));
+
+        // Then
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    @DisplayName("Should never report an invalid config as valid from the cache")
+    void shouldNeverServeStaleValidResult() {
+        // Given
+        ValidatedConfigCache validatedConfigs = new ValidatedConfigCache(new ConfigValidationCacheProperties(),
+                new SimpleMeterRegistry(), config -> 0L);
+        SiteConfigValidationService cachingService = new SiteConfigValidationService(objectMapper,
+                validatorFactory.getValidator(), validatedConfigs);
+        String invalidConfig = VALID_CONFIG.replace("\"name\":\"Test Site\"", "\"name\":\"\"");
+        cachingService.validate(VALID_CONFIG);
+
+        // When / Then
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalArgumentException.class, () -> cachingService.validate(invalidConfig));
+            assertFalse(validatedConfigs.isKnownValid(invalidConfig));
+        }
+        assertTrue(validatedConfigs.isKnownValid(VALID_CONFIG));
+    }
+
+    @Test
+    @DisplayName("Should merge a patch into the stored config")
+    void shouldApplyMergePatch() throws Exception {
+        // When
+        String patched = validationService.applyMergePatch(VALID_CONFIG,
+                "{\"primaryColor\":\"#123456\",\"contactExtraNote\":null}").orElseThrow();
+
+        // Then
+        ObjectNode expected = (ObjectNode) objectMapper.readTree(VALID_CONFIG);
+        expected.put("primaryColor", "#123456");
+        expected.remove("contactExtraNote");
+        assertEquals(expected, objectMapper.readTree(patched));
+        assertDoesNotThrow(() -> validationService.validate(patched));
+    }
+
+    @Test
+    @DisplayName("Should report no change when a patch leaves the config equal, whatever its formatting")
+    void shouldReportNoChangeForNoOpPatch() {
+        assertTrue(validationService.applyMergePatch(VALID_CONFIG, "{\"name\":\"Test Site\"}").isEmpty());
+        assertTrue(validationService.applyMergePatch(VALID_CONFIG, "{}").isEmpty());
+        assertTrue(validationService.applyMergePatch(VALID_CONFIG.replace(",", ", "), "{}").isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "  ", "{", "{\"name\":}"})
+    @DisplayName("Should reject empty or malformed merge patches")
+    void shouldRejectMalformedMergePatch(final String mergePatch) {
+        assertThrows(IllegalArgumentException.class, () -> validationService.applyMergePatch(VALID_CONFIG, mergePatch));
+    }
+
+    @Test
+    @DisplayName("Should reject null and blank configs with the same message")
+    void shouldRejectBlankConfig() {
+        assertSameOutcome(null);
+        assertSameOutcome("");
+        assertSameOutcome("   ");
+        assertFalse(validationService.isValid(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{",
+        "[]",
+        "null",
+        "\"config\"",
+        "{\"name\":}",
+        "not json",
+        "{} trailing",
+        "{\"name\":\"Test\"}"
+    })
+    @DisplayName("Should reject malformed or incomplete JSON with the same message")
+    void shouldRejectMalformedJson(final String json) {
+        assertSameOutcome(json);
+    }
+
+    @Test
+    @DisplayName("Should treat every field mutation the same way on both paths")
+    void shouldMatchBindingPathForFieldMutations() throws Exception {
+        List<Consumer<ObjectNode>> mutations = new ArrayList<>();
+        ObjectNode template = (ObjectNode) objectMapper.readTree(VALID_CONFIG);
+        template.fieldNames().forEachRemaining(field -> {
+            mutations.add(node -> node.remove(field));
+            mutations.add(node -> node.putNull(field));
+            mutations.add(node -> node.put(field, ""));
+            mutations.add(node -> node.put(field, " \t "));
+            mutations.add(node -> node.put(field, " "));
+            mutations.add(node -> node.put(field, 42));
+            mutations.add(node -> node.put(field, true));
+            mutations.add(node -> node.putObject(field).put("nested", "value"));
+            mutations.add(node -> node.putArray(field));
+            mutations.add(node -> node.putArray(field).add("value"));
+            mutations.add(node -> node.putArray(field).addNull());
+            mutations.add(node -> node.putArray(field).add(7));
+            mutations.add(node -> node.putArray(field).addArray().add("nested"));
+        });
+        mutations.add(node -> node.put("unknownField", "ignored"));
+        mutations.add(node -> node.putObject("unknownObject").putArray("deep").addObject().put("a", 1));
+
+        for (Consumer<ObjectNode> mutation : mutations) {
+            ObjectNode config = template.deepCopy();
+            mutation.accept(config);
+            assertSameOutcome(objectMapper.writeValueAsString(config));
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat duplicate fields the same way on both paths")
+    void shouldMatchBindingPathForDuplicateFields() {
+        String body = VALID_CONFIG.substring(0, VALID_CONFIG.length() - 1);
+        assertSameOutcome(body + ",\"name\":\"Other\"}");
+        assertSameOutcome(body + ",\"name\":\"\"}");
+        assertSameOutcome(body + ",\"values\":[]}");
+        assertSameOutcome(body + ",\"contactExtraNote\":null}");
+    }
+
+    @Test
+    @DisplayName("Should reject configs when unknown fields fail binding")
+    void shouldRejectUnknownFieldsWhenBindingFails() {
+        ObjectMapper strictMapper = Jackson2ObjectMapperBuilder.json().failOnUnknownProperties(true).build();
+        SiteConfigValidationService strictService =
+                new SiteConfigValidationService(strictMapper, validatorFactory.getValidator(), uncached());
+        String config = VALID_CONFIG.replace("{\"bannerUrl\"", "{\"unknownField\":1,\"bannerUrl\"");
+
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+                () -> strictService.validateAndParse(config));
+        IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> strictService.validate(config));
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    /**
+     * A disabled result cache, so every call exercises the validators.
+     */
+    private static ValidatedConfigCache uncached() {
+        ConfigValidationCacheProperties properties = new ConfigValidationCacheProperties();
+        properties.setEnabled(false);
+        return new ValidatedConfigCache(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Assert that the streaming path accepts the config exactly when the binding path does,
+     * and otherwise fails with the same message.
+     */
+    private static void assertSameOutcome(final String json) {
+        String expected = outcome(() -> validationService.validateAndParse(json));
+        String actual = outcome(() -> validationService.validate(json));
+        assertEquals(expected, actual, "Config: " + json);
+    }
+
+    /**
+     * Run a validation and describe its outcome. Bean Validation reports violations in no
+     * particular order, so they are sorted to compare messages listing several of them.
+     */
+    private static String outcome(final Runnable validation) {
+        try {
+            validation.run();
+            return "valid";
+        } catch (IllegalArgumentException e) {
+            String message = e.getMessage();
+            if (!message.startsWith(VIOLATIONS_PREFIX)) {
+                return message;
+            }
+            return VIOLATIONS_PREFIX + Arrays.stream(message.substring(VIOLATIONS_PREFIX.length()).split(", "))
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+    }
+}
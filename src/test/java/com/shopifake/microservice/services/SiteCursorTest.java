@@ -0,0 +1,43 @@
+package com.shopifake.microservice.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SiteCursor.
+ */
+@DisplayName("SiteCursor Tests")
+class SiteCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip through a URL-safe page token")
+    void shouldRoundTripToken() {
+        // Given
+        SiteCursor cursor = new SiteCursor(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789), UUID.randomUUID());
+
+        // When
+        String token = cursor.toToken();
+
+        // Then
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        assertEquals(cursor, SiteCursor.fromToken(token));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a token", "AAAA", "Ag", "AQAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"})
+    @DisplayName("Should reject tokens it did not issue")
+    void shouldRejectForeignTokens(final String token) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> SiteCursor.fromToken(token));
+        assertTrue(exception.getMessage().startsWith("Invalid page token"));
+    }
+}
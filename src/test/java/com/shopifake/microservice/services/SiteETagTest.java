@@ -0,0 +1,78 @@
+package com.shopifake.microservice.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SiteETag.
+ */
+@DisplayName("SiteETag Tests")
+class SiteETagTest {
+
+    private final UUID siteId = UUID.randomUUID();
+    private final long version = 7;
+
+    @Test
+    @DisplayName("Should change with the site version")
+    void shouldChangeWithVersion() {
+        assertEquals(SiteETag.of(siteId, version), SiteETag.of(siteId, 7L));
+        assertNotEquals(SiteETag.of(siteId, version), SiteETag.of(siteId, version + 1));
+        assertNotEquals(SiteETag.of(siteId, version), SiteETag.of(UUID.randomUUID(), version));
+    }
+
+    @Test
+    @DisplayName("Should produce a quoted strong entity tag")
+    void shouldProduceQuotedTag() {
+        String eTag = SiteETag.of(siteId, version);
+
+        assertTrue(eTag.startsWith("\"" + siteId));
+        assertTrue(eTag.endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, weak tags and the wildcard")
+    void shouldMatchIfNoneMatch() {
+        String eTag = SiteETag.of(siteId, version);
+
+        assertTrue(SiteETag.matches(eTag, eTag));
+        assertTrue(SiteETag.matches("\"other\", " + eTag, eTag));
+        assertTrue(SiteETag.matches("W/" + eTag, eTag));
+        assertTrue(SiteETag.matches("*", eTag));
+        assertFalse(SiteETag.matches("\"other\"", eTag));
+        assertFalse(SiteETag.matches(null, eTag));
+    }
+
+    @Test
+    @DisplayName("Should read the versions an If-Match header accepts")
+    void shouldReadIfMatchVersions() {
+        String eTag = SiteETag.of(siteId, version);
+
+        assertNull(SiteETag.ifMatchVersions(null, siteId));
+        assertNull(SiteETag.ifMatchVersions("*", siteId));
+        assertEquals(Set.of(version), SiteETag.ifMatchVersions(eTag, siteId));
+        assertEquals(Set.of(version, 9L),
+                SiteETag.ifMatchVersions(eTag + ", " + SiteETag.of(siteId, 9), siteId));
+        assertEquals(Set.of(version), SiteETag.ifMatchVersions(SiteETag.forGzip(SiteETag.forRawConfig(eTag)),
+                siteId));
+    }
+
+    @Test
+    @DisplayName("Should accept no version for weak, foreign or malformed If-Match tags")
+    void shouldIgnoreNonMatchingIfMatchTags() {
+        String eTag = SiteETag.of(siteId, version);
+
+        assertEquals(Set.of(), SiteETag.ifMatchVersions("W/" + eTag, siteId));
+        assertEquals(Set.of(), SiteETag.ifMatchVersions(SiteETag.of(UUID.randomUUID(), version), siteId));
+        assertEquals(Set.of(), SiteETag.ifMatchVersions("\"" + siteId + "-\"", siteId));
+        assertEquals(Set.of(), SiteETag.ifMatchVersions("\"" + siteId + "-abc\"", siteId));
+    }
+}
@@ -0,0 +1,196 @@
+package com.shopifake.microservice.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopifake.microservice.entities.SiteConfigCodec;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.repositories.RecordingStatementInspector;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports sites as NDJSON from a database, checking the output and that heap use stays flat
+ * while 100k sites with 1KB configs are streamed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-export",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.shopifake.microservice.repositories.RecordingStatementInspector",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+@Slf4j
+@DisplayName("SiteExportService Tests")
+class SiteExportServiceTest {
+
+    private static final int LARGE_EXPORT_SITES = 100_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int SAMPLE_INTERVAL = 20_000;
+    private static final long MAX_HEAP_GROWTH = 48L * 1024 * 1024;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private SiteExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM sites");
+    }
+
+    @Test
+    @DisplayName("Should write one site response per line")
+    void shouldWriteOneSitePerLine() throws Exception {
+        // Given
+        seed(0, 3, SiteStatus.ACTIVE, 16);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long exported = exportService.export(null, null, null, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, exported);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+        for (int i = 0; i < 3; i++) {
+            JsonNode site = objectMapper.readTree(lines[i]);
+            assertTrue(site.get("slug").asText().startsWith("site-"), lines[i]);
+            assertTrue(site.get("config").asText().startsWith("{\"history\":"), lines[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should filter by status and last modification time")
+    void shouldFilterExport() throws Exception {
+        // Given
+        seed(0, 10, SiteStatus.ACTIVE, 16);
+        seed(10, 5, SiteStatus.DRAFT, 16);
+
+        // When / Then
+        assertEquals(5, exportService.export(SiteStatus.DRAFT, null, null, OutputStream.nullOutputStream()));
+        assertEquals(10, exportService.export(SiteStatus.ACTIVE, null, null, OutputStream.nullOutputStream()));
+        assertEquals(4, exportService.export(null, START.plusMinutes(3), START.plusMinutes(7),
+                OutputStream.nullOutputStream()));
+        assertEquals(2, exportService.export(SiteStatus.DRAFT, START.plusMinutes(13), null,
+                OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    @DisplayName("Should only query the filters given")
+    void shouldOnlyQueryGivenFilters() throws Exception {
+        // Given
+        seed(0, 3, SiteStatus.ACTIVE, 16);
+        RecordingStatementInspector.clear();
+
+        // When
+        exportService.export(SiteStatus.ACTIVE, START, null, OutputStream.nullOutputStream());
+
+        // Then
+        List<String> statements = RecordingStatementInspector.statements();
+        assertEquals(1, statements.size(), statements::toString);
+        String where = statements.get(0).substring(statements.get(0).indexOf(" where "));
+        assertTrue(where.contains("status=?") && where.contains("updated_at>=?"), where);
+        assertFalse(where.contains("is null") || where.contains("updated_at<?"), where);
+    }
+
+    @Test
+    @DisplayName("Should export 100k sites without heap growth")
+    void shouldExportLargeTableInConstantMemory() throws Exception {
+        // Given
+        for (int offset = 0; offset < LARGE_EXPORT_SITES; offset += BATCH_SIZE) {
+            seed(offset, BATCH_SIZE, SiteStatus.ACTIVE, 1024);
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = usedHeapAfterGc(memory);
+        long[] maxUsed = {baseline};
+        long[] lines = {0};
+        long[] bytes = {0};
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                count(b);
+            }
+
+            @Override
+            public void write(final byte[] buffer, final int offset, final int length) {
+                for (int i = offset; i < offset + length; i++) {
+                    count(buffer[i]);
+                }
+            }
+
+            private void count(final int b) {
+                bytes[0]++;
+                if (b == '\n' && ++lines[0] % SAMPLE_INTERVAL == 0) {
+                    maxUsed[0] = Math.max(maxUsed[0], usedHeapAfterGc(memory));
+                }
+            }
+        };
+
+        // When
+        long exported = exportService.export(null, null, null, output);
+
+        // Then
+        log.info("Exported {} sites, {} MB, heap growth {} KB", exported, bytes[0] / (1024 * 1024),
+                (maxUsed[0] - baseline) / 1024);
+        assertEquals(LARGE_EXPORT_SITES, exported);
+        assertEquals(LARGE_EXPORT_SITES, lines[0]);
+        assertTrue(bytes[0] > LARGE_EXPORT_SITES * 1024L);
+        assertTrue(maxUsed[0] - baseline < MAX_HEAP_GROWTH,
+                "Heap grew by " + (maxUsed[0] - baseline) / 1024 + " KB during export");
+    }
+
+    private void seed(final int offset, final int count, final SiteStatus status, final int configLength) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = offset; i < offset + count; i++) {
+            Timestamp updatedAt = Timestamp.valueOf(START.plusMinutes(i));
+            String config = "{\"history\":\"" + padded("Site " + i + " ", configLength) + "\"}";
+            rows.add(new Object[] {UUID.randomUUID(), "Site " + i, "site-" + i, status.name(), UUID.randomUUID(),
+                    SiteConfigCodec.encode(config), updatedAt, updatedAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO sites (id, name, slug, currency, language, status, owner_id, "
+                + "config_data, created_at, updated_at) VALUES (?, ?, ?, 'USD', 'EN', ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static String padded(final String prefix, final int length) {
+        StringBuilder value = new StringBuilder(length).append(prefix);
+        long seed = prefix.hashCode();
+        while (value.length() < length) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            value.append((char) ('a' + (seed >>> 60)));
+        }
+        return value.toString();
+    }
+
+    private static long usedHeapAfterGc(final MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
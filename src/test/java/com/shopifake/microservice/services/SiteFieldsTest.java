@@ -0,0 +1,44 @@
+package com.shopifake.microservice.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SiteFields.
+ */
+@DisplayName("SiteFields Tests")
+class SiteFieldsTest {
+
+    @Test
+    @DisplayName("Should select every field when none are requested")
+    void shouldSelectAllByDefault() {
+        assertEquals(SiteFields.ALL, SiteFields.parse(null));
+        assertEquals(SiteFields.ALL, SiteFields.parse(" , "));
+        assertFalse(SiteFields.isSummary(SiteFields.ALL));
+    }
+
+    @Test
+    @DisplayName("Should serve summary fields from the summary projection")
+    void shouldRecognizeSummaryFields() {
+        assertEquals(Set.of("id", "name", "slug", "status"), SiteFields.parse("id, name,slug,status"));
+        assertTrue(SiteFields.isSummary(SiteFields.parse("id,name,slug,status")));
+        assertTrue(SiteFields.isSummary(SiteFields.parse("summary")));
+        assertFalse(SiteFields.isSummary(SiteFields.parse("summary,config")));
+        assertFalse(SiteFields.SUMMARY.contains("description"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields")
+    void shouldRejectUnknownFields() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> SiteFields.parse("id,secret"));
+        assertEquals("Unknown site field: secret", exception.getMessage());
+    }
+}
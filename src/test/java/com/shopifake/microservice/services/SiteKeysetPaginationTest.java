@@ -0,0 +1,160 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.dtos.SitePage;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.repositories.RecordingStatementInspector;
+import com.shopifake.microservice.repositories.SiteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walks the keyset-paginated owner listing against a database, including sites sharing a creation time.
+ * The schema is created by the migrations, so query plans use the production indexes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-keyset-pagination",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.shopifake.microservice.repositories.RecordingStatementInspector",
+        "logging.level.org.hibernate.SQL=WARN",
+        "sites.pagination.default-page-size=10"
+})
+@ActiveProfiles("test")
+@DisplayName("Site keyset pagination Tests")
+class SiteKeysetPaginationTest {
+
+    private static final int SITES = 47;
+    private static final int SITES_PER_TIMESTAMP = 4;
+
+    @Autowired
+    private SiteService siteService;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < SITES; i++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(i / SITES_PER_TIMESTAMP));
+            rows.add(new Object[] {UUID.randomUUID(), "Site " + i, "site-" + i, ownerId, createdAt, createdAt});
+        }
+        rows.add(new Object[] {UUID.randomUUID(), "Other", "other", UUID.randomUUID(), Timestamp.valueOf(start),
+                Timestamp.valueOf(start)});
+        jdbcTemplate.batchUpdate("INSERT INTO sites (id, name, slug, currency, language, status, owner_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, 'USD', 'EN', 'DRAFT', ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM sites");
+    }
+
+    @Test
+    @DisplayName("Should return every site exactly once, in creation order, across pages")
+    void shouldWalkAllPages() {
+        assertWalksAllPages(false);
+    }
+
+    @Test
+    @DisplayName("Should page summaries the same way as full sites")
+    void shouldWalkAllSummaryPages() {
+        assertWalksAllPages(true);
+    }
+
+    @Test
+    @DisplayName("Should return every site in one page when no page token or size is given")
+    void shouldListAllSitesWithoutPageParameters() {
+        // When
+        SitePage sites = siteService.getSitesByOwner(ownerId, null, null);
+        SitePage summaries = siteService.getSiteSummariesByOwner(ownerId, null, null);
+
+        // Then
+        assertEquals(SITES, sites.getSites().size());
+        assertNull(sites.getNextPageToken());
+        assertEquals(SITES, summaries.getSites().size());
+        assertNull(summaries.getNextPageToken());
+    }
+
+    @Test
+    @DisplayName("Should seek to the cursor on the owner index instead of scanning the sites before it")
+    void shouldSeekToCursor() {
+        // Given: a cursor on the 40th site, and the listing query after it
+        int depth = 40;
+        Map<String, Object> position = jdbcTemplate.queryForMap("SELECT created_at, id FROM sites "
+                + "WHERE owner_id = ? ORDER BY created_at, id OFFSET ? ROWS FETCH FIRST 1 ROW ONLY",
+                ownerId, depth - 1);
+        LocalDateTime createdAt = ((Timestamp) position.get("created_at")).toLocalDateTime();
+        UUID id = (UUID) position.get("id");
+        RecordingStatementInspector.clear();
+        List<Site> page = siteRepository.findByOwnerIdAfter(ownerId, createdAt, id, Limit.of(5));
+        String sql = RecordingStatementInspector.statements().get(0);
+
+        // When
+        String plan = jdbcTemplate.queryForObject("EXPLAIN ANALYZE " + sql, String.class,
+                ownerId, createdAt, id, 5);
+
+        // Then: only the sites from the cursor's timestamp on are read from the index, not the ones before
+        assertEquals(5, page.size());
+        Matcher scanCount = Pattern.compile("scanCount: (\\d+)").matcher(plan);
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains("CREATED_AT >="), plan);
+        assertTrue(scanCount.find(), plan);
+        assertTrue(Integer.parseInt(scanCount.group(1)) <= SITES - depth + SITES_PER_TIMESTAMP + 1, plan);
+    }
+
+    private void assertWalksAllPages(final boolean summary) {
+        Set<UUID> seen = new LinkedHashSet<>();
+        List<SiteResponse> all = new ArrayList<>();
+        String pageToken = null;
+        int pages = 0;
+        do {
+            SitePage page = summary
+                    ? siteService.getSiteSummariesByOwner(ownerId, pageToken, 5)
+                    : siteService.getSitesByOwner(ownerId, pageToken, 5);
+            assertTrue(page.getSites().size() <= 5);
+            page.getSites().forEach(site -> assertTrue(seen.add(site.getId()), "Duplicate " + site.getSlug()));
+            all.addAll(page.getSites());
+            pageToken = page.getNextPageToken();
+            pages++;
+        } while (pageToken != null);
+
+        assertEquals(SITES, seen.size());
+        assertEquals((SITES + 4) / 5, pages);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(!all.get(i).getCreatedAt().isBefore(all.get(i - 1).getCreatedAt()));
+        }
+    }
+}
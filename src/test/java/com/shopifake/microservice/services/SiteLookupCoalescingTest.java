@@ -0,0 +1,218 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.cache.SiteCache;
+import com.shopifake.microservice.cache.SiteLookupCoalescer;
+import com.shopifake.microservice.cache.SlugMembershipFilter;
+import com.shopifake.microservice.config.SiteCacheProperties;
+import com.shopifake.microservice.config.SitePaginationProperties;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.repositories.SiteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrency tests for coalesced site lookups in SiteService.
+ */
+@DisplayName("SiteService lookup coalescing Tests")
+class SiteLookupCoalescingTest {
+
+    private static final int CALLERS = 32;
+
+    private SiteRepository siteRepository;
+    private SlugService slugService;
+    private SimpleMeterRegistry meterRegistry;
+    private SiteCache siteCache;
+    private SiteService siteService;
+    private ExecutorService executor;
+    private Site testSite;
+
+    @BeforeEach
+    void setUp() {
+        siteRepository = mock(SiteRepository.class);
+        slugService = mock(SlugService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        SiteCacheProperties cacheProperties = new SiteCacheProperties();
+        cacheProperties.setEnabled(false);
+        siteCache = new SiteCache(cacheProperties, meterRegistry);
+        siteService = new SiteService(
+                siteRepository,
+                slugService,
+                mock(SiteConfigValidationService.class),
+                siteCache,
+                new SiteLookupCoalescer(meterRegistry),
+                mock(SlugMembershipFilter.class),
+                mock(ApplicationEventPublisher.class),
+                new SitePaginationProperties());
+        executor = Executors.newFixedThreadPool(CALLERS);
+
+        testSite = Site.builder()
+                .id(UUID.randomUUID())
+                .name("Test Site")
+                .slug("test-site")
+                .currency(Currency.USD)
+                .language(Language.EN)
+                .status(SiteStatus.ACTIVE)
+                .ownerId(UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should issue exactly one repository call for concurrent lookups of the same slug")
+    void shouldCoalesceConcurrentSlugLookups() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
+        when(siteRepository.findBySlug("test-site")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(testSite);
+        });
+
+        // When
+        List<Future<SiteResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> siteService.getSiteBySlug("test-site")));
+        }
+        awaitCoalesced("slug", CALLERS - 1);
+        release.countDown();
+
+        // Then
+        SiteResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<SiteResponse> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(testSite.getId(), first.getId());
+        verify(siteRepository, times(1)).findBySlug("test-site");
+    }
+
+    @Test
+    @DisplayName("Should share the same failure with every concurrent caller")
+    void shouldShareFailureWithConcurrentCallers() throws Exception {
+        // Given
+        UUID missingId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        when(siteRepository.findById(missingId)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        // When
+        List<Future<SiteResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> siteService.getSiteById(missingId)));
+        }
+        awaitCoalesced("id", CALLERS - 1);
+        release.countDown();
+
+        // Then
+        Throwable firstFailure = null;
+        for (Future<SiteResponse> result : results) {
+            ExecutionException failure = assertThrows(
+                    ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            if (firstFailure == null) {
+                firstFailure = failure.getCause();
+            }
+            assertSame(firstFailure, failure.getCause());
+        }
+        verify(siteRepository, times(1)).findById(missingId);
+    }
+
+    @Test
+    @DisplayName("Should not join a lookup started before the site was evicted")
+    void shouldNotJoinLookupStartedBeforeEviction() throws Exception {
+        // Given: a lookup reading the site before it changes
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Site renamed = Site.builder()
+                .id(testSite.getId())
+                .name("Renamed Site")
+                .slug(testSite.getSlug())
+                .currency(Currency.USD)
+                .language(Language.EN)
+                .status(SiteStatus.ACTIVE)
+                .ownerId(testSite.getOwnerId())
+                .createdAt(testSite.getCreatedAt())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        when(siteRepository.findById(testSite.getId()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(testSite);
+                })
+                .thenReturn(Optional.of(renamed));
+        Future<SiteResponse> before = executor.submit(() -> siteService.getSiteById(testSite.getId()));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When: the site is evicted and looked up again while the first lookup is in flight
+        siteCache.evict(testSite.getId(), testSite.getSlug());
+        SiteResponse after = siteService.getSiteById(testSite.getId());
+        release.countDown();
+
+        // Then
+        assertEquals("Renamed Site", after.getName());
+        assertEquals("Test Site", before.get(5, TimeUnit.SECONDS).getName());
+        verify(siteRepository, times(2)).findById(testSite.getId());
+        assertEquals(0.0, meterRegistry.get("sites.lookup.coalesced").tag("key", "id").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should query again once the previous lookup has completed")
+    void shouldNotCoalesceSequentialLookups() {
+        // Given
+        when(siteRepository.findById(testSite.getId())).thenReturn(Optional.of(testSite));
+
+        // When
+        siteService.getSiteById(testSite.getId());
+        siteService.getSiteById(testSite.getId());
+
+        // Then
+        verify(siteRepository, times(2)).findById(testSite.getId());
+        assertEquals(0.0, meterRegistry.get("sites.lookup.coalesced").tag("key", "id").counter().count());
+    }
+
+    private void awaitCoalesced(final String key, final int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("sites.lookup.coalesced").tag("key", key).counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for callers to coalesce");
+            Thread.sleep(5);
+        }
+    }
+}
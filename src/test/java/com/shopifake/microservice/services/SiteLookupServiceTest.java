@@ -0,0 +1,162 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.cache.SiteCache;
+import com.shopifake.microservice.cache.SlugMembershipFilter;
+import com.shopifake.microservice.dtos.SiteLookupResponse;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.repositories.SiteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Looks up many sites against a database, checking the keyed results and the number of queries.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-lookup",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "sites.lookup.chunk-size=10",
+        "sites.lookup.max-keys=50"
+})
+@ActiveProfiles("test")
+@DisplayName("SiteLookupService Tests")
+class SiteLookupServiceTest {
+
+    private static final int SITES = 25;
+
+    @Autowired
+    private SiteLookupService lookupService;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private SiteCache siteCache;
+
+    @Autowired
+    private SlugMembershipFilter slugFilter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Site> sites = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UUID ownerId = UUID.randomUUID();
+        for (int i = 0; i < SITES; i++) {
+            sites.add(siteRepository.save(Site.builder()
+                    .name("Lookup Site " + i)
+                    .slug("lookup-site-" + i)
+                    .description("Description " + i)
+                    .currency(Currency.USD)
+                    .language(Language.EN)
+                    .ownerId(ownerId)
+                    .config("{\"name\":\"Lookup Site " + i + "\"}")
+                    .build()));
+        }
+        siteCache.clear();
+        slugFilter.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+        siteCache.clear();
+    }
+
+    @Test
+    @DisplayName("Should key sites by the requested ID or slug and list missing keys")
+    void shouldKeySitesByRequestedKey() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        List<UUID> ids = List.of(sites.get(0).getId(), unknownId, sites.get(1).getId());
+        List<String> slugs = List.of("Lookup-Site-2", "unknown-site", "  ", "lookup-site-3");
+
+        // When
+        SiteLookupResponse lookup = lookupService.lookup(ids, slugs, false);
+
+        // Then
+        assertEquals(List.of(sites.get(0).getId(), sites.get(1).getId()),
+                new ArrayList<>(lookup.getSitesById().keySet()));
+        assertEquals("lookup-site-1", lookup.getSitesById().get(sites.get(1).getId()).getSlug());
+        assertEquals(List.of("Lookup-Site-2", "lookup-site-3"), new ArrayList<>(lookup.getSitesBySlug().keySet()));
+        assertEquals(sites.get(2).getId(), lookup.getSitesBySlug().get("Lookup-Site-2").getId());
+        assertEquals("{\"name\":\"Lookup Site 3\"}", lookup.getSitesBySlug().get("lookup-site-3").getConfig());
+        assertEquals(List.of(unknownId), lookup.getMissingIds());
+        assertEquals(List.of("unknown-site", "  "), lookup.getMissingSlugs());
+    }
+
+    @Test
+    @DisplayName("Should load uncached keys with one query per chunk and serve the rest from the cache")
+    void shouldQueryOncePerChunk() {
+        // Given
+        List<UUID> ids = sites.stream().map(Site::getId).toList();
+
+        // When
+        SiteLookupResponse first = lookupService.lookup(ids, null, false);
+        long firstQueries = statistics.getPrepareStatementCount();
+        statistics.clear();
+        List<UUID> shuffled = new ArrayList<>(ids);
+        Collections.shuffle(shuffled);
+        SiteLookupResponse second = lookupService.lookup(shuffled, null, false);
+
+        // Then
+        assertEquals(SITES, first.getSitesById().size());
+        assertEquals(3, firstQueries);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(shuffled, new ArrayList<>(second.getSitesById().keySet()));
+    }
+
+    @Test
+    @DisplayName("Should leave description and config out of summary lookups")
+    void shouldLookUpSummaries() {
+        // When
+        SiteLookupResponse lookup = lookupService.lookup(List.of(sites.get(4).getId()), List.of("lookup-site-5"),
+                true);
+
+        // Then
+        assertNotNull(lookup.getSitesById().get(sites.get(4).getId()));
+        assertNull(lookup.getSitesById().get(sites.get(4).getId()).getConfig());
+        assertNull(lookup.getSitesBySlug().get("lookup-site-5").getDescription());
+        assertEquals(sites.get(5).getId(), lookup.getSitesBySlug().get("lookup-site-5").getId());
+    }
+
+    @Test
+    @DisplayName("Should reject lookups without keys or with too many keys")
+    void shouldRejectInvalidKeyCounts() {
+        // Given
+        List<UUID> tooMany = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            tooMany.add(UUID.randomUUID());
+        }
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> lookupService.lookup(null, List.of(), false));
+        assertThrows(IllegalArgumentException.class, () -> lookupService.lookup(tooMany, null, false));
+    }
+}
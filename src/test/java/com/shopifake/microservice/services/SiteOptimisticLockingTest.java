@@ -0,0 +1,143 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.dtos.UpdateSiteRequest;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.exceptions.SitePreconditionFailedException;
+import com.shopifake.microservice.repositories.SiteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Updates sites against a database with {@code If-Match} versions, checking that a stale
+ * version is refused instead of overwriting a newer change.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-optimistic-locking",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.shopifake.microservice=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Site optimistic locking Tests")
+class SiteOptimisticLockingTest {
+
+    private static final int SITES = 10;
+
+    @Autowired
+    private SiteService siteService;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should bump the version on each change and refuse the previous ETag")
+    void shouldRefuseStaleETag() {
+        // Given
+        UUID siteId = save("lock-stale").getId();
+        String original = SiteETag.of(siteService.getSiteById(siteId));
+
+        // When
+        SiteResponse renamed = siteService.updateSite(siteId, rename("Renamed"), original);
+        SiteResponse activated = siteService.updateSiteStatus(siteId, "ACTIVE", SiteETag.of(renamed));
+
+        // Then
+        assertEquals(1L, renamed.getVersion());
+        assertEquals(2L, activated.getVersion());
+        assertThrows(SitePreconditionFailedException.class,
+                () -> siteService.updateSite(siteId, rename("Stale"), original));
+        assertThrows(SitePreconditionFailedException.class,
+                () -> siteService.updateSiteStatus(siteId, "DISABLED", SiteETag.of(renamed)));
+        assertThrows(SitePreconditionFailedException.class,
+                () -> siteService.patchSiteConfig(siteId, "{\"name\":\"Stale\"}", original));
+        SiteResponse current = siteService.getSiteById(siteId);
+        assertEquals("Renamed", current.getName());
+        assertEquals(SiteStatus.ACTIVE, current.getStatus());
+        assertEquals(2L, current.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of two concurrent updates with the same ETag win")
+    void shouldLetOneConcurrentUpdateWin() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2 * SITES);
+        try {
+            // Given
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<SiteResponse>> futures = new ArrayList<>();
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < SITES; i++) {
+                UUID siteId = save("lock-race-" + i).getId();
+                String etag = SiteETag.of(siteService.getSiteById(siteId));
+                ids.add(siteId);
+                for (String name : List.of("First", "Second")) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return siteService.updateSite(siteId, rename(name), etag);
+                    }));
+                }
+            }
+
+            // When
+            start.countDown();
+            int succeeded = 0;
+            for (Future<SiteResponse> future : futures) {
+                try {
+                    future.get(60, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(SitePreconditionFailedException.class, e.getCause());
+                }
+            }
+
+            // Then
+            assertEquals(SITES, succeeded);
+            for (UUID siteId : ids) {
+                assertEquals(1L, siteService.getSiteById(siteId).getVersion());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static UpdateSiteRequest rename(final String name) {
+        return UpdateSiteRequest.builder().name(name).build();
+    }
+
+    private Site save(final String slug) {
+        return siteRepository.save(Site.builder()
+                .name(slug)
+                .slug(slug)
+                .currency(Currency.USD)
+                .language(Language.EN)
+                .status(SiteStatus.DRAFT)
+                .ownerId(UUID.randomUUID())
+                .config("{}")
+                .build());
+    }
+}
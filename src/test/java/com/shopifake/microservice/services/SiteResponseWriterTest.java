@@ -0,0 +1,202 @@
+package com.shopifake.microservice.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopifake.microservice.cache.RenderedSite;
+import com.shopifake.microservice.cache.RenderedSiteCache;
+import com.shopifake.microservice.config.RenderedSiteCacheProperties;
+import com.shopifake.microservice.dtos.SiteLookupResponse;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.entities.SiteStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SiteResponseWriter.
+ */
+@DisplayName("SiteResponseWriter Tests")
+class SiteResponseWriterTest {
+
+    private static final String CONFIG = "{\"name\":\"Test \\\"Site\\\"\",\"values\":[\"Value 1\",\"Value 2\"]}";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final RenderedSiteCache renderedCache =
+            new RenderedSiteCache(new RenderedSiteCacheProperties(), new SimpleMeterRegistry());
+    private final SiteResponseWriter responseWriter = new SiteResponseWriter(objectMapper, renderedCache);
+
+    private final SiteResponse response = SiteResponse.builder()
+            .id(UUID.randomUUID())
+            .name("Test Site")
+            .slug("test-site")
+            .status(SiteStatus.ACTIVE)
+            .config(CONFIG)
+            .version(0L)
+            .updatedAt(LocalDateTime.now())
+            .build();
+
+    @Test
+    @DisplayName("Should write the config as a JSON string by default")
+    void shouldWriteConfigAsString() throws Exception {
+        // When
+        byte[] body = responseWriter.write(response, false);
+
+        // Then
+        JsonNode json = objectMapper.readTree(body);
+        assertTrue(json.get("config").isTextual());
+        assertEquals(CONFIG, json.get("config").asText());
+        assertEquals(objectMapper.writeValueAsString(response), new String(body));
+    }
+
+    @Test
+    @DisplayName("Should embed the config as a JSON object in raw config mode")
+    void shouldEmbedRawConfig() throws Exception {
+        // When
+        byte[] body = responseWriter.write(response, true);
+
+        // Then
+        JsonNode json = objectMapper.readTree(body);
+        assertTrue(json.get("config").isObject());
+        assertEquals(objectMapper.readTree(CONFIG), json.get("config"));
+        assertEquals("test-site", json.get("slug").asText());
+        assertTrue(body.length < responseWriter.write(response, false).length);
+    }
+
+    @Test
+    @DisplayName("Should render active sites once per version, with a gzipped copy")
+    void shouldRenderActiveSitesOnce() throws Exception {
+        // When
+        RenderedSite first = responseWriter.render(response, false);
+        RenderedSite second = responseWriter.render(response, false);
+        RenderedSite raw = responseWriter.render(response, true);
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, raw);
+        assertArrayEquals(first.getBody(), gunzip(first.getGzipBody()));
+        assertArrayEquals(responseWriter.write(response, true), raw.getBody());
+        assertTrue(renderedCache.sizeInBytes() >= first.sizeInBytes() + raw.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("Should render a new body once the site version changes")
+    void shouldRenderNewVersion() {
+        // Given
+        RenderedSite first = responseWriter.render(response, false);
+
+        // When
+        response.setName("Renamed Site");
+        response.setVersion(response.getVersion() + 1);
+        RenderedSite second = responseWriter.render(response, false);
+
+        // Then
+        assertNotSame(first, second);
+        assertTrue(new String(second.getBody()).contains("Renamed Site"));
+    }
+
+    @Test
+    @DisplayName("Should neither cache nor gzip sites that are not active")
+    void shouldNotCacheInactiveSites() {
+        // Given
+        response.setStatus(SiteStatus.DRAFT);
+
+        // When
+        RenderedSite rendered = responseWriter.render(response, false);
+
+        // Then
+        assertFalse(rendered.hasGzipBody());
+        assertNotSame(rendered, responseWriter.render(response, false));
+        assertEquals(0, renderedCache.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("Should write a null config as null in raw config mode")
+    void shouldWriteNullRawConfig() throws Exception {
+        // Given
+        response.setConfig(null);
+
+        // When
+        JsonNode json = objectMapper.readTree(responseWriter.write(response, true));
+
+        // Then
+        assertTrue(json.get("config").isNull());
+    }
+
+    private static byte[] gunzip(final byte[] gzipped) throws IOException {
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return gunzip.readAllBytes();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write only the selected fields of a listing")
+    void shouldWriteSelectedFields() throws Exception {
+        // When
+        byte[] body = responseWriter.writeFields(List.of(response, response), SiteFields.parse("id,slug,status"));
+
+        // Then
+        JsonNode json = objectMapper.readTree(body);
+        assertEquals(2, json.size());
+        assertEquals(List.of("id", "slug", "status"), iteratorToList(json.get(0).fieldNames()));
+        assertEquals("test-site", json.get(1).get("slug").asText());
+        assertEquals(CONFIG, objectMapper.readTree(responseWriter.write(response, false)).get("config").asText());
+    }
+
+    @Test
+    @DisplayName("Should write every field of a listing when none are selected")
+    void shouldWriteAllFieldsByDefault() throws Exception {
+        // When
+        byte[] body = responseWriter.writeFields(List.of(response), SiteFields.parse(null));
+
+        // Then
+        assertEquals(objectMapper.writeValueAsString(List.of(response)), new String(body));
+    }
+
+    @Test
+    @DisplayName("Should write only the selected fields of the sites of a lookup")
+    void shouldWriteSelectedFieldsOfLookup() throws Exception {
+        // Given
+        UUID missingId = UUID.randomUUID();
+        SiteLookupResponse lookup = SiteLookupResponse.builder()
+                .sitesById(Map.of(response.getId(), response))
+                .sitesBySlug(Map.of("Test-Site", response))
+                .missingIds(List.of(missingId))
+                .missingSlugs(List.of("other"))
+                .build();
+
+        // When
+        byte[] body = responseWriter.writeFields(lookup, SiteFields.parse("id,slug"));
+
+        // Then
+        JsonNode json = objectMapper.readTree(body);
+        JsonNode byId = json.get("sitesById").get(response.getId().toString());
+        assertEquals(List.of("id", "slug"), iteratorToList(byId.fieldNames()));
+        assertEquals("test-site", json.get("sitesBySlug").get("Test-Site").get("slug").asText());
+        assertEquals(missingId.toString(), json.get("missingIds").get(0).asText());
+        assertEquals("other", json.get("missingSlugs").get(0).asText());
+    }
+
+    private static List<String> iteratorToList(final Iterator<String> iterator) {
+        List<String> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+}
@@ -1,36 +1,63 @@
 package com.shopifake.microservice.services;
 
+import com.shopifake.microservice.cache.SiteCache;
+import com.shopifake.microservice.cache.SiteLookupCoalescer;
+import com.shopifake.microservice.cache.SlugMembershipFilter;
+import com.shopifake.microservice.config.SitePaginationProperties;
 import com.shopifake.microservice.dtos.CreateSiteRequest;
-import com.shopifake.microservice.dtos.SiteConfig;
+import com.shopifake.microservice.dtos.SitePage;
 import com.shopifake.microservice.dtos.SiteResponse;
 import com.shopifake.microservice.dtos.UpdateSiteRequest;
 import com.shopifake.microservice.entities.Currency;
 import com.shopifake.microservice.entities.Language;
 import com.shopifake.microservice.entities.Site;
 import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.events.SiteChangeType;
+import com.shopifake.microservice.events.SiteChangedEvent;
+import com.shopifake.microservice.exceptions.SiteNotFoundException;
+import com.shopifake.microservice.exceptions.SitePreconditionFailedException;
 import com.shopifake.microservice.repositories.SiteRepository;
+import com.shopifake.microservice.repositories.SiteSummaryView;
+import com.shopifake.microservice.repositories.SiteStatusView;
+import com.shopifake.microservice.repositories.SiteVersionView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.ConstraintViolationException.ConstraintKind;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -52,6 +79,21 @@ class SiteServiceTest {
     @Mock
     private SiteConfigValidationService configValidationService;
 
+    @Mock
+    private SiteCache siteCache;
+
+    @Spy
+    private SiteLookupCoalescer lookupCoalescer = new SiteLookupCoalescer(new SimpleMeterRegistry());
+
+    @Mock
+    private SlugMembershipFilter slugFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SitePaginationProperties paginationProperties = new SitePaginationProperties();
+
     @InjectMocks
     private SiteService siteService;
 
@@ -89,6 +131,7 @@ class SiteServiceTest {
                 .config(validConfigJson)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
+                .version(0L)
                 .build();
 
         createRequest = CreateSiteRequest.builder()
@@ -106,10 +149,7 @@ class SiteServiceTest {
     void shouldCreateSiteWithProvidedSlug() {
         // Given
         when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
-        when(siteRepository.existsBySlug("test-site")).thenReturn(false);
-        when(configValidationService.validateAndParse(validConfigJson))
-                .thenReturn(SiteConfig.builder().build());
-        when(siteRepository.save(any(Site.class))).thenReturn(testSite);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenReturn(testSite);
 
         // When
         SiteResponse response = siteService.createSite(createRequest, testOwnerId);
@@ -123,9 +163,9 @@ class SiteServiceTest {
         assertEquals(Language.EN, response.getLanguage());
         assertEquals(SiteStatus.DRAFT, response.getStatus());
         verify(slugService).normalizeSlug("test-site");
-        verify(siteRepository).existsBySlug("test-site");
-        verify(configValidationService).validateAndParse(validConfigJson);
-        verify(siteRepository).save(any(Site.class));
+        verify(siteRepository, never()).existsBySlug(anyString());
+        verify(configValidationService).validate(validConfigJson);
+        verify(siteRepository).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -134,10 +174,7 @@ class SiteServiceTest {
         // Given
         createRequest.setSlug(null);
         when(slugService.generateSlug("Test Site")).thenReturn("test-site");
-        when(siteRepository.existsBySlug("test-site")).thenReturn(false);
-        when(configValidationService.validateAndParse(validConfigJson))
-                .thenReturn(SiteConfig.builder().build());
-        when(siteRepository.save(any(Site.class))).thenReturn(testSite);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenReturn(testSite);
 
         // When
         SiteResponse response = siteService.createSite(createRequest, testOwnerId);
@@ -146,7 +183,7 @@ class SiteServiceTest {
         assertNotNull(response);
         verify(slugService).generateSlug("Test Site");
         verify(slugService, never()).normalizeSlug(anyString());
-        verify(siteRepository).save(any(Site.class));
+        verify(siteRepository).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -154,7 +191,7 @@ class SiteServiceTest {
     void shouldThrowExceptionWhenSlugIsTaken() {
         // Given
         when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
-        when(siteRepository.existsBySlug("test-site")).thenReturn(true);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenThrow(slugConflict());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -162,7 +199,7 @@ class SiteServiceTest {
                 () -> siteService.createSite(createRequest, testOwnerId)
         );
         assertEquals("Slug already taken: test-site", exception.getMessage());
-        verify(siteRepository, never()).save(any(Site.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -171,7 +208,6 @@ class SiteServiceTest {
         // Given
         createRequest.setConfig("");
         when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
-        when(siteRepository.existsBySlug("test-site")).thenReturn(false);
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -179,7 +215,7 @@ class SiteServiceTest {
                 () -> siteService.createSite(createRequest, testOwnerId)
         );
         assertEquals("Config is empty", exception.getMessage());
-        verify(siteRepository, never()).save(any(Site.class));
+        verify(siteRepository, never()).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -188,9 +224,6 @@ class SiteServiceTest {
         // Given
         createRequest.setCurrency("INVALID");
         when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
-        when(siteRepository.existsBySlug("test-site")).thenReturn(false);
-        when(configValidationService.validateAndParse(validConfigJson))
-                .thenReturn(any());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -198,7 +231,7 @@ class SiteServiceTest {
                 () -> siteService.createSite(createRequest, testOwnerId)
         );
         assertTrue(exception.getMessage().contains("Invalid currency"));
-        verify(siteRepository, never()).save(any(Site.class));
+        verify(siteRepository, never()).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -207,9 +240,6 @@ class SiteServiceTest {
         // Given
         createRequest.setLanguage("INVALID");
         when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
-        when(siteRepository.existsBySlug("test-site")).thenReturn(false);
-        when(configValidationService.validateAndParse(validConfigJson))
-                .thenReturn(SiteConfig.builder().build());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -217,7 +247,7 @@ class SiteServiceTest {
                 () -> siteService.createSite(createRequest, testOwnerId)
         );
         assertTrue(exception.getMessage().contains("Invalid language"));
-        verify(siteRepository, never()).save(any(Site.class));
+        verify(siteRepository, never()).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -250,6 +280,99 @@ class SiteServiceTest {
         assertTrue(exception.getMessage().contains("Site not found"));
     }
 
+    @Test
+    @DisplayName("Should serve site by ID from cache without hitting the repository")
+    void shouldServeSiteByIdFromCache() {
+        // Given
+        SiteResponse cached = SiteResponse.builder().id(testSiteId).slug("test-site").build();
+        when(siteCache.getById(testSiteId)).thenReturn(Optional.of(cached));
+
+        // When
+        SiteResponse response = siteService.getSiteById(testSiteId);
+
+        // Then
+        assertEquals(cached, response);
+        verify(siteRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should load site by slug on cache miss and populate the cache")
+    void shouldLoadSiteBySlugOnCacheMiss() {
+        // Given
+        when(slugService.normalizeSlug("Test-Site")).thenReturn("test-site");
+        when(siteCache.generation()).thenReturn(7L);
+        when(siteRepository.findBySlug("test-site")).thenReturn(Optional.of(testSite));
+
+        // When
+        SiteResponse response = siteService.getSiteBySlug("Test-Site");
+
+        // Then
+        assertEquals(testSiteId, response.getId());
+        verify(siteCache).getBySlug("test-site");
+        verify(siteCache).put(response, 7L);
+    }
+
+    @Test
+    @DisplayName("Should reject slugs the filter reports absent without loading them")
+    void shouldRejectAbsentSlugsWithoutLoading() {
+        // Given
+        when(slugService.normalizeSlug("unknown")).thenReturn("unknown");
+        when(slugFilter.isDefinitelyAbsent("unknown")).thenReturn(true);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> siteService.getSiteBySlug("unknown")
+        );
+        assertEquals("Site not found with slug: unknown", exception.getMessage());
+        verify(siteRepository, never()).findBySlug(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not cache missing sites")
+    void shouldNotCacheMissingSites() {
+        // Given
+        when(slugService.normalizeSlug("missing")).thenReturn("missing");
+        when(siteRepository.findBySlug("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> siteService.getSiteBySlug("missing"));
+        verify(siteCache, never()).put(any(SiteResponse.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should derive the ETag from the cached site without querying")
+    void shouldDeriveETagFromCache() {
+        // Given
+        SiteResponse cached = SiteResponse.builder().id(testSiteId).version(3L).build();
+        when(siteCache.getById(testSiteId)).thenReturn(Optional.of(cached));
+
+        // When
+        Optional<String> eTag = siteService.findSiteETag(testSiteId);
+
+        // Then
+        assertEquals(Optional.of(SiteETag.of(testSiteId, 3L)), eTag);
+        verify(siteRepository, never()).findVersionById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should derive the ETag from a version-only query on cache miss")
+    void shouldDeriveETagFromVersionQuery() {
+        // Given
+        SiteVersionView version = mock(SiteVersionView.class);
+        when(version.getId()).thenReturn(testSiteId);
+        when(version.getVersion()).thenReturn(4L);
+        when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
+        when(siteRepository.findVersionBySlug("test-site")).thenReturn(Optional.of(version));
+
+        // When
+        Optional<String> eTag = siteService.findSiteETagBySlug("test-site");
+
+        // Then
+        assertEquals(Optional.of(SiteETag.of(testSiteId, 4L)), eTag);
+        verify(siteRepository, never()).findBySlug(anyString());
+    }
+
     @Test
     @DisplayName("Should update site successfully")
     void shouldUpdateSite() {
@@ -274,7 +397,7 @@ class SiteServiceTest {
                 .build();
 
         when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
-        when(siteRepository.save(any(Site.class))).thenReturn(updatedSite);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenReturn(updatedSite);
 
         // When
         SiteResponse response = siteService.updateSite(testSiteId, updateRequest);
@@ -284,7 +407,7 @@ class SiteServiceTest {
         assertEquals("Updated Name", response.getName());
         assertEquals("Updated Description", response.getDescription());
         verify(siteRepository).findById(testSiteId);
-        verify(siteRepository).save(any(Site.class));
+        verify(siteRepository).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -297,16 +420,38 @@ class SiteServiceTest {
 
         when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
         when(slugService.normalizeSlug("new-slug")).thenReturn("new-slug");
-        when(siteRepository.existsBySlug("new-slug")).thenReturn(false);
-        when(siteRepository.save(any(Site.class))).thenReturn(testSite);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenReturn(testSite);
 
         // When
         siteService.updateSite(testSiteId, updateRequest);
 
         // Then
         verify(slugService).normalizeSlug("new-slug");
-        verify(siteRepository).existsBySlug("new-slug");
-        verify(siteRepository).save(any(Site.class));
+        verify(siteRepository).saveAndFlush(any(Site.class));
+    }
+
+    @Test
+    @DisplayName("Should publish both old and new slug when a site is renamed")
+    void shouldPublishOldAndNewSlugOnRename() {
+        // Given
+        UpdateSiteRequest updateRequest = UpdateSiteRequest.builder()
+                .slug("new-slug")
+                .build();
+
+        when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
+        when(slugService.normalizeSlug("new-slug")).thenReturn("new-slug");
+        when(siteRepository.saveAndFlush(any(Site.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        siteService.updateSite(testSiteId, updateRequest);
+
+        // Then
+        ArgumentCaptor<SiteChangedEvent> captor = ArgumentCaptor.forClass(SiteChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(testSiteId, captor.getValue().getSiteId());
+        assertEquals(SiteChangeType.RENAMED, captor.getValue().getType());
+        assertEquals("test-site", captor.getValue().getPreviousSlug());
+        assertEquals("new-slug", captor.getValue().getSlug());
     }
 
     @Test
@@ -319,46 +464,128 @@ class SiteServiceTest {
 
         when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
         when(slugService.normalizeSlug("taken-slug")).thenReturn("taken-slug");
-        when(siteRepository.existsBySlug("taken-slug")).thenReturn(true);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenThrow(slugConflict());
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
                 () -> siteService.updateSite(testSiteId, updateRequest)
         );
-        assertTrue(exception.getMessage().contains("Slug already taken"));
-        verify(siteRepository, never()).save(any(Site.class));
+        assertEquals("Slug already taken: taken-slug", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    @DisplayName("Should update site status successfully")
+    @DisplayName("Should reject an update whose If-Match names an older version")
+    void shouldRejectUpdateWithStaleIfMatch() {
+        // Given
+        testSite.setVersion(2L);
+        when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
+        UpdateSiteRequest updateRequest = UpdateSiteRequest.builder().name("Updated Name").build();
+
+        // When & Then
+        assertThrows(SitePreconditionFailedException.class,
+                () -> siteService.updateSite(testSiteId, updateRequest, SiteETag.of(testSiteId, 1L)));
+        verify(siteRepository, never()).saveAndFlush(any(Site.class));
+    }
+
+    @Test
+    @DisplayName("Should update a site whose version matches If-Match")
+    void shouldUpdateWithMatchingIfMatch() {
+        // Given
+        testSite.setVersion(2L);
+        when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
+        when(siteRepository.saveAndFlush(any(Site.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UpdateSiteRequest updateRequest = UpdateSiteRequest.builder().name("Updated Name").build();
+
+        // When
+        SiteResponse response = siteService.updateSite(testSiteId, updateRequest,
+                "\"other\", " + SiteETag.of(testSiteId, 2L));
+
+        // Then
+        assertEquals("Updated Name", response.getName());
+    }
+
+    @Test
+    @DisplayName("Should report a conditional status update of another version as a failed precondition")
+    void shouldRejectStatusUpdateWithStaleIfMatch() {
+        // Given
+        when(siteRepository.updateStatusIfVersion(eq(testSiteId), eq(SiteStatus.ACTIVE), anyCollection(),
+                eq(Set.of(1L)), any(LocalDateTime.class))).thenReturn(0);
+        SiteStatusView current = mock(SiteStatusView.class);
+        when(current.getVersion()).thenReturn(2L);
+        when(siteRepository.findStatusById(testSiteId)).thenReturn(Optional.of(current));
+
+        // When & Then
+        assertThrows(SitePreconditionFailedException.class,
+                () -> siteService.updateSiteStatus(testSiteId, "ACTIVE", SiteETag.of(testSiteId, 1L)));
+        verify(siteRepository, never()).updateStatus(any(UUID.class), any(SiteStatus.class), anyCollection(),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should update site status with a single conditional update")
     void shouldUpdateSiteStatus() {
         // Given
+        when(siteRepository.updateStatus(eq(testSiteId), eq(SiteStatus.ACTIVE),
+                eq(SiteStatus.ACTIVE.predecessors()), any(LocalDateTime.class))).thenReturn(1);
         when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
-        when(siteRepository.save(any(Site.class))).thenReturn(testSite);
 
         // When
         SiteResponse response = siteService.updateSiteStatus(testSiteId, "ACTIVE");
 
         // Then
         assertNotNull(response);
-        verify(siteRepository).findById(testSiteId);
-        verify(siteRepository).save(any(Site.class));
+        verify(siteRepository, never()).findStatusById(any(UUID.class));
+        verify(siteRepository, never()).save(any(Site.class));
     }
 
     @Test
-    @DisplayName("Should throw exception when updating to invalid status")
-    void shouldThrowExceptionWhenUpdatingToInvalidStatus() {
+    @DisplayName("Should reject moving an active site back to draft")
+    void shouldRejectIllegalStatusTransition() {
         // Given
-        when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
+        when(siteRepository.updateStatus(eq(testSiteId), eq(SiteStatus.DRAFT),
+                eq(Set.of(SiteStatus.DRAFT)), any(LocalDateTime.class))).thenReturn(0);
+        SiteStatusView current = mock(SiteStatusView.class);
+        when(current.getStatus()).thenReturn(SiteStatus.ACTIVE);
+        when(siteRepository.findStatusById(testSiteId)).thenReturn(Optional.of(current));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> siteService.updateSiteStatus(testSiteId, "draft")
+        );
+        assertEquals("Cannot update status from ACTIVE to DRAFT", exception.getMessage());
+        verify(siteRepository, never()).findById(testSiteId);
+    }
+
+    @Test
+    @DisplayName("Should report a missing site when no row matches the status update")
+    void shouldReportMissingSiteOnStatusUpdate() {
+        // Given
+        when(siteRepository.updateStatus(eq(testSiteId), eq(SiteStatus.DISABLED), anyCollection(),
+                any(LocalDateTime.class))).thenReturn(0);
+        when(siteRepository.findStatusById(testSiteId)).thenReturn(Optional.empty());
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> siteService.updateSiteStatus(testSiteId, "DISABLED")
+        );
+        assertTrue(exception.getMessage().contains("Site not found"));
+    }
 
+    @Test
+    @DisplayName("Should throw exception when updating to invalid status")
+    void shouldThrowExceptionWhenUpdatingToInvalidStatus() {
         // When & Then
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
                 () -> siteService.updateSiteStatus(testSiteId, "INVALID")
         );
         assertTrue(exception.getMessage().contains("Invalid status"));
-        verify(siteRepository, never()).save(any(Site.class));
+        verify(siteRepository, never()).updateStatus(any(UUID.class), any(SiteStatus.class), anyCollection(),
+                any(LocalDateTime.class));
     }
 
     @Test
@@ -380,15 +607,113 @@ class SiteServiceTest {
                 .build();
 
         List<Site> sites = Arrays.asList(testSite, site2);
-        when(siteRepository.findByOwnerId(testOwnerId)).thenReturn(sites);
+        when(siteRepository.findFirstByOwnerId(testOwnerId, Limit.unlimited())).thenReturn(sites);
+
+        // When
+        SitePage page = siteService.getSitesByOwner(testOwnerId, null, null);
+
+        // Then
+        assertNotNull(page.getSites());
+        assertEquals(2, page.getSites().size());
+        assertNull(page.getNextPageToken());
+        verify(siteRepository).findFirstByOwnerId(testOwnerId, Limit.unlimited());
+    }
+
+    @Test
+    @DisplayName("Should use the default page size for a page token without size")
+    void shouldUseDefaultPageSizeWithPageToken() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.now();
+        UUID lastId = UUID.randomUUID();
+        String pageToken = new SiteCursor(createdAt, lastId).toToken();
+        when(siteRepository.findByOwnerIdAfter(testOwnerId, createdAt, lastId, Limit.of(101)))
+                .thenReturn(List.of(testSite));
+
+        // When
+        SitePage page = siteService.getSitesByOwner(testOwnerId, pageToken, null);
+
+        // Then
+        assertEquals(1, page.getSites().size());
+        verify(siteRepository).findByOwnerIdAfter(testOwnerId, createdAt, lastId, Limit.of(101));
+    }
+
+    @Test
+    @DisplayName("Should return a next page token when more sites follow")
+    void shouldReturnNextPageToken() {
+        // Given
+        Site site2 = Site.builder()
+                .id(UUID.randomUUID())
+                .ownerId(testOwnerId)
+                .createdAt(testSite.getCreatedAt().plusSeconds(1))
+                .build();
+        when(siteRepository.findFirstByOwnerId(testOwnerId, Limit.of(2))).thenReturn(List.of(testSite, site2));
+
+        // When
+        SitePage page = siteService.getSitesByOwner(testOwnerId, null, 1);
+
+        // Then
+        assertEquals(1, page.getSites().size());
+        assertEquals(testSiteId, page.getSites().get(0).getId());
+        SiteCursor cursor = SiteCursor.fromToken(page.getNextPageToken());
+        assertEquals(testSiteId, cursor.getId());
+        assertEquals(testSite.getCreatedAt(), cursor.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should read the page following a page token")
+    void shouldReadPageAfterToken() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.now();
+        UUID lastId = UUID.randomUUID();
+        String pageToken = new SiteCursor(createdAt, lastId).toToken();
+        when(siteRepository.findByOwnerIdAfter(testOwnerId, createdAt, lastId, Limit.of(11)))
+                .thenReturn(List.of(testSite));
+
+        // When
+        SitePage page = siteService.getSitesByOwner(testOwnerId, pageToken, 10);
+
+        // Then
+        assertEquals(1, page.getSites().size());
+        assertNull(page.getNextPageToken());
+        verify(siteRepository, never()).findFirstByOwnerId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should cap the page size and reject non-positive sizes")
+    void shouldCapPageSize() {
+        // Given
+        when(siteRepository.findFirstByOwnerId(testOwnerId, Limit.of(501))).thenReturn(List.of());
+
+        // When
+        siteService.getSitesByOwner(testOwnerId, null, 10_000);
+
+        // Then
+        verify(siteRepository).findFirstByOwnerId(testOwnerId, Limit.of(501));
+        assertThrows(IllegalArgumentException.class, () -> siteService.getSitesByOwner(testOwnerId, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> siteService.getSitesByOwner(testOwnerId, "not-a-token", null));
+    }
+
+    @Test
+    @DisplayName("Should get site summaries by owner without description or config")
+    void shouldGetSiteSummariesByOwner() {
+        // Given
+        SiteSummaryView summary = mock(SiteSummaryView.class);
+        when(summary.getId()).thenReturn(testSiteId);
+        when(summary.getSlug()).thenReturn("test-site");
+        when(summary.getStatus()).thenReturn(SiteStatus.ACTIVE);
+        when(siteRepository.findFirstSummariesByOwnerId(testOwnerId, Limit.unlimited())).thenReturn(List.of(summary));
 
         // When
-        List<SiteResponse> responses = siteService.getSitesByOwner(testOwnerId);
+        List<SiteResponse> responses = siteService.getSiteSummariesByOwner(testOwnerId, null, null).getSites();
 
         // Then
-        assertNotNull(responses);
-        assertEquals(2, responses.size());
-        verify(siteRepository).findByOwnerId(testOwnerId);
+        assertEquals(1, responses.size());
+        assertEquals(testSiteId, responses.get(0).getId());
+        assertEquals("test-site", responses.get(0).getSlug());
+        assertEquals(SiteStatus.ACTIVE, responses.get(0).getStatus());
+        assertNull(responses.get(0).getConfig());
+        verify(siteRepository, never()).findFirstByOwnerId(any(), any());
     }
 
     @Test
@@ -396,8 +721,8 @@ class SiteServiceTest {
     void shouldSuggestAlternativeSlugWhenTaken() {
         // Given
         when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
-        when(siteRepository.existsBySlug("test-site")).thenReturn(true);
-        when(siteRepository.existsBySlug("test-site-1")).thenReturn(false);
+        when(siteRepository.findExistingSlugs(anyCollection()))
+                .thenReturn(List.of("test-site", "test-site-1", "test-site-3"));
 
         // When
         var suggestion = siteService.suggestAlternativeSlug("test-site");
@@ -405,8 +730,28 @@ class SiteServiceTest {
         // Then
         assertNotNull(suggestion);
         assertEquals("test-site", suggestion.getOriginalSlug());
-        assertEquals("test-site-1", suggestion.getSuggestedSlug());
+        assertEquals("test-site-2", suggestion.getSuggestedSlug());
+        assertEquals(List.of("test-site-2", "test-site-4", "test-site-5", "test-site-6", "test-site-7"),
+                suggestion.getAlternatives());
         assertTrue(suggestion.getMessage().contains("already taken"));
+        verify(siteRepository, times(1)).findExistingSlugs(anyCollection());
+        verify(siteRepository, never()).existsBySlug(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a timestamp suffix when every candidate is taken")
+    void shouldFallBackToTimestampWhenAllCandidatesTaken() {
+        // Given
+        when(slugService.normalizeSlug("shop")).thenReturn("shop");
+        when(siteRepository.findExistingSlugs(anyCollection()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<String>>getArgument(0)));
+
+        // When
+        var suggestion = siteService.suggestAlternativeSlug("shop");
+
+        // Then
+        assertTrue(suggestion.getSuggestedSlug().matches("shop-\\d{13,}"));
+        assertEquals(1, suggestion.getAlternatives().size());
     }
 
     @Test
@@ -414,7 +759,7 @@ class SiteServiceTest {
     void shouldReturnAvailableMessageWhenSlugIsAvailable() {
         // Given
         when(slugService.normalizeSlug("available-slug")).thenReturn("available-slug");
-        when(siteRepository.existsBySlug("available-slug")).thenReturn(false);
+        when(siteRepository.findExistingSlugs(anyCollection())).thenReturn(List.of());
 
         // When
         var suggestion = siteService.suggestAlternativeSlug("available-slug");
@@ -460,29 +805,33 @@ class SiteServiceTest {
     @DisplayName("Should delete site successfully")
     void shouldDeleteSite() {
         // Given
-        when(siteRepository.existsById(testSiteId)).thenReturn(true);
+        when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
 
         // When
         siteService.deleteSite(testSiteId);
 
         // Then
-        verify(siteRepository).existsById(testSiteId);
-        verify(siteRepository).deleteById(testSiteId);
+        verify(siteRepository).delete(testSite);
+        ArgumentCaptor<SiteChangedEvent> captor = ArgumentCaptor.forClass(SiteChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(SiteChangeType.DELETED, captor.getValue().getType());
+        assertEquals(testSite.getSlug(), captor.getValue().getPreviousSlug());
+        assertNull(captor.getValue().getSlug());
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent site")
     void shouldThrowExceptionWhenDeletingNonExistentSite() {
         // Given
-        when(siteRepository.existsById(testSiteId)).thenReturn(false);
+        when(siteRepository.findById(testSiteId)).thenReturn(Optional.empty());
 
         // When & Then
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        SiteNotFoundException exception = assertThrows(
+                SiteNotFoundException.class,
                 () -> siteService.deleteSite(testSiteId)
         );
         assertTrue(exception.getMessage().contains("Site not found"));
-        verify(siteRepository, never()).deleteById(any(UUID.class));
+        verify(siteRepository, never()).delete(any(Site.class));
     }
 
     @Test
@@ -494,13 +843,13 @@ class SiteServiceTest {
                 .build();
 
         when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
-        when(siteRepository.save(any(Site.class))).thenReturn(testSite);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenReturn(testSite);
 
         // When
         siteService.updateSite(testSiteId, updateRequest);
 
         // Then
-        verify(siteRepository).save(any(Site.class));
+        verify(siteRepository).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -512,13 +861,13 @@ class SiteServiceTest {
                 .build();
 
         when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
-        when(siteRepository.save(any(Site.class))).thenReturn(testSite);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenReturn(testSite);
 
         // When
         siteService.updateSite(testSiteId, updateRequest);
 
         // Then
-        verify(siteRepository).save(any(Site.class));
+        verify(siteRepository).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -530,16 +879,14 @@ class SiteServiceTest {
                 .build();
 
         when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
-        when(configValidationService.validateAndParse(validConfigJson))
-                .thenReturn(SiteConfig.builder().build());
-        when(siteRepository.save(any(Site.class))).thenReturn(testSite);
+        when(siteRepository.saveAndFlush(any(Site.class))).thenReturn(testSite);
 
         // When
         siteService.updateSite(testSiteId, updateRequest);
 
         // Then
-        verify(configValidationService).validateAndParse(validConfigJson);
-        verify(siteRepository).save(any(Site.class));
+        verify(configValidationService).validate(validConfigJson);
+        verify(siteRepository).saveAndFlush(any(Site.class));
     }
 
     @Test
@@ -558,7 +905,82 @@ class SiteServiceTest {
                 () -> siteService.updateSite(testSiteId, updateRequest)
         );
         assertTrue(exception.getMessage().contains("Config cannot be empty"));
-        verify(siteRepository, never()).save(any(Site.class));
+        verify(siteRepository, never()).saveAndFlush(any(Site.class));
     }
-}
 
+    @Test
+    @DisplayName("Should validate and save a merge-patched config")
+    void shouldPatchSiteConfig() {
+        // Given
+        String mergePatch = "{\"primaryColor\":\"#123456\"}";
+        String patchedConfig = validConfigJson.replace("#000000", "#123456");
+        testSite.setConfig(validConfigJson);
+        when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
+        when(configValidationService.applyMergePatch(validConfigJson, mergePatch))
+                .thenReturn(Optional.of(patchedConfig));
+        when(siteRepository.saveAndFlush(any(Site.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        SiteResponse response = siteService.patchSiteConfig(testSiteId, mergePatch);
+
+        // Then
+        assertEquals(patchedConfig, response.getConfig());
+        verify(configValidationService).validate(patchedConfig);
+        verify(eventPublisher).publishEvent(any(SiteChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should not save when a merge patch changes nothing")
+    void shouldNotSaveNoOpConfigPatch() {
+        // Given
+        testSite.setConfig(validConfigJson);
+        when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
+        when(configValidationService.applyMergePatch(validConfigJson, "{}")).thenReturn(Optional.empty());
+
+        // When
+        SiteResponse response = siteService.patchSiteConfig(testSiteId, "{}");
+
+        // Then
+        assertEquals(validConfigJson, response.getConfig());
+        verify(configValidationService, never()).validate(anyString());
+        verify(siteRepository, never()).saveAndFlush(any(Site.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a merge patch producing an invalid config")
+    void shouldRejectInvalidPatchedConfig() {
+        // Given
+        String mergePatch = "{\"name\":null}";
+        testSite.setConfig(validConfigJson);
+        when(siteRepository.findById(testSiteId)).thenReturn(Optional.of(testSite));
+        when(configValidationService.applyMergePatch(validConfigJson, mergePatch)).thenReturn(Optional.of("{}"));
+        doThrow(new IllegalArgumentException("Site configuration validation failed"))
+                .when(configValidationService).validate("{}");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> siteService.patchSiteConfig(testSiteId, mergePatch));
+        verify(siteRepository, never()).saveAndFlush(any(Site.class));
+    }
+
+    @Test
+    @DisplayName("Should report other integrity violations as database errors")
+    void shouldNotReportOtherViolationsAsTakenSlug() {
+        // Given
+        when(slugService.normalizeSlug("test-site")).thenReturn("test-site");
+        when(siteRepository.saveAndFlush(any(Site.class))).thenThrow(new DataIntegrityViolationException("null",
+                new ConstraintViolationException("null", new SQLException(), "insert", ConstraintKind.OTHER,
+                        "sites_name")));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> siteService.createSite(createRequest, testOwnerId));
+        assertEquals("Failed to create site due to database error", exception.getMessage());
+    }
+
+    private static DataIntegrityViolationException slugConflict() {
+        return new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "insert", ConstraintKind.UNIQUE,
+                        "sites_slug_unique"));
+    }
+}
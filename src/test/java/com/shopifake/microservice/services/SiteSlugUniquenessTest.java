@@ -0,0 +1,155 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.dtos.CreateSiteRequest;
+import com.shopifake.microservice.dtos.SiteResponse;
+import com.shopifake.microservice.dtos.UpdateSiteRequest;
+import com.shopifake.microservice.repositories.RecordingStatementInspector;
+import com.shopifake.microservice.repositories.SiteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Creates and renames sites against a database, checking that slug uniqueness is enforced by
+ * the unique constraint and reported as a taken slug, also under concurrent creates.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-slug-uniqueness",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.shopifake.microservice.repositories.RecordingStatementInspector",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+        "logging.level.com.shopifake.microservice=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Site slug uniqueness Tests")
+class SiteSlugUniquenessTest {
+
+    private static final String VALID_CONFIG = "{\"bannerUrl\":\"https://example.com/banner.jpg\","
+            + "\"name\":\"Test Site\",\"title\":\"Test Title\","
+            + "\"subtitle\":\"Test Subtitle\",\"heroDescription\":\"Test Description\","
+            + "\"logoUrl\":\"https://example.com/logo.png\","
+            + "\"aboutPortraitOneUrl\":\"https://example.com/portrait1.jpg\","
+            + "\"aboutLandscapeUrl\":\"https://example.com/landscape.jpg\","
+            + "\"aboutPortraitTwoUrl\":\"https://example.com/portrait2.jpg\","
+            + "\"history\":\"Test history\",\"values\":[\"Value 1\",\"Value 2\"],"
+            + "\"contactHeading\":\"Contact\",\"contactDescription\":\"Contact desc\","
+            + "\"contactDetails\":\"Details\",\"contactExtraNote\":\"Note\","
+            + "\"primaryColor\":\"#000000\",\"secondaryColor\":\"#FFFFFF\"}";
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SiteService siteService;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should create a site with a single insert and no slug pre-check")
+    void shouldCreateWithSingleStatement() {
+        // Given
+        RecordingStatementInspector.clear();
+
+        // When
+        siteService.createSite(request("single-insert"), UUID.randomUUID());
+
+        // Then: the site and its outbox entry, besides outbox IDs drawn from their sequence
+        List<String> statements = RecordingStatementInspector.statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> !sql.contains("site_outbox_seq"))
+                .toList();
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(0).startsWith("insert into sites "), statements::toString);
+        assertTrue(statements.get(1).startsWith("insert into site_outbox "), statements::toString);
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent creates claim a slug")
+    void shouldLetOneConcurrentCreateClaimSlug() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            // Given
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<SiteResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return siteService.createSite(request("contested-shop"), UUID.randomUUID());
+                }));
+            }
+
+            // When
+            start.countDown();
+            int created = 0;
+            for (Future<SiteResponse> future : futures) {
+                try {
+                    future.get(60, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException e) {
+                    IllegalArgumentException rejection = assertInstanceOf(IllegalArgumentException.class,
+                            e.getCause());
+                    assertEquals("Slug already taken: contested-shop", rejection.getMessage());
+                }
+            }
+
+            // Then
+            assertEquals(1, created);
+            assertEquals(1, siteRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject renaming a site to a slug taken by another one")
+    void shouldRejectRenameToTakenSlug() {
+        // Given
+        siteService.createSite(request("first-shop"), UUID.randomUUID());
+        UUID secondId = siteService.createSite(request("second-shop"), UUID.randomUUID()).getId();
+        UpdateSiteRequest rename = UpdateSiteRequest.builder().slug("first-shop").build();
+
+        // When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> siteService.updateSite(secondId, rename));
+
+        // Then
+        assertEquals("Slug already taken: first-shop", exception.getMessage());
+        assertEquals("second-shop", siteService.getSiteById(secondId).getSlug());
+    }
+
+    private static CreateSiteRequest request(final String slug) {
+        return CreateSiteRequest.builder()
+                .name("Shop")
+                .slug(slug)
+                .currency("USD")
+                .language("EN")
+                .config(VALID_CONFIG)
+                .build();
+    }
+}
@@ -0,0 +1,225 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.dtos.BulkUpdateSiteStatusResponse;
+import com.shopifake.microservice.entities.Currency;
+import com.shopifake.microservice.entities.Language;
+import com.shopifake.microservice.entities.Site;
+import com.shopifake.microservice.entities.SiteStatus;
+import com.shopifake.microservice.repositories.RecordingStatementInspector;
+import com.shopifake.microservice.repositories.SiteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Moves sites between statuses against a database, checking that the transition rules hold
+ * under concurrent updates.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:site-status-transition",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.shopifake.microservice.repositories.RecordingStatementInspector",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.shopifake.microservice=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Site status transition Tests")
+class SiteStatusTransitionTest {
+
+    private static final int SITES = 20;
+    private static final int DRAFT_ATTEMPTS = 10;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private SiteService siteService;
+
+    @Autowired
+    private SiteBulkService bulkService;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @AfterEach
+    void tearDown() {
+        siteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should never move a site back to draft once it was activated concurrently")
+    void shouldRejectIllegalTransitionsUnderConcurrency() throws Exception {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < SITES; i++) {
+            ids.add(save("race-" + i, SiteStatus.DRAFT).getId());
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        AtomicInteger activations = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+        for (UUID id : ids) {
+            tasks.add(() -> {
+                siteService.updateSiteStatus(id, "ACTIVE");
+                activations.incrementAndGet();
+                return null;
+            });
+            for (int thread = 0; thread < 3; thread++) {
+                tasks.add(() -> {
+                    for (int attempt = 0; attempt < DRAFT_ATTEMPTS; attempt++) {
+                        try {
+                            siteService.updateSiteStatus(id, "DRAFT");
+                        } catch (IllegalArgumentException e) {
+                            rejections.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        tasks.add(() -> {
+            for (int attempt = 0; attempt < DRAFT_ATTEMPTS; attempt++) {
+                rejections.addAndGet(bulkService.updateStatuses(ids, "DRAFT").getRejected().size());
+            }
+            return null;
+        });
+
+        // When
+        runConcurrently(tasks);
+
+        // Then
+        assertEquals(SITES, activations.get());
+        assertTrue(rejections.get() > 0);
+        for (UUID id : ids) {
+            assertEquals(SiteStatus.ACTIVE, siteRepository.findStatusById(id).orElseThrow().getStatus(),
+                    "Site " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report updated, missing and rejected sites of a bulk status update")
+    void shouldReportBulkStatusOutcome() {
+        // Given
+        UUID draft = save("bulk-draft", SiteStatus.DRAFT).getId();
+        UUID active = save("bulk-active", SiteStatus.ACTIVE).getId();
+        UUID disabled = save("bulk-disabled", SiteStatus.DISABLED).getId();
+        UUID unknown = UUID.randomUUID();
+
+        // When
+        BulkUpdateSiteStatusResponse toDraft = bulkService.updateStatuses(
+                List.of(draft, active, disabled, unknown, draft), "draft");
+        BulkUpdateSiteStatusResponse toDisabled = bulkService.updateStatuses(List.of(draft, active), "DISABLED");
+
+        // Then
+        assertEquals(List.of(draft), toDraft.getUpdated());
+        assertEquals(List.of(unknown), toDraft.getNotFound());
+        assertEquals(Map.of(active, SiteStatus.ACTIVE, disabled, SiteStatus.DISABLED), toDraft.getRejected());
+        assertEquals(List.of(draft, active), toDisabled.getUpdated());
+        assertTrue(toDisabled.getRejected().isEmpty());
+        assertEquals(SiteStatus.DISABLED, siteRepository.findStatusById(active).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should lock the sites before deciding which to update")
+    void shouldLockSitesBeforeUpdating() {
+        // Given
+        UUID draft = save("locked-draft", SiteStatus.DRAFT).getId();
+        UUID active = save("locked-active", SiteStatus.ACTIVE).getId();
+        RecordingStatementInspector.clear();
+
+        // When
+        BulkUpdateSiteStatusResponse response = bulkService.updateStatuses(List.of(draft, active), "DRAFT");
+
+        // Then
+        List<String> statements = RecordingStatementInspector.statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .toList();
+        assertEquals(1, statements.stream().filter(sql -> sql.startsWith("select")).count(), statements::toString);
+        assertTrue(statements.get(0).startsWith("select") && statements.get(0).contains("for update"),
+                statements.get(0));
+        assertTrue(statements.get(1).startsWith("update"), statements.get(1));
+        assertEquals(List.of(draft), response.getUpdated());
+        assertEquals(Map.of(active, SiteStatus.ACTIVE), response.getRejected());
+    }
+
+    @Test
+    @DisplayName("Should report each status change exactly once under concurrent bulk updates")
+    void shouldReportEachChangeOnceUnderConcurrency() throws Exception {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < SITES; i++) {
+            ids.add(save("concurrent-" + i, SiteStatus.ACTIVE).getId());
+        }
+        long versionsBefore = totalVersion(ids);
+        AtomicInteger reported = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String status = i % 2 == 0 ? "DISABLED" : "ACTIVE";
+            tasks.add(() -> {
+                reported.addAndGet(bulkService.updateStatuses(ids, status).getUpdated().size());
+                return null;
+            });
+        }
+
+        // When
+        runConcurrently(tasks);
+
+        // Then
+        assertEquals(totalVersion(ids) - versionsBefore, reported.get());
+    }
+
+    private long totalVersion(final List<UUID> ids) {
+        return ids.stream()
+                .mapToLong(id -> siteRepository.findStatusById(id).orElseThrow().getVersion())
+                .sum();
+    }
+
+    private Site save(final String slug, final SiteStatus status) {
+        return siteRepository.save(Site.builder()
+                .name(slug)
+                .slug(slug)
+                .currency(Currency.USD)
+                .language(Language.EN)
+                .status(status)
+                .ownerId(UUID.randomUUID())
+                .config("{}")
+                .build());
+    }
+
+    private static void runConcurrently(final List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
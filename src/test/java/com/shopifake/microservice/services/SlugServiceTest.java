@@ -0,0 +1,127 @@
+package com.shopifake.microservice.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SlugService, including a differential test against the
+ * regex-based normalizer it replaced.
+ */
+@DisplayName("SlugService Tests")
+class SlugServiceTest {
+
+    private static final Pattern NON_LATIN = Pattern.compile("[^\\w-]");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
+    private static final Pattern EDGES_DASHES = Pattern.compile("(?:^-)|(?:-$)");
+    private static final Pattern GENERATED = Pattern.compile("site-\\d+");
+
+    private static final String[] ALPHABET = {
+        "a", "z", "A", "Z", "0", "9", "_", "-", "-", "-", " ", "\t", "\n", "\r\n", "\u00a0", "\u2003",
+        ".", "!", "/", "'", "\"", "\u00e9", "\u00c9", "\u00df", "\u00f1", "\u00f8", "\u00c5", "A\u030a",
+        "\u212a", "\u212b", "\u0130", "\ufb01", "\u0301", "e\u0301", "\uff21", "\u65e5\u672c",
+        "\ud83d\ude00", "\ud800", "\u2126", "\u01c5", "\u00b2", "\u0085", "\u2028"
+    };
+    private static final int SAMPLES = 20_000;
+    private static final int MAX_TOKENS = 16;
+
+    private final SlugService slugService = new SlugService();
+
+    @ParameterizedTest
+    @CsvSource({
+        "Hello World, helloworld",
+        "Caf\u00e9 Cr\u00e8me, cafecreme",
+        "my-shop, my-shop",
+        "My--Shop, my-shop",
+        "--a--, -a-",
+        "---, -",
+        "-shop-, shop",
+        "\u00dcber_Store!, uber_store",
+        "\u212aelvin, kelvin"
+    })
+    @DisplayName("Should normalize slugs like the previous implementation")
+    void shouldNormalizeKnownInputs(final String input, final String expected) {
+        assertEquals(expected, slugService.normalizeSlug(input));
+    }
+
+    @Test
+    @DisplayName("Should return already normalized slugs untouched")
+    void shouldReturnNormalizedSlugUntouched() {
+        String slug = "my_shop-2024";
+        assertSame(slug, slugService.normalizeSlug(slug));
+    }
+
+    @Test
+    @DisplayName("Should generate a fallback slug when nothing survives normalization")
+    void shouldGenerateFallbackSlug() {
+        assertTrue(GENERATED.matcher(slugService.normalizeSlug("\u65e5\u672c")).matches());
+        assertTrue(GENERATED.matcher(slugService.normalizeSlug("-")).matches());
+    }
+
+    @Test
+    @DisplayName("Should reject null and blank slugs")
+    void shouldRejectBlankSlugs() {
+        assertThrows(IllegalArgumentException.class, () -> slugService.normalizeSlug(null));
+        assertThrows(IllegalArgumentException.class, () -> slugService.normalizeSlug(" \t"));
+        assertThrows(IllegalArgumentException.class, () -> slugService.generateSlug(""));
+    }
+
+    @Test
+    @DisplayName("Should produce identical output to the regex implementation for random inputs")
+    void shouldMatchRegexImplementation() {
+        Random random = new Random(42);
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            StringBuilder input = new StringBuilder();
+            int tokens = 1 + random.nextInt(MAX_TOKENS);
+            for (int i = 0; i < tokens; i++) {
+                input.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            String slug = input.toString();
+            if (slug.isBlank()) {
+                continue;
+            }
+
+            String expected = regexNormalize(slug);
+            String actual = slugService.normalizeSlug(slug);
+            if (GENERATED.matcher(expected).matches()) {
+                assertTrue(GENERATED.matcher(actual).matches(), "Input: " + escape(slug));
+            } else {
+                assertEquals(expected, actual, "Input: " + escape(slug));
+            }
+        }
+    }
+
+    /**
+     * The normalizer as it was before the single-pass rewrite.
+     */
+    private static String regexNormalize(final String slug) {
+        String normalized = Normalizer.normalize(slug, Normalizer.Form.NFD);
+        normalized = NON_LATIN.matcher(normalized).replaceAll("");
+        normalized = WHITESPACE.matcher(normalized).replaceAll("-");
+        normalized = EDGES_DASHES.matcher(normalized).replaceAll("");
+        normalized = normalized.toLowerCase(Locale.ENGLISH);
+        normalized = normalized.replaceAll("-+", "-");
+        if (normalized.isEmpty()) {
+            normalized = "site-" + System.currentTimeMillis();
+        }
+        return normalized;
+    }
+
+    private static String escape(final String value) {
+        StringBuilder escaped = new StringBuilder();
+        value.chars().forEach(c -> escaped.append(c < 0x80 && c >= ' ' ? String.valueOf((char) c)
+                : String.format("\\u%04x", c)));
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.shopifake.microservice.services;
+
+import com.shopifake.microservice.dtos.AlternativeSlugSuggestion;
+import com.shopifake.microservice.repositories.SiteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares round trips and latency of slug suggestion against the previous
+ * one-query-per-candidate loop, on a table seeded with thousands of shop-N slugs.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slug-suggestion-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+@Slf4j
+@DisplayName("Slug suggestion benchmark")
+class SlugSuggestionBenchmarkTest {
+
+    private static final int SEEDED_SLUGS = 5_000;
+    private static final Set<Integer> FREE_SUFFIXES = Set.of(73, 88, 95, 99);
+    private static final int MAX_ATTEMPTS = 100;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private SiteService siteService;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>(SEEDED_SLUGS);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        rows.add(row("shop", now));
+        for (int i = 1; i < SEEDED_SLUGS; i++) {
+            if (!FREE_SUFFIXES.contains(i)) {
+                rows.add(row("shop-" + i, now));
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO sites (id, name, slug, currency, language, status, owner_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, 'USD', 'EN', 'DRAFT', ?, ?, ?)", rows);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM sites");
+    }
+
+    @Test
+    @DisplayName("Should resolve the next free suffix in one round trip instead of one per candidate")
+    void shouldResolveNextFreeSuffixInOneRoundTrip() {
+        // warm up both paths
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacyFindAvailableSlug("shop");
+            siteService.suggestAlternativeSlug("shop");
+        }
+
+        statistics.clear();
+        long legacyStart = System.nanoTime();
+        String legacySlug = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacySlug = legacyFindAvailableSlug("shop");
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+        long legacyRoundTrips = statistics.getPrepareStatementCount() / ITERATIONS;
+
+        statistics.clear();
+        long batchedStart = System.nanoTime();
+        AlternativeSlugSuggestion suggestion = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            suggestion = siteService.suggestAlternativeSlug("shop");
+        }
+        long batchedNanos = System.nanoTime() - batchedStart;
+        long batchedRoundTrips = statistics.getPrepareStatementCount() / ITERATIONS;
+
+        log.info("Slug suggestion over {} seeded rows: legacy loop {} round trips, {} us/call; "
+                        + "single query {} round trips, {} us/call",
+                SEEDED_SLUGS, legacyRoundTrips, legacyNanos / ITERATIONS / 1_000,
+                batchedRoundTrips, batchedNanos / ITERATIONS / 1_000);
+
+        assertEquals("shop-73", legacySlug);
+        assertEquals("shop-73", suggestion.getSuggestedSlug());
+        assertEquals(List.of("shop-73", "shop-88", "shop-95", "shop-99"), suggestion.getAlternatives());
+        assertEquals(74, legacyRoundTrips);
+        assertEquals(1, batchedRoundTrips);
+    }
+
+    /**
+     * The suggestion loop as it was before batching: one existsBySlug query per candidate.
+     */
+    private String legacyFindAvailableSlug(final String baseSlug) {
+        if (!siteRepository.existsBySlug(baseSlug)) {
+            return baseSlug;
+        }
+        for (int i = 1; i <= MAX_ATTEMPTS; i++) {
+            String candidateSlug = baseSlug + "-" + i;
+            if (!siteRepository.existsBySlug(candidateSlug)) {
+                return candidateSlug;
+            }
+        }
+        return baseSlug + "-" + System.currentTimeMillis();
+    }
+
+    private static Object[] row(final String slug, final Timestamp now) {
+        return new Object[] {UUID.randomUUID(), slug, slug, UUID.randomUUID(), now, now};
+    }
+}